@@ -0,0 +1,45 @@
+// Public read mix (home page, tag list, article list and detail) held at a
+// fixed number of concurrent connections, to compare request throughput with
+// and without VIRTUAL_THREADS_ENABLED (the application must run on Java 21+
+// for the latter; it refuses to start otherwise). Run with k6 (https://k6.io):
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=10000 -e SLUG=<published slug> loadtest/public-reads.js
+//
+// The summary reports http_reqs (per second) and http_req_duration percentiles.
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const SLUG = __ENV.SLUG || '';
+
+export const options = {
+  scenarios: {
+    public_reads: {
+      executor: 'constant-vus',
+      vus: Number(__ENV.VUS || 10000),
+      duration: __ENV.DURATION || '2m',
+      gracefulStop: '10s',
+    },
+  },
+  discardResponseBodies: true,
+};
+
+const listBody = JSON.stringify({ page: 0, size: 20 });
+const jsonHeaders = { headers: { 'Content-Type': 'application/json' } };
+
+export default function () {
+  const pick = Math.random();
+  let response;
+  if (pick < 0.3) {
+    response = http.get(`${BASE_URL}/api/public/home`);
+  } else if (pick < 0.5) {
+    response = http.get(`${BASE_URL}/api/public/getAllTags`);
+  } else if (pick < 0.8 || !SLUG) {
+    response = http.post(`${BASE_URL}/api/public/articles/getAll`, listBody, jsonHeaders);
+  } else {
+    // Detail reads also record a view (Redis)
+    response = http.get(`${BASE_URL}/api/public/articles/${SLUG}`);
+  }
+  check(response, { 'status is 200': (r) => r.status === 200 });
+}
@@ -0,0 +1,107 @@
+#!/usr/bin/env python3
+"""Compare JMH JSON results against a stored baseline and flag regressions.
+
+Usage:
+    python3 src/jmh/compare_results.py [--threshold PCT] BASELINE RESULTS
+
+BASELINE and RESULTS are files written with `-rf json` (the benchmark
+profile writes target/jmh-result.json). A benchmark regresses when its score
+is worse than the baseline by more than the threshold (10% by default) and by
+more than the combined error margins of both runs; the bytes allocated per
+operation (gc.alloc.rate.norm, from `-prof gc`) are checked the same way.
+Exits with 1 when a regression is found, 0 otherwise.
+"""
+
+import argparse
+import json
+import math
+import sys
+
+ALLOC_METRIC = "gc.alloc.rate.norm"
+# Modes where a higher score is better; the others are times per operation
+HIGHER_IS_BETTER = {"thrpt"}
+
+
+def key(result):
+    params = result.get("params") or {}
+    suffix = ",".join(f"{name}={value}" for name, value in sorted(params.items()))
+    return f"{result['benchmark']}({suffix})" if suffix else result["benchmark"]
+
+
+def number(value):
+    try:
+        parsed = float(value)
+    except (TypeError, ValueError):
+        return 0.0
+    return 0.0 if math.isnan(parsed) else parsed
+
+
+def alloc_metric(result):
+    for name, metric in (result.get("secondaryMetrics") or {}).items():
+        if name.lstrip("·") == ALLOC_METRIC:
+            return metric
+    return None
+
+
+def load(path):
+    with open(path, encoding="utf-8") as file:
+        return {key(result): result for result in json.load(file)}
+
+
+def compare(baseline, current, higher_is_better, threshold):
+    """Returns (change in percent, regressed) for one metric"""
+    base_score = number(baseline["score"])
+    score = number(current["score"])
+    if base_score == 0:
+        return 0.0, False
+    change = (score - base_score) / base_score * 100
+    worse = -change if higher_is_better else change
+    margin = number(baseline.get("scoreError")) + number(current.get("scoreError"))
+    return change, worse > threshold and abs(score - base_score) > margin
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__.splitlines()[0])
+    parser.add_argument("baseline")
+    parser.add_argument("results")
+    parser.add_argument("--threshold", type=float, default=10.0,
+                        help="allowed slowdown in percent (default: 10)")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    results = load(args.results)
+    regressions = 0
+
+    for name in sorted(results):
+        current = results[name]
+        if name not in baseline:
+            print(f"NEW         {name}")
+            continue
+        base = baseline[name]
+        metric = current["primaryMetric"]
+        change, regressed = compare(base["primaryMetric"], metric,
+                                    current.get("mode") in HIGHER_IS_BETTER, args.threshold)
+        status = "REGRESSION" if regressed else "ok"
+        print(f"{status:<11} {name}: {number(base['primaryMetric']['score']):.3f} -> "
+              f"{number(metric['score']):.3f} {metric['scoreUnit']} ({change:+.1f}%)")
+        regressions += regressed
+
+        base_alloc, alloc = alloc_metric(base), alloc_metric(current)
+        if base_alloc and alloc:
+            change, regressed = compare(base_alloc, alloc, False, args.threshold)
+            if regressed:
+                print(f"{'REGRESSION':<11} {name}: {number(base_alloc['score']):.0f} -> "
+                      f"{number(alloc['score']):.0f} {alloc['scoreUnit']} ({change:+.1f}%)")
+                regressions += 1
+
+    for name in sorted(set(baseline) - set(results)):
+        print(f"MISSING     {name}")
+
+    if regressions:
+        print(f"{regressions} regression(s) above {args.threshold:g}%")
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
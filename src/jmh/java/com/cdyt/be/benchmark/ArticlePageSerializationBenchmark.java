@@ -0,0 +1,62 @@
+package com.cdyt.be.benchmark;
+
+import com.cdyt.be.common.dto.ApiResponse;
+import com.cdyt.be.dto.article.ArticleResponseDto;
+import com.cdyt.be.entity.Category;
+import com.cdyt.be.mapper.ArticleMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Writing an ApiResponse<Page<ArticleResponseDto>> of 20 articles, as the
+ * article search endpoint returns it (the PageImpl serialized as a bean,
+ * pageable and sort included).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArticlePageSerializationBenchmark {
+
+  private ObjectMapper objectMapper;
+  private ApiResponse<Page<ArticleResponseDto>> response;
+
+  @Setup
+  public void setUp() {
+    // Same date handling as the application's mapper
+    objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    List<Category> categories = BenchmarkFixtures.categoryTree(1, 2);
+    List<ArticleResponseDto> articles = new ArticleMapper()
+        .toResponseDtoList(BenchmarkFixtures.articles(20, categories.get(0)));
+    Page<ArticleResponseDto> page = new PageImpl<>(articles,
+        PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "publishedAt")), 1234);
+    response = ApiResponse.success(page, "Articles retrieved successfully");
+  }
+
+  @Benchmark
+  public byte[] writeArticlePage() throws Exception {
+    return objectMapper.writeValueAsBytes(response);
+  }
+}
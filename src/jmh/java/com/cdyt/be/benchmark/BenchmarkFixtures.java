@@ -0,0 +1,178 @@
+package com.cdyt.be.benchmark;
+
+import com.cdyt.be.entity.Article;
+import com.cdyt.be.entity.Category;
+import com.cdyt.be.entity.Function;
+import com.cdyt.be.entity.Role;
+import com.cdyt.be.entity.Tag;
+import com.cdyt.be.entity.User;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Object graphs shaped like the production data (Vietnamese titles, a few
+ * tags per article, a three-level category tree), shared by the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+  static final String[] TITLES = {
+      "Hướng dẫn cấu hình Spring Boot cho ứng dụng doanh nghiệp",
+      "Đánh giá hiệu năng PostgreSQL khi dữ liệu tăng trưởng nhanh",
+      "Tối ưu hoá truy vấn và bộ nhớ đệm Redis trong thực tế",
+      "Những điều cần biết về bảo mật JWT & phân quyền người dùng!",
+      "Xây dựng API công khai: phân trang, lọc và sắp xếp (phần 2)"
+  };
+
+  private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 15, 9, 30);
+
+  private BenchmarkFixtures() {
+  }
+
+  static User user(long id, int roleCount) {
+    User user = new User();
+    user.setId(id);
+    user.setFullName("Nguyễn Văn An " + id);
+    user.setEmail("user" + id + "@example.com");
+    user.setAvatar("https://cdn.example.com/avatars/" + id + ".png");
+    user.setIsActive(true);
+    Set<Role> roles = new LinkedHashSet<>();
+    for (int i = 1; i <= roleCount; i++) {
+      Role role = new Role();
+      role.setId(i);
+      role.setRoleName("ROLE_" + i);
+      roles.add(role);
+    }
+    user.setRole(roles);
+    return user;
+  }
+
+  static List<Tag> tags(int count) {
+    List<Tag> tags = new ArrayList<>(count);
+    for (long i = 1; i <= count; i++) {
+      Tag tag = new Tag();
+      tag.setId(i);
+      tag.setName("Chủ đề " + i);
+      tag.setSlug("chu-de-" + i);
+      tag.setDescription("Các bài viết về chủ đề " + i);
+      tag.setColor("#336699");
+      tag.setUsageCount(i * 17);
+      tags.add(tag);
+    }
+    return tags;
+  }
+
+  /**
+   * A page of published articles by a handful of authors, each with up to
+   * five tags and a summary and content of typical length
+   */
+  static List<Article> articles(int count, Category category) {
+    List<Tag> tags = tags(12);
+    List<User> authors = new ArrayList<>();
+    for (long i = 1; i <= 5; i++) {
+      authors.add(user(i, 1));
+    }
+
+    List<Article> articles = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Article article = new Article();
+      article.setId((long) i + 1);
+      article.setTitle(TITLES[i % TITLES.length]);
+      article.setSlug("bai-viet-" + (i + 1));
+      article.setSummary("Tóm tắt nội dung bài viết ".repeat(8));
+      article.setContent("<p>Nội dung chi tiết của bài viết, có định dạng HTML.</p>".repeat(60));
+      article.setAuthor(authors.get(i % authors.size()));
+      article.setCategory(category);
+      Set<Tag> articleTags = new LinkedHashSet<>();
+      for (int t = 0; t < 1 + i % 5; t++) {
+        articleTags.add(tags.get((i + t) % tags.size()));
+      }
+      article.setTags(articleTags);
+      article.setCoverImageUrl("https://cdn.example.com/covers/" + (i + 1) + ".jpg");
+      article.setStatus(Article.STATUS_PUBLISHED);
+      article.setPublishedAt(NOW.minusHours(i));
+      article.setViewCount(1000 + i);
+      article.setLikeCount(i * 3);
+      article.setCommentCount(i % 7);
+      article.setSeoTitle(article.getTitle());
+      article.setSeoDescription("Mô tả SEO cho bài viết " + (i + 1));
+      article.setSeoKeywords("spring,java,hiệu năng");
+      article.setCreatedAt(NOW.minusDays(1).minusHours(i));
+      article.setUpdatedAt(NOW.minusHours(i));
+      articles.add(article);
+    }
+    return articles;
+  }
+
+  /**
+   * A category tree in display order: {@code roots} roots with
+   * {@code childrenPerNode} children each, three levels deep
+   */
+  static List<Category> categoryTree(int roots, int childrenPerNode) {
+    List<Category> categories = new ArrayList<>();
+    long[] nextId = {1};
+    for (int r = 0; r < roots; r++) {
+      addCategory(categories, null, 0, childrenPerNode, nextId);
+    }
+    return categories;
+  }
+
+  private static void addCategory(List<Category> categories, Category parent, int depth, int childrenPerNode,
+      long[] nextId) {
+    Category category = new Category();
+    long id = nextId[0]++;
+    category.setId(id);
+    category.setName("Danh mục " + id);
+    category.setSlug("danh-muc-" + id);
+    category.setDescription("Mô tả danh mục " + id);
+    category.setDisplayOrder(categories.size());
+    category.setParent(parent);
+    if (parent != null) {
+      parent.getChildren().add(category);
+    }
+    categories.add(category);
+    if (depth < 2) {
+      for (int c = 0; c < childrenPerNode; c++) {
+        addCategory(categories, category, depth + 1, childrenPerNode, nextId);
+      }
+    }
+  }
+
+  static List<Function> functions(int count) {
+    List<Function> functions = new ArrayList<>(count);
+    for (int i = 1; i <= count; i++) {
+      Function function = new Function();
+      function.setId(i);
+      function.setApiUrl("/api/module" + i + "/");
+      function.setDescription("Module " + i);
+      functions.add(function);
+    }
+    return functions;
+  }
+
+  /**
+   * In-memory stand-in for a repository interface: the given method answers
+   * with a fixed result (wrapped in an Optional for {@code find*} methods
+   * returning one), every other call fails
+   */
+  @SuppressWarnings("unchecked")
+  static <R> R repository(Class<R> type, String method, Object result) {
+    return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, m, args) -> {
+      if (m.getDeclaringClass() == Object.class) {
+        return switch (m.getName()) {
+          case "hashCode" -> System.identityHashCode(proxy);
+          case "equals" -> proxy == args[0];
+          default -> type.getSimpleName() + " stub";
+        };
+      }
+      if (!m.getName().equals(method)) {
+        throw new UnsupportedOperationException(m.getName());
+      }
+      return m.getReturnType() == Optional.class ? Optional.ofNullable(result) : result;
+    });
+  }
+}
@@ -0,0 +1,55 @@
+package com.cdyt.be.benchmark;
+
+import com.cdyt.be.entity.User;
+import com.cdyt.be.util.JwtUtils;
+import io.jsonwebtoken.Claims;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Token signing at login and claim extraction, which the authentication
+ * filter does on every authenticated request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+  private JwtUtils jwtUtils;
+  private User user;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    // Injected from jwt.secret / jwt.expiration-days in the application
+    jwtUtils = new JwtUtils();
+    ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "benchmark-secret-benchmark-secret-benchmark-secret");
+    ReflectionTestUtils.setField(jwtUtils, "jwtInternalExpirationDays", 30);
+
+    user = BenchmarkFixtures.user(42, 2);
+    token = jwtUtils.generateToken(user);
+  }
+
+  @Benchmark
+  public String generateToken() {
+    return jwtUtils.generateToken(user);
+  }
+
+  @Benchmark
+  public Claims extractClaims() {
+    return jwtUtils.extractClaims(token);
+  }
+}
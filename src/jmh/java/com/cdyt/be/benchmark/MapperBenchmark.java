@@ -0,0 +1,67 @@
+package com.cdyt.be.benchmark;
+
+import com.cdyt.be.dto.article.ArticleDetailResponseDto;
+import com.cdyt.be.dto.article.ArticleResponseDto;
+import com.cdyt.be.dto.category.CategoryResponseDto;
+import com.cdyt.be.entity.Article;
+import com.cdyt.be.entity.Category;
+import com.cdyt.be.mapper.ArticleMapper;
+import com.cdyt.be.mapper.CategoryMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Entity to DTO mapping of the read endpoints: a page of 20 articles for the
+ * list view, one article for the detail view, and the category tree (built
+ * from the flat category list, as on a snapshot rebuild, then mapped).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+  private ArticleMapper articleMapper;
+  private CategoryMapper categoryMapper;
+  private List<Article> articles;
+  private Article article;
+  private List<Category> categories;
+
+  @Setup
+  public void setUp() {
+    articleMapper = new ArticleMapper();
+    // The tree variant works on a snapshot of its own, the cache is not used
+    categoryMapper = new CategoryMapper(null);
+
+    categories = BenchmarkFixtures.categoryTree(6, 4);
+    articles = BenchmarkFixtures.articles(20, categories.get(1));
+    article = articles.get(3);
+  }
+
+  @Benchmark
+  public List<ArticleResponseDto> articleListPage() {
+    return articleMapper.toResponseDtoList(articles);
+  }
+
+  @Benchmark
+  public ArticleDetailResponseDto articleDetail() {
+    return articleMapper.toDetailResponseDto(article);
+  }
+
+  @Benchmark
+  public List<CategoryResponseDto> categoryTree() {
+    return categoryMapper.toResponseDtoListWithChildren(categories);
+  }
+}
@@ -0,0 +1,107 @@
+package com.cdyt.be.benchmark;
+
+import com.cdyt.be.common.annotation.RequireAuth;
+import com.cdyt.be.common.aspect.AuthenticationAspect;
+import com.cdyt.be.common.cache.RoleCache;
+import com.cdyt.be.common.cache.UserCache;
+import com.cdyt.be.entity.Function;
+import com.cdyt.be.entity.User;
+import com.cdyt.be.repository.FunctionRepository;
+import com.cdyt.be.repository.RoleFunctionRepository;
+import com.cdyt.be.repository.UserRepository;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * The @RequireAuth(checkPermissions = true) advice around a controller call,
+ * with warm user and role caches and the function list served from memory
+ * (the second-level cache in the application), for a path the user is
+ * granted, a path outside the protected functions and a denied path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PermissionCheckBenchmark {
+
+  private static final int FUNCTION_COUNT = 60;
+
+  @Param({ "/api/module20/articles", "/api/public/home", "/api/module55/users" })
+  public String apiPath;
+
+  private AuthenticationAspect aspect;
+  private RequireAuth requireAuth;
+  private ProceedingJoinPoint joinPoint;
+
+  @RequireAuth(checkPermissions = true)
+  private static final class ProtectedController {
+  }
+
+  @Setup
+  public void setUp() {
+    User user = BenchmarkFixtures.user(7, 2);
+    List<Function> functions = BenchmarkFixtures.functions(FUNCTION_COUNT);
+    // Each role is granted a third of the functions
+    List<Function> granted = functions.subList(0, FUNCTION_COUNT / 3);
+
+    UserCache userCache = new UserCache(BenchmarkFixtures.repository(UserRepository.class, "findByEmail", user));
+    RoleCache roleCache = new RoleCache(
+        BenchmarkFixtures.repository(RoleFunctionRepository.class, "findFunctionsByRoleIds", granted));
+    aspect = new AuthenticationAspect(userCache,
+        BenchmarkFixtures.repository(FunctionRepository.class, "findAll", functions), roleCache);
+
+    requireAuth = ProtectedController.class.getAnnotation(RequireAuth.class);
+    joinPoint = (ProceedingJoinPoint) Proxy.newProxyInstance(ProceedingJoinPoint.class.getClassLoader(),
+        new Class<?>[] { ProceedingJoinPoint.class }, (proxy, method, args) -> {
+          if (method.getName().equals("proceed")) {
+            return "proceeded";
+          }
+          throw new UnsupportedOperationException(method.getName());
+        });
+
+    // State left by the JWT filter for an authenticated request
+    org.springframework.security.core.userdetails.User principal =
+        new org.springframework.security.core.userdetails.User(user.getEmail(), "", List.of());
+    SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+        principal, null, List.of(new SimpleGrantedAuthority("ROLE_1"))));
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest("GET", apiPath)));
+
+    // Warm the user and role caches
+    userCache.getUser(user.getEmail());
+    roleCache.getFunctionsByRoleIds(List.of(1, 2));
+  }
+
+  @TearDown
+  public void tearDown() {
+    SecurityContextHolder.clearContext();
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Benchmark
+  public Object checkPermission() throws Throwable {
+    return aspect.handleAuthentication(joinPoint, requireAuth);
+  }
+}
@@ -0,0 +1,99 @@
+package com.cdyt.be.benchmark;
+
+import com.cdyt.be.common.dto.LeanApiResponse;
+import com.cdyt.be.common.util.ResponseUtils;
+import com.cdyt.be.dto.tag.TagResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Cost of the response envelope of a public list endpoint: the default
+ * ApiResponse (user context metadata merged by ResponseUtils) against the
+ * lean envelope, built alone and built then serialized.
+ *
+ * Run with the gc profiler (the default jmh.args of the benchmark profile) to
+ * compare gc.alloc.rate.norm, the bytes allocated per response:
+ * mvn -Pbenchmark -DskipTests test-compile exec:exec -Djmh.args="ResponseEnvelope -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseEnvelopeBenchmark {
+
+  private ObjectMapper objectMapper;
+  private List<TagResponseDto> tags;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    // Same date handling as the application's mapper
+    objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    tags = new ArrayList<>();
+    for (long i = 1; i <= 20; i++) {
+      TagResponseDto tag = new TagResponseDto();
+      tag.setId(i);
+      tag.setName("Tag " + i);
+      tag.setSlug("tag-" + i);
+      tag.setColor("#336699");
+      tag.setUsageCount(i * 10);
+      tags.add(tag);
+    }
+
+    // A guest request, as seen by ResponseUtils on the public endpoints
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/getAllTags");
+    request.setRemoteAddr("203.0.113.7");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Benchmark
+  public Object buildApiResponse() {
+    return ResponseUtils.success(tags, "Active tags retrieved successfully", Map.of("totalCount", tags.size()));
+  }
+
+  @Benchmark
+  public Object buildLeanResponse() {
+    return LeanApiResponse.ok(tags, "Active tags retrieved successfully", Map.of("totalCount", tags.size()));
+  }
+
+  @Benchmark
+  public byte[] writeApiResponse() throws Exception {
+    return objectMapper.writeValueAsBytes(
+        ResponseUtils.success(tags, "Active tags retrieved successfully", Map.of("totalCount", tags.size())));
+  }
+
+  @Benchmark
+  public byte[] writeLeanResponse() throws Exception {
+    return objectMapper.writeValueAsBytes(
+        LeanApiResponse.ok(tags, "Active tags retrieved successfully", Map.of("totalCount", tags.size())));
+  }
+}
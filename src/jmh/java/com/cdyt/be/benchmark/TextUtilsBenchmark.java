@@ -0,0 +1,63 @@
+package com.cdyt.be.benchmark;
+
+import com.cdyt.be.util.LegacyTextUtils;
+import com.cdyt.be.util.TextUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Slug generation and accent removal, run on every article, category and tag
+ * write and every user name change, over Vietnamese titles and a plain ASCII
+ * one, next to the regex implementation they replaced (LegacyTextUtils, in
+ * the test sources).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextUtilsBenchmark {
+
+  @Param({ "0", "3", "ascii" })
+  public String title;
+
+  private String input;
+
+  @Setup
+  public void setUp() {
+    input = "ascii".equals(title)
+        ? "Building public APIs: paging, filtering and sorting (part 2)"
+        : BenchmarkFixtures.TITLES[Integer.parseInt(title)];
+  }
+
+  @Benchmark
+  public String removeAccents() {
+    return TextUtils.removeAccents(input);
+  }
+
+  @Benchmark
+  public String generateSlug() {
+    return TextUtils.generateSlug(input);
+  }
+
+  @Benchmark
+  public String legacyRemoveAccents() {
+    return LegacyTextUtils.removeAccents(input);
+  }
+
+  @Benchmark
+  public String legacyGenerateSlug() {
+    return LegacyTextUtils.generateSlug(input);
+  }
+}
@@ -0,0 +1,206 @@
+package com.cdyt.be.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Seeds a migrated, empty database with a production-sized dataset, mostly
+ * with generate_series: users (the first ones admins), a deep category tree,
+ * tags, and articles with tags. Most articles are published. View counts
+ * follow a long tail.
+ *
+ * Derived data the application keeps up to date on its own writes (category
+ * closure, tag usage counts, article statistics) is rebuilt afterwards.
+ */
+class DatasetSeeder {
+
+  static final String PASSWORD = "loadtest";
+  static final int ADMIN_COUNT = 10;
+
+  /** Words mixed into the article titles, also used as admin search terms */
+  static final String[] TITLE_WORDS = {
+      "Spring Boot", "PostgreSQL", "Redis", "Java", "Docker", "Kubernetes", "bảo mật", "hiệu năng",
+      "microservice", "Hibernate", "kiến trúc", "kiểm thử"
+  };
+
+  // The same words as a Postgres array literal
+  private static final String TITLE_WORDS_ARRAY = Arrays.stream(TITLE_WORDS)
+      .map(word -> "\"" + word + "\"")
+      .collect(Collectors.joining(",", "{", "}"));
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Dataset dataset;
+
+  /**
+   * Dataset sizes; the category tree has {@code categoryRoots} roots and
+   * {@code categoryBranching} children per category down to
+   * {@code categoryDepth} levels
+   */
+  record Dataset(int articles, int tags, int users, int categoryRoots, int categoryDepth, int categoryBranching) {
+
+    static Dataset standard() {
+      return new Dataset(100_000, 5_000, 10_000, 8, 6, 3);
+    }
+  }
+
+  DatasetSeeder(DataSource dataSource, Dataset dataset) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.dataset = dataset;
+  }
+
+  /**
+   * Seeds the dataset; returns the number of categories
+   */
+  int seed() {
+    seedUsersAndRoles();
+    int categories = seedCategories();
+    seedTags();
+    seedArticles(categories);
+    rebuildDerivedData();
+    jdbcTemplate.execute("ANALYZE");
+    return categories;
+  }
+
+  /**
+   * Slugs of the published articles with the most views, the targets of the
+   * view-count storm
+   */
+  List<String> hotSlugs(int count) {
+    return jdbcTemplate.queryForList("SELECT slug FROM article WHERE status = 1 AND is_deleted = false "
+        + "ORDER BY view_count DESC LIMIT ?", String.class, count);
+  }
+
+  /**
+   * A random sample of published article slugs for the detail reads
+   */
+  List<String> publishedSlugs(int count) {
+    return jdbcTemplate.queryForList("SELECT slug FROM article WHERE status = 1 AND is_deleted = false "
+        + "ORDER BY random() LIMIT ?", String.class, count);
+  }
+
+  static String adminEmail(int index) {
+    return "user" + index + "@loadtest.local";
+  }
+
+  private void seedUsersAndRoles() {
+    // One hash for every user: BCrypt is deliberately slow
+    String password = new BCryptPasswordEncoder().encode(PASSWORD);
+    jdbcTemplate.update("INSERT INTO users (full_name, email, password, full_name_no_mark, avatar, sex, "
+        + "created_at, updated_at, is_active, is_verified, is_deleted) "
+        + "SELECT 'Người dùng ' || g, 'user' || g || '@loadtest.local', ?, 'Nguoi dung ' || g, "
+        + "'https://cdn.example.com/avatars/' || g || '.png', g % 2, now(), now(), true, true, false "
+        + "FROM generate_series(1, ?) g", password, dataset.users());
+
+    Integer roleId = jdbcTemplate.queryForObject("INSERT INTO role (role_name, description, role_type, is_deleted, "
+        + "created_at, updated_at, created_by, updated_by) "
+        + "VALUES ('ADMIN', 'Load test administrators', 1, false, now(), now(), 1, 1) RETURNING id", Integer.class);
+    jdbcTemplate.update("INSERT INTO user_role (user_id, role_id) SELECT id, ? FROM users WHERE email IN ("
+        + "SELECT 'user' || g || '@loadtest.local' FROM generate_series(1, ?) g)", roleId, ADMIN_COUNT);
+
+    // Protected API prefixes, all granted to the admins
+    jdbcTemplate.update("INSERT INTO function (api_url, description, is_delete, display_order) "
+        + "SELECT '/api/' || m, 'Manage ' || m, false, o FROM unnest(ARRAY['articles', 'categories', 'tags', "
+        + "'users', 'roles', 'departments']) WITH ORDINALITY AS t (m, o)");
+    jdbcTemplate.update("INSERT INTO role_function (role_id, function_id, last_update) "
+        + "SELECT ?, function_id, now() FROM function", roleId);
+  }
+
+  /**
+   * Inserts the category tree breadth first with explicit ids, so that
+   * parents always exist; returns the number of categories
+   */
+  private int seedCategories() {
+    List<Object[]> rows = new ArrayList<>();
+    List<Long> level = new ArrayList<>();
+    long nextId = 1;
+    for (int r = 0; r < dataset.categoryRoots(); r++) {
+      rows.add(categoryRow(nextId, null, r));
+      level.add(nextId++);
+    }
+    for (int depth = 1; depth < dataset.categoryDepth(); depth++) {
+      List<Long> next = new ArrayList<>();
+      for (Long parentId : level) {
+        for (int c = 0; c < dataset.categoryBranching(); c++) {
+          rows.add(categoryRow(nextId, parentId, c));
+          next.add(nextId++);
+        }
+      }
+      level = next;
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO categories (id, name, slug, description, display_order, status, "
+        + "is_deleted, created_at, updated_at, parent_id) VALUES (?, ?, ?, ?, ?, 1, false, now(), now(), ?)", rows);
+    jdbcTemplate.execute("SELECT setval(pg_get_serial_sequence('categories', 'id'), (SELECT max(id) FROM categories))");
+    return rows.size();
+  }
+
+  private static Object[] categoryRow(long id, Long parentId, int displayOrder) {
+    return new Object[] { id, "Danh mục " + id, "danh-muc-" + id, "Các bài viết thuộc danh mục " + id,
+        displayOrder, parentId };
+  }
+
+  private void seedTags() {
+    jdbcTemplate.update("INSERT INTO tags (name, slug, description, color, display_order, status, is_deleted, "
+        + "usage_count, created_at, updated_at) "
+        + "SELECT 'Thẻ ' || g, 'the-' || g, 'Các bài viết gắn thẻ ' || g, "
+        + "'#' || lpad(to_hex((g * 2654435761) % 16777216), 6, '0'), g % 100, 1, false, 0, now(), now() "
+        + "FROM generate_series(1, ?) g", dataset.tags());
+  }
+
+  /**
+   * Articles spread over two years: 80% published, 10% drafts, 10%
+   * archived, three tags each, skewed towards the first tags
+   */
+  private void seedArticles(int categories) {
+    jdbcTemplate.update("INSERT INTO article (title, slug, summary, content, author_id, category_id, "
+        + "cover_image_url, status, published_at, view_count, like_count, comment_count, seo_title, "
+        + "seo_description, seo_keywords, is_deleted, created_at, updated_at) "
+        + "SELECT 'Bài viết ' || g || ': ' || w.word || ' trong thực tế', 'bai-viet-' || g, "
+        + "repeat('Tóm tắt nội dung bài viết. ', 8), "
+        + "repeat('<p>Nội dung chi tiết của bài viết, có định dạng HTML và hình ảnh minh hoạ.</p>', 40), "
+        + "1 + (g * 7919) % ?, 1 + (g * 613) % ?, 'https://cdn.example.com/covers/' || g || '.jpg', "
+        + "CASE WHEN g % 10 < 8 THEN 1 WHEN g % 10 = 8 THEN 0 ELSE 2 END, "
+        + "CASE WHEN g % 10 = 8 THEN NULL "
+        + "ELSE now() - (g % 730) * interval '1 day' - (g % 1440) * interval '1 minute' END, "
+        + "100000 / (1 + g % 1000), g % 50, g % 20, 'Bài viết ' || g, 'Mô tả bài viết ' || g, w.word, false, "
+        + "now() - (g % 730) * interval '1 day', now() "
+        + "FROM generate_series(1, ?) g "
+        + "CROSS JOIN LATERAL (SELECT (?::text[])[1 + g % ?] AS word) w",
+        dataset.users(), categories, dataset.articles(),
+        TITLE_WORDS_ARRAY, TITLE_WORDS.length);
+
+    jdbcTemplate.update("INSERT INTO article_tag (article_id, tag_id) "
+        + "SELECT a.id, 1 + (a.id * k * k + k * 7) % "
+        + "CASE k WHEN 1 THEN least(50, ?) WHEN 2 THEN least(500, ?) ELSE ? END "
+        + "FROM article a CROSS JOIN generate_series(1, 3) k ON CONFLICT DO NOTHING",
+        dataset.tags(), dataset.tags(), dataset.tags());
+  }
+
+  /**
+   * Same queries as the migrations that introduced the derived tables
+   */
+  private void rebuildDerivedData() {
+    jdbcTemplate.update("DELETE FROM category_closure");
+    jdbcTemplate.update("INSERT INTO category_closure (ancestor_id, descendant_id, depth) "
+        + "WITH RECURSIVE paths (ancestor_id, descendant_id, depth) AS ("
+        + "SELECT id, id, 0 FROM categories WHERE is_deleted = false "
+        + "UNION ALL "
+        + "SELECT p.ancestor_id, c.id, p.depth + 1 FROM paths p "
+        + "INNER JOIN categories c ON c.parent_id = p.descendant_id WHERE c.is_deleted = false) "
+        + "SELECT ancestor_id, descendant_id, depth FROM paths");
+
+    jdbcTemplate.update("UPDATE tags t SET usage_count = c.n FROM ("
+        + "SELECT tag_id, count(*) AS n FROM article_tag GROUP BY tag_id) c WHERE t.id = c.tag_id");
+
+    jdbcTemplate.update("DELETE FROM article_stats");
+    jdbcTemplate.update("INSERT INTO article_stats (status, article_count, view_sum, max_view_count, reconciled_at) "
+        + "SELECT s.status, COUNT(a.id), COALESCE(SUM(a.view_count), 0), COALESCE(MAX(a.view_count), 0), now() "
+        + "FROM (VALUES (0), (1), (2)) AS s (status) "
+        + "LEFT JOIN article a ON a.status = s.status AND a.is_deleted = false "
+        + "GROUP BY s.status");
+  }
+}
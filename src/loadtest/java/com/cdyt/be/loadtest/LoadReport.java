@@ -0,0 +1,84 @@
+package com.cdyt.be.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms (microseconds, from the intended start of each request)
+ * and outcome counts per endpoint of one scenario run.
+ */
+final class LoadReport {
+
+  private final String scenario;
+  private final Map<String, EndpointStats> endpoints = new LinkedHashMap<>();
+  private double elapsedSeconds;
+
+  LoadReport(Scenario scenario) {
+    this.scenario = scenario.name();
+    scenario.steps().forEach(step -> endpoints.putIfAbsent(step.endpoint(), new EndpointStats()));
+  }
+
+  EndpointStats endpoint(String endpoint) {
+    return endpoints.get(endpoint);
+  }
+
+  void finish(double elapsedSeconds) {
+    this.elapsedSeconds = elapsedSeconds;
+  }
+
+  /**
+   * Prints throughput and latency percentiles (ms) per endpoint
+   */
+  void print(PrintStream out) {
+    out.printf("%n== %s (%.0f s) ==%n", scenario, elapsedSeconds);
+    out.printf("%-48s %9s %7s %8s %9s %9s %9s %9s %9s%n",
+        "endpoint", "requests", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max");
+    endpoints.forEach((endpoint, stats) -> {
+      Histogram latencies = stats.latencies;
+      out.printf("%-48s %9d %7d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+          endpoint, latencies.getTotalCount(), stats.errors.sum() + stats.dropped.sum(),
+          latencies.getTotalCount() / elapsedSeconds,
+          millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+          millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+          millis(latencies.getMaxValue()));
+    });
+  }
+
+  /**
+   * Writes one percentile distribution per endpoint (values in ms), in the
+   * .hgrm format read by the HdrHistogram plotter
+   */
+  void writeHistograms(Path directory) throws IOException {
+    Files.createDirectories(directory);
+    for (Map.Entry<String, EndpointStats> entry : endpoints.entrySet()) {
+      String fileName = (scenario + "-" + entry.getKey()).replaceAll("[^A-Za-z0-9.-]+", "_") + ".hgrm";
+      try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(fileName)), false,
+          StandardCharsets.UTF_8)) {
+        entry.getValue().latencies.outputPercentileDistribution(out, 1000.0);
+      }
+    }
+  }
+
+  private static double millis(long micros) {
+    return micros / 1000.0;
+  }
+
+  /**
+   * Latencies of the completed requests, failed responses (status 400 and
+   * above, I/O errors) and requests not sent because too many were in flight
+   */
+  static final class EndpointStats {
+
+    final Histogram latencies = new ConcurrentHistogram(3);
+    final LongAdder errors = new LongAdder();
+    final LongAdder dropped = new LongAdder();
+  }
+}
@@ -0,0 +1,150 @@
+package com.cdyt.be.loadtest;
+
+import com.cdyt.be.BeApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Runs the application against local stand-ins of its backing services,
+ * seeds the load-test dataset and drives the scenarios, printing latency
+ * percentiles and throughput per endpoint and writing the histograms to
+ * target/loadtest.
+ *
+ * Options (all optional), passed in -Dloadtest.args:
+ * <pre>
+ * --scenarios=anonymous-reads,admin-search,view-count-storm   scenarios to run, in order
+ * --duration=60          seconds per scenario (view counts are flushed once a minute)
+ * --warmup=20            seconds of the same load run first and not reported
+ * --rate-scale=1.0       multiplies the arrival rate of every scenario
+ * --articles=100000      dataset size; also --tags, --users
+ * --seed=42              random source of the request mix
+ * </pre>
+ */
+public final class LoadTestMain {
+
+  private static final Path OUTPUT = Path.of("target", "loadtest");
+
+  private LoadTestMain() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = parseOptions(args);
+    DatasetSeeder.Dataset standard = DatasetSeeder.Dataset.standard();
+    DatasetSeeder.Dataset dataset = new DatasetSeeder.Dataset(
+        intOption(options, "articles", standard.articles()), intOption(options, "tags", standard.tags()),
+        intOption(options, "users", standard.users()), standard.categoryRoots(), standard.categoryDepth(),
+        standard.categoryBranching());
+    Duration duration = Duration.ofSeconds(intOption(options, "duration", 60));
+    Duration warmup = Duration.ofSeconds(intOption(options, "warmup", 20));
+    double rateScale = Double.parseDouble(options.getOrDefault("rate-scale", "1.0"));
+    List<String> selected = Arrays.asList(options.getOrDefault("scenarios",
+        "anonymous-reads,admin-search,view-count-storm").split(","));
+
+    try (LocalInfrastructure infrastructure = LocalInfrastructure.start()) {
+      infrastructure.migrate();
+      DatasetSeeder seeder = new DatasetSeeder(infrastructure.dataSource(), dataset);
+      long seedStart = System.nanoTime();
+      int categoryCount = seeder.seed();
+      System.out.printf("Seeded %d articles, %d categories, %d tags, %d users in %.1f s%n", dataset.articles(),
+          categoryCount, dataset.tags(), dataset.users(), (System.nanoTime() - seedStart) / 1e9);
+
+      try (ConfigurableApplicationContext application = startApplication(infrastructure)) {
+        int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+        String baseUrl = "http://localhost:" + port;
+        Scenarios scenarios = new Scenarios(baseUrl, seeder.publishedSlugs(5_000), seeder.hotSlugs(10),
+            loginAdmins(baseUrl), dataset.articles(), categoryCount);
+
+        OpenModelLoadGenerator generator = new OpenModelLoadGenerator(
+            Long.parseLong(options.getOrDefault("seed", "42")));
+        for (Scenario scenario : scenarios.all(duration)) {
+          if (!selected.contains(scenario.name())) {
+            continue;
+          }
+          double rate = scenario.ratePerSecond() * rateScale;
+          if (!warmup.isZero()) {
+            generator.run(scenario.withLoad(rate, warmup));
+          }
+          LoadReport report = generator.run(scenario.withLoad(rate, duration));
+          report.print(System.out);
+          report.writeHistograms(OUTPUT);
+        }
+      }
+    }
+    System.out.println("Histograms written to " + OUTPUT.toAbsolutePath());
+  }
+
+  private static ConfigurableApplicationContext startApplication(LocalInfrastructure infrastructure) {
+    Map<String, String> properties = new HashMap<>();
+    properties.put("SPRING_DATASOURCE_URL", infrastructure.jdbcUrl());
+    properties.put("SPRING_DATASOURCE_USERNAME", "postgres");
+    properties.put("SPRING_DATASOURCE_PASSWORD", "");
+    properties.put("SPRING_REDIS_HOST", infrastructure.redisHost());
+    properties.put("SPRING_REDIS_PORT", String.valueOf(infrastructure.redisPort()));
+    // Read by RedisConfig
+    properties.put("spring.redis.host", infrastructure.redisHost());
+    properties.put("spring.redis.port", String.valueOf(infrastructure.redisPort()));
+    properties.put("JWT_SECRET", UUID.randomUUID() + "-" + UUID.randomUUID());
+    properties.put("VIEWCOUNT_SYNC_LIMIT", "500");
+    properties.put("server.port", "0");
+    // SQL and request logging would dominate the measurements
+    properties.put("spring.jpa.show-sql", "false");
+    properties.put("logging.level.root", "WARN");
+    properties.put("logging.level.com.cdyt.be", "WARN");
+
+    List<String> args = new ArrayList<>();
+    properties.forEach((name, value) -> args.add("--" + name + "=" + value));
+    return new SpringApplicationBuilder(BeApplication.class).run(args.toArray(String[]::new));
+  }
+
+  /**
+   * Signs the admins in through the login endpoint, which stores their
+   * tokens as the authentication filter expects
+   */
+  private static List<String> loginAdmins(String baseUrl) throws Exception {
+    HttpClient client = HttpClient.newHttpClient();
+    ObjectMapper objectMapper = new ObjectMapper();
+    List<String> tokens = new ArrayList<>();
+    for (int i = 1; i <= DatasetSeeder.ADMIN_COUNT; i++) {
+      String body = objectMapper.writeValueAsString(Map.of(
+          "email", DatasetSeeder.adminEmail(i), "password", DatasetSeeder.PASSWORD));
+      HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+          .header("Content-Type", "application/json")
+          .POST(HttpRequest.BodyPublishers.ofString(body))
+          .build(), HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() != 200) {
+        throw new IllegalStateException("Admin login failed (" + response.statusCode() + "): " + response.body());
+      }
+      tokens.add(objectMapper.readTree(response.body()).get("token").asText());
+    }
+    return tokens;
+  }
+
+  private static Map<String, String> parseOptions(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --name=value, got " + arg);
+      }
+      options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+    }
+    return options;
+  }
+
+  private static int intOption(Map<String, String> options, String name, int defaultValue) {
+    return options.containsKey(name) ? Integer.parseInt(options.get(name)) : defaultValue;
+  }
+}
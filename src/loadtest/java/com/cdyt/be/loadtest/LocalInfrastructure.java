@@ -0,0 +1,71 @@
+package com.cdyt.be.loadtest;
+
+import com.github.fppt.jedismock.RedisServer;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+
+/**
+ * The application's backing services, in process and offline: a real
+ * PostgreSQL server started from the binaries bundled with embedded-postgres,
+ * and jedis-mock as the Redis stand-in (RESP protocol, including pub/sub and
+ * Lua scripts).
+ */
+final class LocalInfrastructure implements AutoCloseable {
+
+  private final EmbeddedPostgres postgres;
+  private final RedisServer redis;
+
+  private LocalInfrastructure(EmbeddedPostgres postgres, RedisServer redis) {
+    this.postgres = postgres;
+    this.redis = redis;
+  }
+
+  static LocalInfrastructure start() throws IOException {
+    EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+        .setServerConfig("max_connections", "200")
+        .setServerConfig("shared_buffers", "256MB")
+        // Throwaway data: durability only slows the seeding down
+        .setServerConfig("fsync", "off")
+        .setServerConfig("synchronous_commit", "off")
+        .start();
+    RedisServer redis = RedisServer.newRedisServer();
+    redis.start();
+    return new LocalInfrastructure(postgres, redis);
+  }
+
+  /**
+   * Applies the application's migrations, so the database can be seeded
+   * before the application starts
+   */
+  void migrate() {
+    Flyway.configure()
+        .dataSource(dataSource())
+        .locations("classpath:db/migration")
+        .load()
+        .migrate();
+  }
+
+  DataSource dataSource() {
+    return postgres.getPostgresDatabase();
+  }
+
+  String jdbcUrl() {
+    return postgres.getJdbcUrl("postgres", "postgres");
+  }
+
+  String redisHost() {
+    return redis.getHost();
+  }
+
+  int redisPort() {
+    return redis.getBindPort();
+  }
+
+  @Override
+  public void close() throws IOException {
+    redis.stop();
+    postgres.close();
+  }
+}
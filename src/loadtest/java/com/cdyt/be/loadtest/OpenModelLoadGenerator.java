@@ -0,0 +1,78 @@
+package com.cdyt.be.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests are sent on a fixed schedule whether or not the
+ * earlier ones have completed, as independent clients would, and each latency
+ * is measured from the request's scheduled time, so that a stalled server
+ * shows up in the percentiles instead of slowing the load down (no
+ * coordinated omission).
+ */
+final class OpenModelLoadGenerator {
+
+  // Past this many outstanding requests new ones are counted as dropped
+  private static final int MAX_IN_FLIGHT = 20_000;
+  private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+  private final HttpClient client = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .connectTimeout(Duration.ofSeconds(5))
+      .build();
+  private final long seed;
+
+  OpenModelLoadGenerator(long seed) {
+    this.seed = seed;
+  }
+
+  LoadReport run(Scenario scenario) throws InterruptedException {
+    LoadReport report = new LoadReport(scenario);
+    SplittableRandom random = new SplittableRandom(seed);
+    AtomicInteger inFlight = new AtomicInteger();
+    double intervalNanos = TimeUnit.SECONDS.toNanos(1) / scenario.ratePerSecond();
+    long start = System.nanoTime();
+    long end = start + scenario.duration().toNanos();
+
+    for (long i = 0;; i++) {
+      long intended = start + (long) (i * intervalNanos);
+      if (intended >= end) {
+        break;
+      }
+      long wait = intended - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+
+      Scenario.Step step = scenario.pick(random);
+      LoadReport.EndpointStats stats = report.endpoint(step.endpoint());
+      if (inFlight.get() >= MAX_IN_FLIGHT) {
+        stats.dropped.increment();
+        continue;
+      }
+      HttpRequest request = step.request().apply(random);
+      inFlight.incrementAndGet();
+      client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+          .whenComplete((response, error) -> {
+            stats.latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+            if (error != null || response.statusCode() >= 400) {
+              stats.errors.increment();
+            }
+            inFlight.decrementAndGet();
+          });
+    }
+
+    long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+    while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+      Thread.sleep(10);
+    }
+    report.finish((System.nanoTime() - start) / 1e9);
+    return report;
+  }
+}
@@ -0,0 +1,37 @@
+package com.cdyt.be.loadtest;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * A scripted traffic mix: requests arrive at a fixed rate (open model) and
+ * each one is drawn from the weighted steps.
+ */
+record Scenario(String name, double ratePerSecond, Duration duration, List<Step> steps) {
+
+  /**
+   * One kind of request, reported under {@code endpoint}; the request is built
+   * from the generator's random source
+   */
+  record Step(String endpoint, int weight, Function<SplittableRandom, HttpRequest> request) {
+  }
+
+  Scenario withLoad(double ratePerSecond, Duration duration) {
+    return new Scenario(name, ratePerSecond, duration, steps);
+  }
+
+  Step pick(SplittableRandom random) {
+    int totalWeight = steps.stream().mapToInt(Step::weight).sum();
+    int target = random.nextInt(totalWeight);
+    for (Step step : steps) {
+      target -= step.weight();
+      if (target < 0) {
+        return step;
+      }
+    }
+    throw new IllegalStateException("No step in scenario " + name);
+  }
+}
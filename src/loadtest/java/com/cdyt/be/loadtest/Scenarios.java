@@ -0,0 +1,118 @@
+package com.cdyt.be.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The scripted scenarios, against the seeded dataset:
+ * <ul>
+ * <li>anonymous-reads: the public site (home page, article lists and
+ * details, categories, tags, title search)</li>
+ * <li>admin-search: signed-in administrators searching and opening articles
+ * through the permission-checked API</li>
+ * <li>view-count-storm: a few hot articles opened from many client addresses,
+ * each view recorded in Redis and flushed to the database every minute</li>
+ * </ul>
+ */
+final class Scenarios {
+
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+  private static final String MOBILE_FIELDS = "id,title,slug,coverImageUrl,publishedAt";
+
+  private final String baseUrl;
+  private final List<String> slugs;
+  private final List<String> hotSlugs;
+  private final List<String> adminTokens;
+  private final int articleCount;
+  private final int categoryCount;
+
+  Scenarios(String baseUrl, List<String> slugs, List<String> hotSlugs, List<String> adminTokens,
+      int articleCount, int categoryCount) {
+    this.baseUrl = baseUrl;
+    this.slugs = slugs;
+    this.hotSlugs = hotSlugs;
+    this.adminTokens = adminTokens;
+    this.articleCount = articleCount;
+    this.categoryCount = categoryCount;
+  }
+
+  List<Scenario> all(Duration duration) {
+    return List.of(anonymousReads(duration), adminSearch(duration), viewCountStorm(duration));
+  }
+
+  Scenario anonymousReads(Duration duration) {
+    return new Scenario("anonymous-reads", 400, duration, List.of(
+        new Scenario.Step("POST /api/public/articles/getAll", 30, random -> post(
+            "/api/public/articles/getAll", "{\"page\": " + random.nextInt(50) + ", \"size\": 20}", null)),
+        new Scenario.Step("POST /api/public/articles/getAll?fields", 10, random -> post(
+            "/api/public/articles/getAll?fields=" + MOBILE_FIELDS,
+            "{\"page\": " + random.nextInt(50) + ", \"size\": 20}", null)),
+        new Scenario.Step("GET /api/public/articles/{slug}", 30, random -> get(
+            "/api/public/articles/" + pick(random, slugs), null).build()),
+        new Scenario.Step("GET /api/public/home", 15, random -> get("/api/public/home", null).build()),
+        new Scenario.Step("GET /api/public/getAllCategories", 5, random -> get(
+            "/api/public/getAllCategories", null).build()),
+        new Scenario.Step("GET /api/public/getAllTags", 5, random -> get("/api/public/getAllTags", null).build()),
+        new Scenario.Step("GET /api/public/articles/search", 5, random -> get(
+            "/api/public/articles/search?query=" + encode(pick(random, DatasetSeeder.TITLE_WORDS)), null)
+            .build())));
+  }
+
+  Scenario adminSearch(Duration duration) {
+    return new Scenario("admin-search", 40, duration, List.of(
+        new Scenario.Step("POST /api/articles/getAll (title)", 40, random -> post("/api/articles/getAll",
+            "{\"page\": " + random.nextInt(20) + ", \"size\": 20, \"title\": \""
+                + pick(random, DatasetSeeder.TITLE_WORDS) + "\", \"status\": \"" + random.nextInt(3) + "\"}",
+            pick(random, adminTokens))),
+        new Scenario.Step("POST /api/articles/getAll (category)", 30, random -> post("/api/articles/getAll",
+            "{\"page\": 0, \"size\": 20, \"categoryId\": " + (1 + random.nextInt(categoryCount)) + "}",
+            pick(random, adminTokens))),
+        new Scenario.Step("GET /api/articles/{id}", 20, random -> get(
+            "/api/articles/" + (1 + random.nextInt(articleCount)), pick(random, adminTokens)).build()),
+        new Scenario.Step("GET /api/articles/stats", 10, random -> get(
+            "/api/articles/stats", pick(random, adminTokens)).build())));
+  }
+
+  Scenario viewCountStorm(Duration duration) {
+    return new Scenario("view-count-storm", 1500, duration, List.of(
+        new Scenario.Step("GET /api/public/articles/{hot slug}", 1, random -> get(
+            "/api/public/articles/" + pick(random, hotSlugs), null)
+            // A different reader each time, so every view is counted
+            .header("X-Forwarded-For", "10." + random.nextInt(256) + "." + random.nextInt(256) + "."
+                + random.nextInt(256))
+            .build())));
+  }
+
+  private HttpRequest.Builder get(String path, String token) {
+    return authorize(HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT).GET(), token);
+  }
+
+  private HttpRequest post(String path, String json, String token) {
+    return authorize(HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .timeout(REQUEST_TIMEOUT)
+        .header("Content-Type", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8)), token)
+        .build();
+  }
+
+  private static HttpRequest.Builder authorize(HttpRequest.Builder builder, String token) {
+    return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+  }
+
+  private static <T> T pick(SplittableRandom random, List<T> values) {
+    return values.get(random.nextInt(values.size()));
+  }
+
+  private static String pick(SplittableRandom random, String[] values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  private static String encode(String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8);
+  }
+}
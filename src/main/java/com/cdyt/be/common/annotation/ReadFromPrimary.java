@@ -0,0 +1,17 @@
+package com.cdyt.be.common.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Read-only transactions started in the annotated class or method read from
+ * the primary database instead of a replica. Meant for loads that populate
+ * shared caches, which must not pick up data a lagging replica has not
+ * replayed yet.
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromPrimary {
+}
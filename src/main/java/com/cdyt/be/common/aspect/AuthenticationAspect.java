@@ -4,7 +4,6 @@ import com.cdyt.be.common.annotation.RequireAuth;
 import com.cdyt.be.common.cache.UserCache;
 import com.cdyt.be.common.cache.RoleCache;
 import com.cdyt.be.common.context.UserContextHolder;
-import com.cdyt.be.common.controller.BaseAuthController;
 import com.cdyt.be.common.dto.ApiResponse;
 import com.cdyt.be.entity.User;
 import jakarta.servlet.http.HttpServletRequest;
@@ -55,33 +54,26 @@ public class AuthenticationAspect {
             return createUnauthorizedResponse();
         }
 
-        // Setup enhanced context only for BaseAuthController
-        Object controller = joinPoint.getTarget();
-        User currentUser = null;
+        User currentUser = getCurrentUserFromAuthentication(authentication);
 
-        if (controller instanceof BaseAuthController baseController) {
-            currentUser = getCurrentUserFromAuthentication(authentication);
-            setupControllerContext(baseController, currentUser);
-        }
-
-        // Set thread-local context for non-BaseAuthController usage
+        // Request-scoped context, cleared on every way out (the thread may be
+        // reused by a later request)
         if (currentUser != null) {
             UserContextHolder.setCurrentUser(currentUser);
         }
-
-        // ===== Permission check based on RequireAuth settings =====
-        if (requireAuth != null && requireAuth.checkPermissions()) {
-            HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
-                    .getRequest();
-            String apiPath = request.getRequestURI();
-
-            boolean permitted = checkPermission(currentUser, apiPath);
-            if (!permitted) {
-                return createForbiddenResponse("You don't have permission to access this resource.");
+        try {
+            // ===== Permission check based on RequireAuth settings =====
+            if (requireAuth != null && requireAuth.checkPermissions()) {
+                HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder
+                        .currentRequestAttributes()).getRequest();
+                String apiPath = request.getRequestURI();
+
+                boolean permitted = checkPermission(currentUser, apiPath);
+                if (!permitted) {
+                    return createForbiddenResponse("You don't have permission to access this resource.");
+                }
             }
-        }
 
-        try {
             return joinPoint.proceed();
         } finally {
             UserContextHolder.clear();
@@ -111,19 +103,6 @@ public class AuthenticationAspect {
         return ResponseEntity.status(403).body(ApiResponse.forbidden(message));
     }
 
-    /**
-     * Setup controller context efficiently
-     */
-    private void setupControllerContext(BaseAuthController controller, User currentUser) {
-        controller.setCurrentUser(currentUser);
-        controller.setAuthResult(BaseAuthController.AuthResult.success());
-
-        // Lazy IP address setup (only when needed)
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder
-                .currentRequestAttributes();
-        controller.setIpAddress(getClientIpAddress(attributes.getRequest()));
-    }
-
     /**
      * Get current user from Spring Security authentication Uses optimized cache to
      * avoid database
@@ -136,17 +115,6 @@ public class AuthenticationAspect {
         return userCache.getUser(email);
     }
 
-    /**
-     * Get client IP address
-     */
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        return request.getRemoteAddr();
-    }
-
     // ====================== PERMISSION LOGIC =======================
 
     /**
@@ -156,7 +124,7 @@ public class AuthenticationAspect {
      */
     private boolean checkPermission(User user, String apiPath) {
         try {
-            System.out.println("Checking permission for API path: " + apiPath);
+            log.debug("Checking permission for API path: {}", apiPath);
             // If API is not in global function list => no permission needed
             List<com.cdyt.be.entity.Function> allFunctions = functionRepository.findAll();
             boolean pathRequiresPermission = allFunctions.stream()
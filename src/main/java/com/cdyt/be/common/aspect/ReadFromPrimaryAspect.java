@@ -0,0 +1,31 @@
+package com.cdyt.be.common.aspect;
+
+import com.cdyt.be.common.datasource.PrimaryReadContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pins the threads running {@link com.cdyt.be.common.annotation.ReadFromPrimary}
+ * code to the primary database. Connections are fetched lazily (on the first
+ * statement of a transaction), so the pin applies whatever the order of this
+ * aspect and the transaction interceptor.
+ */
+@Aspect
+@Component
+public class ReadFromPrimaryAspect {
+
+    @Around("@within(com.cdyt.be.common.annotation.ReadFromPrimary) || "
+            + "@annotation(com.cdyt.be.common.annotation.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean pinned = PrimaryReadContext.pin();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (pinned) {
+                PrimaryReadContext.unpin();
+            }
+        }
+    }
+}
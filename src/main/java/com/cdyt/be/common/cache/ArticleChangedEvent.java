@@ -0,0 +1,11 @@
+package com.cdyt.be.common.cache;
+
+/**
+ * Published by article writes that change where an article ranks on the
+ * leaderboard (status, category, tags, delete, restore); its entry is updated
+ * once the writing transaction commits.
+ *
+ * @param articleId id of the changed article
+ */
+public record ArticleChangedEvent(Long articleId) {
+}
@@ -0,0 +1,10 @@
+package com.cdyt.be.common.cache;
+
+/**
+ * Published by category writes; the category tree snapshot is rebuilt once the
+ * writing transaction commits.
+ *
+ * @param categoryId id of the created, updated or deleted category
+ */
+public record CategoryChangedEvent(Long categoryId) {
+}
@@ -0,0 +1,106 @@
+package com.cdyt.be.common.cache;
+
+import com.cdyt.be.common.annotation.ReadFromPrimary;
+import com.cdyt.be.entity.Category;
+import com.cdyt.be.repository.CategoryRepository;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Holds the current {@link CategoryTreeSnapshot}. Readers get a consistent,
+ * immutable tree without touching the database; writers publish a
+ * {@link CategoryChangedEvent} and the snapshot is rebuilt with one query and
+ * swapped in atomically after commit.
+ *
+ * Snapshot versions are the cluster-wide category version of
+ * {@link ContentVersions}, read before the categories are loaded, so every
+ * instance labels the same content with the same version. A frequent, cheap
+ * version check picks up changes made by other application instances.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryTreeCache {
+
+    private final CategoryRepository categoryRepository;
+    private final ContentVersions contentVersions;
+
+    private final AtomicReference<CategoryTreeSnapshot> current = new AtomicReference<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /**
+     * Get the current snapshot, building it on first use
+     */
+    public CategoryTreeSnapshot get() {
+        CategoryTreeSnapshot snapshot = current.get();
+        return snapshot != null ? snapshot : rebuild();
+    }
+
+    /**
+     * Rebuild the snapshot from the database and publish it
+     */
+    public CategoryTreeSnapshot rebuild() {
+        // A lock rather than synchronized: the rebuild blocks on the database,
+        // which would pin the carrier of a virtual thread
+        rebuildLock.lock();
+        try {
+            long startTime = System.currentTimeMillis();
+            // Read the version first: the content loaded next is at least that new
+            long version = contentVersions.current(ContentVersions.CATEGORIES);
+            List<Category> categories = categoryRepository.findByIsDeletedFalseOrderByDisplayOrderAscNameAsc();
+            CategoryTreeSnapshot snapshot = CategoryTreeSnapshot.build(categories, version);
+            current.set(snapshot);
+
+            if (snapshot.size() < categories.size()) {
+                log.warn("Category tree snapshot skipped {} categories caught in a parent cycle",
+                        categories.size() - snapshot.size());
+            }
+            log.debug("Category tree snapshot v{} built with {} categories in {} ms",
+                    snapshot.getVersion(), snapshot.size(), System.currentTimeMillis() - startTime);
+            return snapshot;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Bump the category version and rebuild after a category write commits
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @ReadFromPrimary
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        log.debug("Category {} changed, rebuilding category tree snapshot", event.categoryId());
+        try {
+            contentVersions.bump(ContentVersions.CATEGORIES);
+        } catch (Exception e) {
+            log.warn("Failed to bump category version after change of category {}: {}",
+                    event.categoryId(), e.getMessage());
+        }
+        rebuild();
+    }
+
+    /**
+     * Rebuild when another instance changed the categories (or the version is
+     * unavailable)
+     */
+    @Scheduled(fixedDelayString = "${category.tree.refresh-interval-ms:5000}")
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    public void refresh() {
+        CategoryTreeSnapshot snapshot = current.get();
+        long version = contentVersions.current(ContentVersions.CATEGORIES);
+        if (snapshot == null || version <= 0 || snapshot.getVersion() != version) {
+            rebuild();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.cdyt.be.common.cache;
+
+import com.cdyt.be.entity.Category;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Immutable view of the whole (non-deleted) category forest, with full paths,
+ * depths, children and subtrees precomputed. Instances are never
+ * modified after {@link #build}; a category write publishes a new snapshot
+ * (see {@link CategoryTreeCache}).
+ *
+ * Category ids are stored as one pre-order array in which every subtree is
+ * a contiguous range.
+ */
+public final class CategoryTreeSnapshot {
+
+    @Getter
+    private final long version;
+
+    private final Map<Long, Node> nodesById;
+    private final Map<String, Long> idsBySlug;
+    private final List<Node> roots;
+    private final long[] preorderIds;
+
+    private CategoryTreeSnapshot(long version, Map<Long, Node> nodesById, Map<String, Long> idsBySlug,
+            List<Node> roots, long[] preorderIds) {
+        this.version = version;
+        this.nodesById = nodesById;
+        this.idsBySlug = idsBySlug;
+        this.roots = roots;
+        this.preorderIds = preorderIds;
+    }
+
+    /**
+     * Build a snapshot from a flat list of non-deleted categories, already sorted
+     * in display order (children keep the relative order of the list). Only the
+     * parent id of each category is read, so lazy parents are not initialized.
+     *
+     * Categories whose parent is missing from the list are treated as roots;
+     * categories caught in a parent cycle are unreachable and left out.
+     */
+    public static CategoryTreeSnapshot build(List<Category> categories, long version) {
+        Map<Long, Category> byId = new LinkedHashMap<>();
+        for (Category category : categories) {
+            byId.put(category.getId(), category);
+        }
+
+        Map<Long, List<Long>> childIdsByParent = new HashMap<>();
+        List<Long> rootIds = new ArrayList<>();
+        for (Category category : byId.values()) {
+            Long parentId = parentIdOf(category);
+            if (parentId == null || !byId.containsKey(parentId)) {
+                rootIds.add(category.getId());
+            } else {
+                childIdsByParent.computeIfAbsent(parentId, id -> new ArrayList<>()).add(category.getId());
+            }
+        }
+
+        // Iterative pre-order walk: assigns depth, full path and subtree range
+        Map<Long, Integer> depths = new HashMap<>();
+        Map<Long, String> paths = new HashMap<>();
+        Map<Long, Integer> subtreeStarts = new HashMap<>();
+        Map<Long, Integer> subtreeEnds = new HashMap<>();
+        long[] preorder = new long[byId.size()];
+        int position = 0;
+
+        Deque<Frame> stack = new ArrayDeque<>();
+        for (int i = rootIds.size() - 1; i >= 0; i--) {
+            stack.push(new Frame(rootIds.get(i), false));
+        }
+        while (!stack.isEmpty()) {
+            Frame frame = stack.pop();
+            Long id = frame.id;
+            if (frame.exit) {
+                subtreeEnds.put(id, position);
+                continue;
+            }
+
+            Category category = byId.get(id);
+            Long parentId = parentIdOf(category);
+            if (parentId != null && paths.containsKey(parentId)) {
+                depths.put(id, depths.get(parentId) + 1);
+                paths.put(id, paths.get(parentId) + " > " + category.getName());
+            } else {
+                depths.put(id, 0);
+                paths.put(id, category.getName());
+            }
+            subtreeStarts.put(id, position);
+            preorder[position++] = id;
+
+            stack.push(new Frame(id, true));
+            List<Long> childIds = childIdsByParent.getOrDefault(id, List.of());
+            for (int i = childIds.size() - 1; i >= 0; i--) {
+                stack.push(new Frame(childIds.get(i), false));
+            }
+        }
+
+        Map<Long, Node> nodes = new HashMap<>();
+        Map<String, Long> slugs = new HashMap<>();
+        for (Long id : subtreeStarts.keySet()) {
+            Category category = byId.get(id);
+            List<Long> childIds = childIdsByParent.getOrDefault(id, List.of());
+            nodes.put(id, new Node(category, parentIdOf(category), paths.get(id), depths.get(id),
+                    childIds.stream().mapToLong(Long::longValue).toArray(),
+                    subtreeStarts.get(id), subtreeEnds.get(id)));
+            slugs.put(category.getSlug(), id);
+        }
+
+        List<Node> roots = new ArrayList<>();
+        for (Long rootId : rootIds) {
+            roots.add(nodes.get(rootId));
+        }
+
+        return new CategoryTreeSnapshot(version, Collections.unmodifiableMap(nodes),
+                Collections.unmodifiableMap(slugs), Collections.unmodifiableList(roots),
+                Arrays.copyOf(preorder, position));
+    }
+
+    /**
+     * Number of categories in the snapshot
+     */
+    public int size() {
+        return nodesById.size();
+    }
+
+    /**
+     * Get a category node by id, or null if it is unknown or deleted
+     */
+    public Node getNode(Long id) {
+        return id != null ? nodesById.get(id) : null;
+    }
+
+    /**
+     * Get a category node by slug, or null if it is unknown or deleted
+     */
+    public Node getNodeBySlug(String slug) {
+        Long id = slug != null ? idsBySlug.get(slug) : null;
+        return id != null ? nodesById.get(id) : null;
+    }
+
+    /**
+     * Root categories in display order
+     */
+    public List<Node> getRoots() {
+        return roots;
+    }
+
+    /**
+     * Direct children of a category in display order
+     */
+    public List<Node> getChildren(Node node) {
+        List<Node> children = new ArrayList<>(node.childIds.length);
+        for (long childId : node.childIds) {
+            children.add(nodesById.get(childId));
+        }
+        return children;
+    }
+
+    /**
+     * A category and all its descendants, in pre-order (parents before their
+     * children, siblings in display order)
+     */
+    public List<Node> getSubtree(Node node) {
+        List<Node> subtree = new ArrayList<>(node.getSubtreeSize());
+        for (int i = node.subtreeStart; i < node.subtreeEnd; i++) {
+            subtree.add(nodesById.get(preorderIds[i]));
+        }
+        return subtree;
+    }
+
+    /**
+     * Check whether a category is in the subtree of another (or is the same)
+     */
+    public boolean isInSubtree(Long ancestorId, Long categoryId) {
+        Node ancestor = getNode(ancestorId);
+        Node node = getNode(categoryId);
+        return ancestor != null && node != null
+                && node.subtreeStart >= ancestor.subtreeStart && node.subtreeStart < ancestor.subtreeEnd;
+    }
+
+    /**
+     * Path from the root down to the category (inclusive), for breadcrumbs
+     */
+    public List<Node> getAncestors(Long id) {
+        Node node = getNode(id);
+        if (node == null) {
+            return List.of();
+        }
+        Node[] path = new Node[node.depth + 1];
+        for (int i = node.depth; i >= 0 && node != null; i--) {
+            path[i] = node;
+            node = getNode(node.parentId);
+        }
+        return List.of(path);
+    }
+
+    private static Long parentIdOf(Category category) {
+        return category.getParent() != null ? category.getParent().getId() : null;
+    }
+
+    private record Frame(Long id, boolean exit) {
+    }
+
+    /**
+     * Immutable copy of one category with its precomputed tree data
+     */
+    @Getter
+    public static final class Node {
+        private final Long id;
+        private final Long parentId;
+        private final String name;
+        private final String slug;
+        private final String description;
+        private final Integer displayOrder;
+        private final Integer status;
+        private final String fullPath;
+        private final int depth;
+        private final long[] childIds;
+        private final int subtreeStart;
+        private final int subtreeEnd;
+
+        private Node(Category category, Long parentId, String fullPath, int depth, long[] childIds,
+                int subtreeStart, int subtreeEnd) {
+            this.id = category.getId();
+            this.parentId = parentId;
+            this.name = category.getName();
+            this.slug = category.getSlug();
+            this.description = category.getDescription();
+            this.displayOrder = category.getDisplayOrder();
+            this.status = category.getStatus();
+            this.fullPath = fullPath;
+            this.depth = depth;
+            this.childIds = childIds;
+            this.subtreeStart = subtreeStart;
+            this.subtreeEnd = subtreeEnd;
+        }
+
+        public boolean hasChildren() {
+            return childIds.length > 0;
+        }
+
+        public boolean isRoot() {
+            return depth == 0;
+        }
+
+        public long[] getChildIds() {
+            return childIds.clone();
+        }
+
+        /**
+         * Number of categories in this subtree, including this one
+         */
+        public int getSubtreeSize() {
+            return subtreeEnd - subtreeStart;
+        }
+    }
+}
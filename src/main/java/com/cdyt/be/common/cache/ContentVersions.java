@@ -0,0 +1,99 @@
+package com.cdyt.be.common.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Cluster-wide version numbers of the public collections (category tree, tag
+ * lists), used as HTTP validators.
+ *
+ * A version is the epoch millisecond of the last change, bumped to at least
+ * the previous value + 1, so it only ever grows and doubles as Last-Modified.
+ * A version lost from Redis restarts at the current time, which is still
+ * newer than any validator handed out before.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContentVersions {
+
+    public static final String CATEGORIES = "categories";
+    public static final String TAGS = "tags";
+    // Changes only with tag names and visibility (not usage counts): for bodies
+    // that embed tags, such as articles
+    public static final String TAG_NAMES = "tag-names";
+
+    private static final String KEY_PREFIX = "version:";
+
+    // max(now, current + 1), stored and returned
+    private static final DefaultRedisScript<Long> BUMP = new DefaultRedisScript<>(
+            "local current = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+                    "local next = tonumber(ARGV[1]) " +
+                    "if next <= current then next = current + 1 end " +
+                    "redis.call('SET', KEYS[1], next) " +
+                    "return next",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Get the current version of a collection, or 0 when it is unavailable
+     * (conditional requests are then not answered with 304)
+     */
+    public long current(String collection) {
+        String key = KEY_PREFIX + collection;
+        try {
+            String version = redisTemplate.opsForValue().get(key);
+            if (version == null) {
+                redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(System.currentTimeMillis()));
+                version = redisTemplate.opsForValue().get(key);
+            }
+            return version != null ? Long.parseLong(version) : 0L;
+        } catch (Exception e) {
+            log.warn("Failed to read {} version: {}", collection, e.getMessage());
+            return 0L;
+        }
+    }
+
+    /**
+     * Mark a collection as changed and return its new version
+     */
+    public long bump(String collection) {
+        Long version = redisTemplate.execute(BUMP, List.of(KEY_PREFIX + collection),
+                String.valueOf(System.currentTimeMillis()));
+        return version != null ? version : 0L;
+    }
+
+    /**
+     * Bump the tag list and tag name versions after a tag write commits
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        try {
+            bump(TAGS);
+            bump(TAG_NAMES);
+        } catch (Exception e) {
+            log.warn("Failed to bump tag version after change of tag {}: {}", event.tagId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Bump the tag list version (only) after usage counts change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTagUsageChanged(TagUsageChangedEvent event) {
+        try {
+            bump(TAGS);
+        } catch (Exception e) {
+            log.warn("Failed to bump tag version after usage change of tags {}: {}", event.tagIds(),
+                    e.getMessage());
+        }
+    }
+}
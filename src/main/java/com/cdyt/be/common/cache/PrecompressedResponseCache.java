@@ -0,0 +1,90 @@
+package com.cdyt.be.common.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Per-node cache of fully serialized response bodies, stored both as plain
+ * JSON and gzip-compressed, so that hot responses are written without any
+ * mapping, serialization or compression work.
+ *
+ * Each entry is tagged with the content version it was built from; a lookup
+ * with a different version rebuilds it, so entries never outlive a write even
+ * if the eviction is missed. Bounded by total size in bytes.
+ */
+@Component
+@Slf4j
+public class PrecompressedResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Entry> cache;
+
+    public PrecompressedResponseCache(ObjectMapper objectMapper,
+            @Value("${response-cache.max-size-mb:64}") long maxSizeMb,
+            @Value("${response-cache.ttl-minutes:10}") long ttlMinutes) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSizeMb * 1024 * 1024)
+                .weigher((String key, Entry entry) -> entry.identity().length + entry.gzip().length)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    /**
+     * Get the serialized body stored under a key for the given content version,
+     * building and storing it from the supplied response object on a miss
+     */
+    public Entry get(String key, long version, Supplier<Object> response) {
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.version() == version) {
+            return entry;
+        }
+
+        byte[] identity;
+        try {
+            identity = objectMapper.writeValueAsBytes(response.get());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize cached response " + key, e);
+        }
+        entry = new Entry(version, identity, gzip(identity));
+        cache.put(key, entry);
+        log.debug("Cached response {} v{}: {} bytes, {} gzipped", key, version, identity.length,
+                entry.gzip().length);
+        return entry;
+    }
+
+    /**
+     * Drop a stored body (after a write to its content)
+     */
+    public void evict(String key) {
+        cache.invalidate(key);
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * A serialized body, plain and gzip-compressed
+     */
+    public record Entry(long version, byte[] identity, byte[] gzip) {
+    }
+}
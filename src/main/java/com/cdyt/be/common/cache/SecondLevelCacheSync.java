@@ -0,0 +1,235 @@
+package com.cdyt.be.common.cache;
+
+import com.cdyt.be.entity.Tag;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the Hibernate second-level cache (one per node) consistent across
+ * nodes, and reports its hit ratios.
+ *
+ * Committed writes of cached entities are broadcast on a Redis channel as
+ * "nodeId|entityName|id[,id...]" (empty id = the whole region); the other
+ * nodes drop the entities, the cached collections they take part in and the
+ * query results. Writes Hibernate does not see are covered by events: a
+ * {@link TagUsageChangedEvent} drops just the tags whose usage count changed,
+ * a {@link TagChangedEvent} for several tags (imports) the whole tag region. Pub/sub delivery
+ * is best effort, so the regions also expire entries after a TTL
+ * (application.conf).
+ */
+@Component
+@Slf4j
+public class SecondLevelCacheSync implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    public static final String INVALIDATION_CHANNEL = "cache:l2-invalidation";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final StringRedisTemplate redisTemplate;
+
+    public SecondLevelCacheSync(EntityManagerFactory entityManagerFactory, StringRedisTemplate redisTemplate) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.redisTemplate = redisTemplate;
+    }
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publishInvalidation(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publishInvalidation(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publishInvalidation(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was committed
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was committed
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was committed
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    /**
+     * Drop the tag region on every node after writes of several tags outside
+     * of Hibernate (usage counts, imports)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        if (event.tagId() == null) {
+            evictLocal(Tag.class.getName(), null);
+            publish(Tag.class.getName(), null);
+        }
+    }
+
+    /**
+     * Drop the tags whose usage count changed outside of Hibernate, on every
+     * node (the rest of the tag region stays cached)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTagUsageChanged(TagUsageChangedEvent event) {
+        if (event.tagIds().isEmpty()) {
+            return;
+        }
+        String ids = event.tagIds().stream().map(String::valueOf).collect(Collectors.joining(","));
+        evictLocal(Tag.class.getName(), ids);
+        publish(Tag.class.getName(), ids);
+    }
+
+    /**
+     * Apply an invalidation message from the channel (own messages are ignored)
+     */
+    public void onInvalidation(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            evictLocal(parts[1], parts[2].isEmpty() ? null : parts[2]);
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply second-level cache invalidation {}: {}", message, e.getMessage());
+        }
+    }
+
+    /**
+     * Hits, misses and puts per region since startup
+     */
+    public SecondLevelCacheStats getStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        List<RegionStats> regions = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                regions.add(new RegionStats(region, regionStatistics.getHitCount(),
+                        regionStatistics.getMissCount(), regionStatistics.getPutCount(),
+                        hitRatio(regionStatistics.getHitCount(), regionStatistics.getMissCount())));
+            }
+        }
+        return new SecondLevelCacheStats(statistics.isStatisticsEnabled(),
+                statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+                hitRatio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()),
+                statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                hitRatio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()),
+                regions);
+    }
+
+    private void publishInvalidation(EntityPersister persister, Object id) {
+        if (persister.canWriteToCache()) {
+            // Composite ids are not sent: the whole region is dropped instead
+            publish(persister.getEntityName(), id instanceof Number ? id.toString() : null);
+        }
+    }
+
+    private void publish(String entityName, String id) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+                    nodeId + "|" + entityName + "|" + (id != null ? id : ""));
+        } catch (Exception e) {
+            // Other nodes still drop their copy when the region TTL expires
+            log.warn("Failed to broadcast invalidation of {} {}: {}", entityName, id, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop entities (comma-separated ids, or null for the whole region), the
+     * collections they take part in and the query results
+     */
+    private void evictLocal(String entityName, String ids) {
+        Cache cache = sessionFactory.getCache();
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(entityName);
+        Class<?> idType = persister.getIdentifierType().getReturnedClass();
+        if (ids == null) {
+            cache.evictEntityData(entityName);
+        } else if (idType == Long.class || idType == long.class) {
+            for (String id : ids.split(",")) {
+                cache.evictEntityData(entityName, Long.valueOf(id));
+            }
+        } else if (idType == Integer.class || idType == int.class) {
+            for (String id : ids.split(",")) {
+                cache.evictEntityData(entityName, Integer.valueOf(id));
+            }
+        } else {
+            cache.evictEntityData(entityName);
+        }
+
+        // Collections holding the entity (e.g. a new category under a cached parent)
+        Set<String> roles = sessionFactory.getMappingMetamodel().getCollectionRolesByEntityParticipant(entityName);
+        if (roles != null) {
+            roles.forEach(cache::evictCollectionData);
+        }
+        cache.evictQueryRegions();
+    }
+
+    private static double hitRatio(long hits, long misses) {
+        return hits + misses > 0 ? (double) hits / (hits + misses) : 0;
+    }
+
+    /**
+     * Second-level and query cache counters (all zero when
+     * hibernate.generate_statistics is off)
+     */
+    public record SecondLevelCacheStats(
+            boolean statisticsEnabled,
+            long hits,
+            long misses,
+            double hitRatio,
+            long queryHits,
+            long queryMisses,
+            double queryHitRatio,
+            List<RegionStats> regions) {
+    }
+
+    public record RegionStats(String region, long hits, long misses, long puts, double hitRatio) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.cdyt.be.common.cache;
+
+/**
+ * Published by writes that change tags themselves (create, rename, status,
+ * delete, imports creating tags); the tag list and tag name versions are
+ * bumped once the writing transaction commits. Usage count changes publish a
+ * {@link TagUsageChangedEvent} instead.
+ *
+ * @param tagId id of the changed tag, or null when several tags changed
+ */
+public record TagChangedEvent(Long tagId) {
+}
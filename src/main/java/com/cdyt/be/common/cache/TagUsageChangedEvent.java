@@ -0,0 +1,14 @@
+package com.cdyt.be.common.cache;
+
+import java.util.Set;
+
+/**
+ * Published by writes that change only the usage counts of some tags (article
+ * tagging, counter reconciliation). Once the writing transaction commits, the
+ * tag list version is bumped and the tags are evicted from the second-level
+ * cache; the tag name version used by article validators is left alone.
+ *
+ * @param tagIds ids of the tags whose usage count changed
+ */
+public record TagUsageChangedEvent(Set<Long> tagIds) {
+}
@@ -0,0 +1,94 @@
+package com.cdyt.be.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Cache manager that puts a bounded local L1 in front of the Redis caches
+ * listed in {@code cache.local.caches}; every other cache is served by Redis
+ * alone.
+ *
+ * L1 invalidations are broadcast on a Redis channel as
+ * "nodeId|cacheName|key" (empty key = clear). Pub/sub delivery is best effort,
+ * so L1 entries also expire after a short TTL.
+ */
+@Slf4j
+public class TwoTierCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    public static final String INVALIDATION_CHANNEL = "cache:invalidation";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final CacheManager remoteCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final Set<String> localCacheNames;
+    private final long localMaxSize;
+    private final Duration localTtl;
+
+    public TwoTierCacheManager(CacheManager remoteCacheManager, StringRedisTemplate redisTemplate,
+            Set<String> localCacheNames, long localMaxSize, Duration localTtl) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.localCacheNames = localCacheNames;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        // Caches are created on first use
+        return List.of();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null || !localCacheNames.contains(name)) {
+            return remote;
+        }
+        return new TwoTierCache(name,
+                Caffeine.newBuilder().maximumSize(localMaxSize).expireAfterWrite(localTtl).build(),
+                remote, this::publishInvalidation);
+    }
+
+    /**
+     * Apply an invalidation message from the channel (own messages are ignored)
+     */
+    public void onInvalidation(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        // Look up without creating: a cache never used here has nothing to drop
+        if (getCacheNames().contains(parts[1]) && unwrap(getCache(parts[1])) instanceof TwoTierCache cache) {
+            cache.invalidateLocal(parts[2].isEmpty() ? null : parts[2]);
+        }
+    }
+
+    private void publishInvalidation(String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL,
+                    nodeId + "|" + cacheName + "|" + (key != null ? key : ""));
+        } catch (Exception e) {
+            // Other nodes still drop their copy when the L1 TTL expires
+            log.warn("Failed to broadcast invalidation of {} in cache {}: {}", key, cacheName, e.getMessage());
+        }
+    }
+
+    private static Cache unwrap(Cache cache) {
+        return cache instanceof TransactionAwareCacheDecorator decorator
+                ? decorator.getTargetCache()
+                : cache;
+    }
+}
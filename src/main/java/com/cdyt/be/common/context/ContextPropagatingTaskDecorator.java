@@ -0,0 +1,44 @@
+package com.cdyt.be.common.context;
+
+import com.cdyt.be.common.datasource.PrimaryReadContext;
+import com.cdyt.be.entity.User;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Carries the request context of the submitting thread (current user, primary
+ * pin) over to tasks run on other threads, and restores the worker's own
+ * context afterwards, so that nothing outlives the task on a pooled thread.
+ *
+ * Picked up by the auto-configured @Async executors (platform or virtual
+ * threads) and used by the application's own pools.
+ */
+@Component
+public class ContextPropagatingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        User user = UserContextHolder.getCurrentUser();
+        boolean pinned = PrimaryReadContext.isPinned();
+        if (user == null && !pinned) {
+            return runnable;
+        }
+        return () -> {
+            User previousUser = UserContextHolder.getCurrentUser();
+            boolean pinnedHere = pinned && PrimaryReadContext.pin();
+            UserContextHolder.setCurrentUser(user);
+            try {
+                runnable.run();
+            } finally {
+                if (previousUser != null) {
+                    UserContextHolder.setCurrentUser(previousUser);
+                } else {
+                    UserContextHolder.clear();
+                }
+                if (pinnedHere) {
+                    PrimaryReadContext.unpin();
+                }
+            }
+        };
+    }
+}
@@ -5,6 +5,12 @@ import com.cdyt.be.entity.User;
 /**
  * Thread-local storage for current authenticated user
  * Similar to SecurityContextHolder but for our custom authentication
+ *
+ * Request scoped: set and cleared (in a finally block) by
+ * AuthenticationAspect, and copied to worker threads by
+ * {@link ContextPropagatingTaskDecorator}, so it never carries over to the
+ * next request served by a pooled thread. Plain (not inheritable) thread
+ * locals also work unchanged on virtual threads, one per request.
  */
 public class UserContextHolder {
 
@@ -1,43 +1,35 @@
 package com.cdyt.be.common.controller;
 
+import com.cdyt.be.common.cache.PrecompressedResponseCache;
 import com.cdyt.be.common.context.UserContextHolder;
 import com.cdyt.be.common.dto.ApiResponse;
+import com.cdyt.be.common.dto.LeanApiResponse;
 import com.cdyt.be.common.util.ResponseUtils;
 import com.cdyt.be.entity.User;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Locale;
 import java.util.Map;
 
-@Getter
-@Setter
+/**
+ * Base of the API controllers. Controllers are singletons shared by all
+ * requests, so the request context (user, client IP) is never stored in
+ * fields: it is read from the current request and from
+ * {@link UserContextHolder} each time.
+ */
 public abstract class BaseAuthController {
 
-  /**
-   * Current authenticated user
-   */
-  protected User currentUser;
-
-  /**
-   * Authentication result
-   */
-  protected AuthResult authResult;
-
-  /**
-   * Client IP Address
-   */
-  protected String ipAddress;
-
-  /**
-   * Check if current user is owner of a resource
-   */
-  protected boolean isOwner = false;
-
   /**
    * Get current authenticated user
    */
@@ -46,13 +38,18 @@ public abstract class BaseAuthController {
   }
 
   /**
-   * Get client IP address
+   * Get the authentication result of the current request
    */
-  public String getClientIpAddress() {
-    if (ipAddress != null) {
-      return ipAddress;
-    }
+  public AuthResult getAuthResult() {
+    return UserContextHolder.hasAuthenticatedUser()
+        ? AuthResult.success()
+        : AuthResult.failure("Authentication required", 401);
+  }
 
+  /**
+   * Get client IP address of the current request
+   */
+  public String getClientIpAddress() {
     ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder
         .currentRequestAttributes();
     HttpServletRequest request = attributes.getRequest();
@@ -60,12 +57,9 @@ public abstract class BaseAuthController {
     // Try X-Forwarded-For header first (like your .NET code)
     String xForwardedFor = request.getHeader("X-Forwarded-For");
     if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-      ipAddress = xForwardedFor.split(",")[0].trim();
-    } else {
-      ipAddress = request.getRemoteAddr();
+      return xForwardedFor.split(",")[0].trim();
     }
-
-    return ipAddress;
+    return request.getRemoteAddr();
   }
 
   // ========== CONVENIENT RESPONSE METHODS ==========
@@ -123,6 +117,106 @@ public abstract class BaseAuthController {
     return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ResponseUtils.badRequest(message));
   }
 
+  /**
+   * Create successful response (200) with the lean envelope: same JSON as ok,
+   * without the user context metadata (for public endpoints)
+   */
+  protected <T> ResponseEntity<LeanApiResponse<T>> leanOk(T data, String message) {
+    return ResponseEntity.ok(LeanApiResponse.ok(data, message, null));
+  }
+
+  /**
+   * Create successful response (200) with the lean envelope and the given
+   * metadata only
+   */
+  protected <T> ResponseEntity<LeanApiResponse<T>> leanOk(T data, String message, Map<String, ?> metadata) {
+    return ResponseEntity.ok(LeanApiResponse.ok(data, message, metadata));
+  }
+
+  /**
+   * Create not found response (404) with the lean envelope
+   */
+  protected <T> ResponseEntity<LeanApiResponse<T>> leanNotFound(String message) {
+    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(LeanApiResponse.error(404, message));
+  }
+
+  /**
+   * Create bad request response (400) with the lean envelope
+   */
+  protected <T> ResponseEntity<LeanApiResponse<T>> leanBadRequest(String message) {
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(LeanApiResponse.error(400, message));
+  }
+
+  /**
+   * Create not modified response (304) for a conditional GET that matched (see
+   * isNotModified)
+   */
+  protected <T> ResponseEntity<T> notModified() {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+  }
+
+  /**
+   * Create successful response (200) from a pre-serialized body, sent
+   * gzip-encoded when the client accepts it. The stored bytes are the same
+   * for every client, so they carry no client IP.
+   */
+  protected ResponseEntity<byte[]> ok(PrecompressedResponseCache.Entry body, WebRequest request) {
+    String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+    boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_JSON)
+        .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+    }
+    return response.body(body.identity());
+  }
+
+  // ========== CONDITIONAL REQUESTS ==========
+
+  /**
+   * Check a conditional GET (If-None-Match / If-Modified-Since) against a
+   * version validator and set the ETag and Last-Modified headers. The ETag is
+   * weak because the response envelope differs between requests.
+   *
+   * @param resource name of the resource or collection
+   * @param version  epoch millisecond of the last change; 0 or less is unknown
+   *                 and never matches
+   * @return true when the client copy is current (answer with notModified)
+   */
+  protected boolean isNotModified(WebRequest request, String resource, long version) {
+    if (version <= 0) {
+      return false;
+    }
+    return request.checkNotModified("W/\"" + resource + "-" + version + "\"", version);
+  }
+
+  /**
+   * Version of an entity for isNotModified, from its last update (or creation)
+   * time
+   */
+  protected static long versionOf(LocalDateTime updatedAt, LocalDateTime createdAt) {
+    LocalDateTime lastChange = updatedAt != null ? updatedAt : createdAt;
+    return lastChange != null ? lastChange.toInstant(ZoneOffset.UTC).toEpochMilli() : 0L;
+  }
+
+  /**
+   * Version of a response assembled from several sources (an entity and the
+   * collections whose data its body embeds): the latest of their versions, or
+   * 0 when one of them is unavailable
+   */
+  protected static long latestVersion(long... versions) {
+    long latest = 0L;
+    for (long version : versions) {
+      if (version <= 0) {
+        return 0L;
+      }
+      latest = Math.max(latest, version);
+    }
+    return latest;
+  }
+
   /**
    * Authentication result class
    */
@@ -0,0 +1,40 @@
+package com.cdyt.be.common.datasource;
+
+/**
+ * Thread-local flag sending the connections fetched by the current thread to
+ * the primary database, whatever the transaction (see
+ * {@link com.cdyt.be.common.annotation.ReadFromPrimary})
+ */
+public final class PrimaryReadContext {
+
+    private static final ThreadLocal<Boolean> pinned = new ThreadLocal<>();
+
+    private PrimaryReadContext() {
+    }
+
+    /**
+     * Pin the current thread to the primary, returning false if it already was
+     * (the caller must then leave the pin to its owner)
+     */
+    public static boolean pin() {
+        if (pinned.get() != null) {
+            return false;
+        }
+        pinned.set(Boolean.TRUE);
+        return true;
+    }
+
+    /**
+     * Release the pin of the current thread
+     */
+    public static void unpin() {
+        pinned.remove();
+    }
+
+    /**
+     * Check if the current thread is pinned to the primary
+     */
+    public static boolean isPinned() {
+        return pinned.get() != null;
+    }
+}
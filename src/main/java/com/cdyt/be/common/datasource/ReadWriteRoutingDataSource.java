@@ -0,0 +1,266 @@
+package com.cdyt.be.common.datasource;
+
+import com.cdyt.be.common.context.UserContextHolder;
+import com.cdyt.be.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Routes connections between the primary database and its read replicas.
+ *
+ * A connection fetched for a read-only transaction goes to a healthy replica
+ * (round robin), unless:
+ * - the thread is pinned to the primary ({@link PrimaryReadContext})
+ * - the current user committed a write within the sticky window, so that users
+ * read their own writes (tracked per node)
+ * - no replica is healthy (unreachable, or lagging more than the max lag)
+ * Writes and reads outside a transaction go to the primary.
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy, so that connections are
+ * fetched on the first statement, once the transaction is set up.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    /**
+     * Why a connection went to the primary
+     */
+    public enum PrimaryRoute {
+        WRITE, NO_TRANSACTION, PINNED, STICKY, NO_HEALTHY_REPLICA, REPLICA_FAILURE
+    }
+
+    // Replication lag in ms, 0 on a primary or a replica that has replayed all it received
+    private static final String LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM clock_timestamp() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END::bigint
+            """;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMs;
+    private final Cache<Long, Boolean> stickyUsers;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<PrimaryRoute, LongAdder> primaryConnections = new EnumMap<>(PrimaryRoute.class);
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long maxLagMs,
+            Duration stickyWindow) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.maxLagMs = maxLagMs;
+        this.stickyUsers = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(100_000)
+                .build();
+        for (PrimaryRoute route : PrimaryRoute.values()) {
+            primaryConnections.put(route, new LongAdder());
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = route();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = replica.dataSource.getConnection();
+            replica.connections.increment();
+            return connection;
+        } catch (SQLException e) {
+            // Keep serving reads; the next lag check brings the replica back
+            replica.update(null, e.getMessage());
+            log.warn("Replica {} unavailable, reading from the primary: {}", replica.name, e.getMessage());
+            primaryConnections.get(PrimaryRoute.REPLICA_FAILURE).increment();
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Connection to the primary with explicit credentials; never routed, since
+     * the replica pools use credentials of their own
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Replica for the connection being fetched, or null for the primary
+     */
+    private Replica route() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return primary(PrimaryRoute.NO_TRANSACTION);
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            markStickyAfterCommit();
+            return primary(PrimaryRoute.WRITE);
+        }
+        if (PrimaryReadContext.isPinned()) {
+            return primary(PrimaryRoute.PINNED);
+        }
+        User user = UserContextHolder.getCurrentUser();
+        if (user != null && user.getId() != null && stickyUsers.getIfPresent(user.getId()) != null) {
+            return primary(PrimaryRoute.STICKY);
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return primary(PrimaryRoute.NO_HEALTHY_REPLICA);
+    }
+
+    private Replica primary(PrimaryRoute route) {
+        primaryConnections.get(route).increment();
+        return null;
+    }
+
+    /**
+     * Send the reads of the current user to the primary for the sticky window
+     * once the write transaction commits
+     */
+    private void markStickyAfterCommit() {
+        User user = UserContextHolder.getCurrentUser();
+        if (user == null || user.getId() == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Long userId = user.getId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stickyUsers.put(userId, Boolean.TRUE);
+            }
+        });
+    }
+
+    /**
+     * Measure the replication lag of every replica, excluding the unreachable
+     * ones and those lagging more than the max lag from the reads
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try {
+                Long lagMs = replica.jdbcTemplate.queryForObject(LAG_SQL, Long.class);
+                replica.update(lagMs, null);
+            } catch (RuntimeException e) {
+                replica.update(null, e.getMessage());
+                log.debug("Lag check of replica {} failed: {}", replica.name, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Record the result of a lag check (lagMs null when the replica could not
+     * be reached)
+     */
+    void recordLag(String name, Long lagMs, String error) {
+        for (Replica replica : replicas) {
+            if (replica.name.equals(name)) {
+                replica.update(lagMs, error);
+            }
+        }
+    }
+
+    /**
+     * Connections handed out per route since startup, and replica health
+     */
+    public RoutingStats getStats() {
+        Map<String, Long> primaryCounts = new LinkedHashMap<>();
+        primaryConnections.forEach((route, count) -> primaryCounts.put(route.name(), count.sum()));
+        List<ReplicaStatus> replicaStatuses = new ArrayList<>();
+        for (Replica replica : replicas) {
+            replicaStatuses.add(new ReplicaStatus(replica.name, replica.healthy, replica.lagMs,
+                    replica.connections.sum(), replica.checkedAt, replica.error));
+        }
+        return new RoutingStats(maxLagMs, stickyUsers.estimatedSize(), primaryCounts, replicaStatuses);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * Routing counters: primary connections by reason, and per replica
+     */
+    public record RoutingStats(
+            long maxLagMs,
+            long stickyUsers,
+            Map<String, Long> primaryConnections,
+            List<ReplicaStatus> replicas) {
+    }
+
+    public record ReplicaStatus(
+            String name,
+            boolean healthy,
+            Long lagMs,
+            long connections,
+            LocalDateTime checkedAt,
+            String error) {
+    }
+
+    /**
+     * A replica with its last lag check; replicas start unhealthy until a
+     * check succeeds
+     */
+    private final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private final LongAdder connections = new LongAdder();
+        private volatile boolean healthy;
+        private volatile Long lagMs;
+        private volatile LocalDateTime checkedAt;
+        private volatile String error;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.jdbcTemplate.setQueryTimeout(5);
+        }
+
+        void update(Long lagMs, String error) {
+            boolean wasHealthy = healthy;
+            this.lagMs = lagMs;
+            this.error = error;
+            this.checkedAt = LocalDateTime.now();
+            this.healthy = lagMs != null && lagMs <= maxLagMs;
+            if (wasHealthy != healthy) {
+                log.info("Replica {} is now {} (lag: {} ms{})", name, healthy ? "serving reads" : "excluded",
+                        lagMs, error != null ? ", error: " + error : "");
+            }
+        }
+    }
+}
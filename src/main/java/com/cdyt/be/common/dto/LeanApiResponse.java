@@ -0,0 +1,124 @@
+package com.cdyt.be.common.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Lean variant of {@link ApiResponse} for hot public endpoints: the same JSON
+ * shape, built from four fields only.
+ *
+ * The status flags and the timestamp are derived when the response is
+ * written, and the metadata is the caller's map as is, without the user
+ * context (requestedBy, userId, userEmail, clientIp) that ResponseUtils adds.
+ * Written field by field by {@link Serializer}, without bean introspection.
+ */
+@JsonSerialize(using = LeanApiResponse.Serializer.class)
+public final class LeanApiResponse<T> {
+
+    private final int statusCode;
+    private final T data;
+    private final String message;
+    private final Map<String, ?> metadata;
+
+    private LeanApiResponse(int statusCode, T data, String message, Map<String, ?> metadata) {
+        this.statusCode = statusCode;
+        this.data = data;
+        this.message = message;
+        this.metadata = metadata;
+    }
+
+    /**
+     * Create a successful response (200)
+     */
+    public static <T> LeanApiResponse<T> ok(T data, String message, Map<String, ?> metadata) {
+        return new LeanApiResponse<>(200, data, message, metadata);
+    }
+
+    /**
+     * Create an error response
+     */
+    public static <T> LeanApiResponse<T> error(int statusCode, String message) {
+        return new LeanApiResponse<>(statusCode, null, message, null);
+    }
+
+    private boolean isSuccess() {
+        return statusCode < 400;
+    }
+
+    public Integer getStatus() {
+        return isSuccess() ? 0 : 1;
+    }
+
+    public Integer getStatusCode() {
+        return statusCode;
+    }
+
+    public T getData() {
+        return data;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Boolean getIsOk() {
+        return isSuccess();
+    }
+
+    public Boolean getIsError() {
+        return !isSuccess();
+    }
+
+    /**
+     * Time the response is written at
+     */
+    public LocalDateTime getTimestamp() {
+        return LocalDateTime.now();
+    }
+
+    public Map<String, ?> getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * Writes the envelope in the field order of ApiResponse, leaving out null
+     * fields as ApiResponse does
+     */
+    public static final class Serializer extends StdSerializer<LeanApiResponse<?>> {
+
+        public Serializer() {
+            super(LeanApiResponse.class, false);
+        }
+
+        @Override
+        public void serialize(LeanApiResponse<?> value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            boolean success = value.isSuccess();
+            gen.writeStartObject();
+            gen.writeNumberField("status", success ? 0 : 1);
+            gen.writeNumberField("statusCode", value.statusCode);
+            if (value.data != null) {
+                gen.writeFieldName("data");
+                provider.defaultSerializeValue(value.data, gen);
+            }
+            if (value.message != null) {
+                gen.writeStringField("message", value.message);
+            }
+            gen.writeBooleanField("isOk", success);
+            gen.writeBooleanField("isError", !success);
+            gen.writeFieldName("timestamp");
+            provider.defaultSerializeValue(LocalDateTime.now(), gen);
+            if (value.metadata != null) {
+                gen.writeFieldName("metadata");
+                provider.defaultSerializeValue(value.metadata, gen);
+            }
+            gen.writeEndObject();
+        }
+    }
+}
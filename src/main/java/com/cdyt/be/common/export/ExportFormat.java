@@ -0,0 +1,38 @@
+package com.cdyt.be.common.export;
+
+import com.cdyt.be.common.exception.BusinessException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Locale;
+
+/**
+ * Formats of the streaming exports and bulk imports
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    /** One JSON object per line */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /** RFC 4180 CSV with a header row */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    /**
+     * Resolve a format from a request parameter (case-insensitive)
+     */
+    public static ExportFormat of(String value) {
+        if (value == null || value.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw BusinessException.invalidInput("Invalid format: " + value + ". Use ndjson or csv.");
+        }
+    }
+}
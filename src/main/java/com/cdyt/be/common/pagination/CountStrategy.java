@@ -0,0 +1,28 @@
+package com.cdyt.be.common.pagination;
+
+/**
+ * How the total element count of a paginated result was obtained
+ */
+public enum CountStrategy {
+
+    /**
+     * Exact count, either derived from a partial last page or counted in full
+     */
+    EXACT,
+
+    /**
+     * Exact count reused from the short-lived count cache (cached estimates
+     * and capped counts are still reported as ESTIMATED / CAPPED)
+     */
+    CACHED,
+
+    /**
+     * Planner row estimate for a large listing (EXPLAIN)
+     */
+    ESTIMATED,
+
+    /**
+     * Counting stopped at the configured limit; the total is a lower bound
+     */
+    CAPPED
+}
@@ -0,0 +1,31 @@
+package com.cdyt.be.common.pagination;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Page whose total element count carries the strategy used to compute it
+ */
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final CountStrategy countStrategy;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, CountStrategy countStrategy) {
+        super(content, pageable, total);
+        this.countStrategy = countStrategy;
+    }
+
+    public CountStrategy getCountStrategy() {
+        return countStrategy;
+    }
+
+    /**
+     * Get the count strategy of any page (plain pages are counted exactly)
+     */
+    public static CountStrategy strategyOf(Page<?> page) {
+        return page instanceof CountedPage<?> countedPage ? countedPage.getCountStrategy() : CountStrategy.EXACT;
+    }
+}
@@ -0,0 +1,156 @@
+package com.cdyt.be.common.pagination;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves total counts for paginated searches without running an unbounded
+ * SELECT COUNT(*) per request.
+ *
+ * Resolution order:
+ * 1. A partial page already tells the exact total (no query)
+ * 2. Short-TTL cache of counts keyed by the normalized filter (reported as
+ *    CACHED when the count was exact, with the original strategy otherwise),
+ *    bounded in entries
+ * 3. Planner estimate (EXPLAIN) for large unfiltered listings
+ * 4. Exact count capped at {@code pagination.count.exact-limit} rows
+ */
+@Component
+@Slf4j
+public class PageCountResolver {
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int exactLimit;
+
+    // Cache key: normalized filter -> CachedCount
+    private final Cache<String, CachedCount> cache;
+
+    public PageCountResolver(JdbcTemplate jdbcTemplate,
+            @Value("${pagination.count.exact-limit:10000}") int exactLimit,
+            @Value("${pagination.count.cache-ttl-seconds:30}") long cacheTtlSeconds,
+            @Value("${pagination.count.cache-max-size:1000}") long cacheMaxSize) {
+        this(jdbcTemplate, exactLimit, cacheTtlSeconds, cacheMaxSize, Ticker.systemTicker());
+    }
+
+    PageCountResolver(JdbcTemplate jdbcTemplate, int exactLimit, long cacheTtlSeconds, long cacheMaxSize,
+            Ticker ticker) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.exactLimit = exactLimit;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Build a page for the given content, resolving its total count.
+     *
+     * @param content       page content, already fetched without a count query
+     * @param pageable      requested page
+     * @param cacheKey      normalized filter key (see {@link #key})
+     * @param estimateSql   SELECT to estimate with EXPLAIN, or null when the
+     *                      listing is filtered and must not be estimated
+     * @param cappedCounter counts matching rows, stopping at the given limit
+     */
+    public <T> CountedPage<T> page(List<T> content, Pageable pageable, String cacheKey, String estimateSql,
+            IntToLongFunction cappedCounter) {
+        // A partial page (or the first empty one) already tells the exact total
+        if (content.size() < pageable.getPageSize() && (!content.isEmpty() || pageable.getOffset() == 0)) {
+            long total = pageable.getOffset() + content.size();
+            return new CountedPage<>(content, pageable, total, CountStrategy.EXACT);
+        }
+
+        CachedCount cached = cache.getIfPresent(cacheKey);
+        if (cached != null) {
+            log.debug("Count cache hit for key: {}", cacheKey);
+            // Estimates and lower bounds keep their meaning when reused
+            CountStrategy reported = cached.strategy() == CountStrategy.EXACT
+                    ? CountStrategy.CACHED
+                    : cached.strategy();
+            return new CountedPage<>(content, pageable, cached.total(), reported);
+        }
+
+        long total;
+        CountStrategy strategy;
+        Long estimate = estimateSql != null ? estimateRows(estimateSql) : null;
+        if (estimate != null && estimate > exactLimit) {
+            total = estimate;
+            strategy = CountStrategy.ESTIMATED;
+        } else {
+            long counted = cappedCounter.applyAsLong(exactLimit + 1);
+            if (counted > exactLimit) {
+                total = exactLimit;
+                strategy = CountStrategy.CAPPED;
+            } else {
+                total = counted;
+                strategy = CountStrategy.EXACT;
+            }
+        }
+
+        cache.put(cacheKey, new CachedCount(total, strategy));
+        return new CountedPage<>(content, pageable, total, strategy);
+    }
+
+    /**
+     * Build a normalized cache key from a query name and its filter values
+     */
+    public static String key(String queryName, Object... filters) {
+        StringBuilder key = new StringBuilder(queryName);
+        for (Object filter : filters) {
+            key.append('|');
+            if (filter instanceof String text) {
+                key.append(text.trim().toLowerCase(Locale.ROOT));
+            } else if (filter != null) {
+                key.append(filter);
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Clear all cached counts (e.g. after bulk writes)
+     */
+    public void clearAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Read the planner row estimate of the given query, or null if unavailable
+     */
+    private Long estimateRows(String sql) {
+        try {
+            List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+            if (!plan.isEmpty()) {
+                Matcher matcher = PLAN_ROWS.matcher(plan.get(0));
+                if (matcher.find()) {
+                    return Long.parseLong(matcher.group(1));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to estimate row count, falling back to capped count: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Cached count with the strategy it was resolved with
+     */
+    private record CachedCount(long total, CountStrategy strategy) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.cdyt.be.common.reconcile;
+
+/**
+ * A stored counter value that differs from its recomputed value
+ */
+public record CounterDrift(
+        long key,
+        String field,
+        long stored,
+        long actual) {
+}
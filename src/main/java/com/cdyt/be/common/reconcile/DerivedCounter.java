@@ -0,0 +1,44 @@
+package com.cdyt.be.common.reconcile;
+
+import java.util.List;
+
+/**
+ * A counter column derived from other tables (tag usage counts, article
+ * statistics...), which the reconciliation engine recomputes chunk by chunk
+ * over the key space of its table.
+ *
+ * Implementations are Spring beans; each chunk is handled on its own thread,
+ * outside any transaction.
+ */
+public interface DerivedCounter {
+
+    /**
+     * Name used by the maintenance API
+     */
+    String name();
+
+    /**
+     * Smallest and largest key of the counter rows, or null when there are
+     * none
+     */
+    KeyRange keyRange();
+
+    /**
+     * Counter values of the keys in [fromKey, toKey) that differ from the
+     * source of truth
+     */
+    List<CounterDrift> findDrift(long fromKey, long toKey);
+
+    /**
+     * Write the recomputed values of drifted rows, returning how many rows were
+     * changed (rows changed concurrently since {@link #findDrift} may be left
+     * to the next run)
+     */
+    int apply(List<CounterDrift> drifts);
+
+    /**
+     * Inclusive key range
+     */
+    record KeyRange(long min, long max) {
+    }
+}
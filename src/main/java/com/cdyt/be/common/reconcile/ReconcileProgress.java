@@ -0,0 +1,28 @@
+package com.cdyt.be.common.reconcile;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * State of a reconciliation run. Dry runs only report drift; drifts lists at
+ * most the first few drifted values found.
+ */
+public record ReconcileProgress(
+        String counter,
+        boolean dryRun,
+        String status,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt,
+        int totalChunks,
+        int completedChunks,
+        long scannedKeys,
+        long keysPerSecond,
+        long driftedValues,
+        long updatedRows,
+        String error,
+        List<CounterDrift> drifts) {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+}
@@ -1,9 +1,21 @@
 package com.cdyt.be.config;
 
+import com.cdyt.be.common.cache.SecondLevelCacheSync;
+import com.cdyt.be.common.cache.TwoTierCacheManager;
 import com.cdyt.be.util.CacheNames;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.Bean;
@@ -11,6 +23,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
@@ -18,28 +33,82 @@ import org.springframework.data.redis.serializer.RedisSerializationContext;
 @EnableCaching
 public class CacheConfig {
 
+    @Value("${cache.local.caches:}")
+    private List<String> localCaches;
+
+    @Value("${cache.local.max-size:10000}")
+    private long localMaxSize;
+
+    @Value("${cache.local.ttl-seconds:60}")
+    private long localTtlSeconds;
+
     private RedisCacheConfiguration baseConfig() {
         return RedisCacheConfiguration.defaultCacheConfig()
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                        .fromSerializer(valueSerializer()));
+    }
+
+    /**
+     * JSON values with type information, and java.time support for the DTO
+     * timestamps
+     */
+    private GenericJackson2JsonRedisSerializer valueSerializer() {
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                // DTO convenience getters (isPublished, getStatusDisplay...) are written but not read back
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        mapper.activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder().allowIfBaseType(Object.class).build(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        GenericJackson2JsonRedisSerializer.registerNullValueSerializer(mapper, null);
+        return new GenericJackson2JsonRedisSerializer(mapper);
     }
 
+    /**
+     * Redis caches, with a local L1 in front of those listed in
+     * cache.local.caches. Puts and evictions run after the transaction commits.
+     */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+            StringRedisTemplate redisTemplate) {
         Map<String, RedisCacheConfiguration> configs = new HashMap<>();
-        configs.put(CacheNames.CATEGORY_HIERARCHY, baseConfig().entryTtl(Duration.ofMinutes(30)));
         configs.put(CacheNames.ACTIVE_TAGS, baseConfig().entryTtl(Duration.ofMinutes(15)));
         configs.put(CacheNames.TOP_TAGS, baseConfig().entryTtl(Duration.ofMinutes(10)));
         configs.put(CacheNames.ARTICLE_DETAIL_ID, baseConfig().entryTtl(Duration.ofMinutes(10)));
         configs.put(CacheNames.ARTICLE_DETAIL_SLUG, baseConfig().entryTtl(Duration.ofMinutes(10)));
-        configs.put(CacheNames.ARTICLE_STATS, baseConfig().entryTtl(Duration.ofMinutes(5)));
-        configs.put(CacheNames.PUBLISHED_ARTICLE_STATS, baseConfig().entryTtl(Duration.ofMinutes(5)));
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(baseConfig().entryTtl(Duration.ofMinutes(5)))
                 .withInitialCacheConfigurations(configs)
-                .transactionAware()
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(redisCacheManager, redisTemplate,
+                new HashSet<>(localCaches), localMaxSize, Duration.ofSeconds(localTtlSeconds));
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    /**
+     * Applies L1 and second-level cache invalidations broadcast by the other
+     * nodes
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory, TwoTierCacheManager cacheManager,
+            SecondLevelCacheSync secondLevelCacheSync) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> cacheManager.onInvalidation(
+                        new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(TwoTierCacheManager.INVALIDATION_CHANNEL));
+        container.addMessageListener(
+                (message, pattern) -> secondLevelCacheSync.onInvalidation(
+                        new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(SecondLevelCacheSync.INVALIDATION_CHANNEL));
+        return container;
     }
 
     /**
@@ -50,4 +119,4 @@ public class CacheConfig {
         return (target, method, params) -> java.util.Arrays.asList(target.getClass().getSimpleName(), method.getName(),
                 params);
     }
-}
\ No newline at end of file
+}
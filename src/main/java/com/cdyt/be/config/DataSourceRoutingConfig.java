@@ -0,0 +1,87 @@
+package com.cdyt.be.config;
+
+import com.cdyt.be.common.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Read replica routing (datasource.routing.enabled): read-only transactions
+ * read from the replicas of datasource.routing.replica-urls, everything else
+ * uses the primary of spring.datasource. Without it the single auto-configured
+ * datasource is used.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Value("${datasource.routing.replica-urls}")
+    private List<String> replicaUrls;
+
+    @Value("${datasource.routing.max-lag-ms:1000}")
+    private long maxLagMs;
+
+    @Value("${datasource.routing.sticky-window-ms:5000}")
+    private long stickyWindowMs;
+
+    @Value("${datasource.routing.replica-connection-timeout-ms:2000}")
+    private long replicaConnectionTimeoutMs;
+
+    /**
+     * The primary pool, configured by spring.datasource and
+     * spring.datasource.hikari as the auto-configured one would be
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * One pool per replica, with the settings and credentials of the primary
+     * pool (started on first use) and a short connection timeout, so that a
+     * replica going down fails over quickly
+     */
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(HikariDataSource primaryDataSource) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setJdbcUrl(url.trim());
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setConnectionTimeout(replicaConnectionTimeoutMs);
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, maxLagMs,
+                Duration.ofMillis(stickyWindowMs));
+    }
+
+    /**
+     * The datasource used by JPA, JdbcTemplate and Flyway. Connections are
+     * fetched on the first statement, when the read-only flag of the
+     * transaction is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,25 @@
+package com.cdyt.be.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Fails startup when virtual threads are enabled on a JVM that has none:
+ * Spring Boot silently keeps the platform thread pools there, so a run meant
+ * to measure virtual threads would measure the fixed pools instead.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    private static final int MIN_JAVA_VERSION = 21;
+
+    public VirtualThreadsConfig() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < MIN_JAVA_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=true requires Java "
+                    + MIN_JAVA_VERSION + "+, but the application runs on Java " + javaVersion
+                    + "; unset VIRTUAL_THREADS_ENABLED or run it on a newer JVM");
+        }
+    }
+}
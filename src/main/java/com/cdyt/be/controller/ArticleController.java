@@ -3,12 +3,17 @@ package com.cdyt.be.controller;
 import com.cdyt.be.common.annotation.RequireAuth;
 import com.cdyt.be.common.controller.BaseAuthController;
 import com.cdyt.be.common.dto.ApiResponse;
+import com.cdyt.be.common.export.ExportFormat;
+import com.cdyt.be.common.pagination.CountedPage;
 import com.cdyt.be.common.util.ResponseUtils;
 import com.cdyt.be.dto.article.ArticleDetailResponseDto;
+import com.cdyt.be.dto.article.ArticleImportResult;
 import com.cdyt.be.dto.article.ArticleResponseDto;
 import com.cdyt.be.dto.article.ArticleSearchRequestDto;
 import com.cdyt.be.dto.article.CreateArticleDto;
 import com.cdyt.be.dto.article.UpdateArticleDto;
+import com.cdyt.be.service.ArticleExportService;
+import com.cdyt.be.service.ArticleImportService;
 import com.cdyt.be.service.ArticleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,9 +21,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -30,6 +41,8 @@ import java.util.Map;
 public class ArticleController extends BaseAuthController {
 
   private final ArticleService articleService;
+  private final ArticleExportService articleExportService;
+  private final ArticleImportService articleImportService;
 
   @PostMapping("/getAll")
   @Operation(summary = "Search articles with pagination and filters", description = "Search articles using POST with pagination and optional filters in request body")
@@ -41,7 +54,31 @@ public class ArticleController extends BaseAuthController {
             "totalPages", articles.getTotalPages(),
             "currentPage", articles.getNumber(),
             "pageSize", articles.getSize(),
-            "hasFilters", searchRequest.hasFilters()));
+            "hasFilters", searchRequest.hasFilters(),
+            "countStrategy", CountedPage.strategyOf(articles)));
+  }
+
+  @PostMapping("/export")
+  @Operation(summary = "Export articles", description = "Streams every article matching the search filters as NDJSON (default) or CSV. Paging fields of the request body are ignored.")
+  public ResponseEntity<StreamingResponseBody> exportArticles(
+      @Parameter(description = "Export format: ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+      @Valid @RequestBody ArticleSearchRequestDto searchRequest) {
+    ExportFormat exportFormat = ExportFormat.of(format);
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("articles." + exportFormat.getExtension()).build().toString())
+        .body(articleExportService.exportArticles(searchRequest, exportFormat));
+  }
+
+  @PostMapping("/import")
+  @Operation(summary = "Bulk import articles", description = "Imports articles streamed in the request body as NDJSON (default) or CSV with a header row (tags separated by |). Authors are matched by email (default: current user), categories by slug and tags by name; missing tags are created. All or nothing.")
+  public ResponseEntity<ApiResponse<ArticleImportResult>> importArticles(
+      @Parameter(description = "Import format: ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+      InputStream body) {
+    ArticleImportResult result = articleImportService.importArticles(body, ExportFormat.of(format));
+    return created(result, "Articles imported successfully",
+        ResponseUtils.operationMetadata("importArticles", result.importedArticles()));
   }
 
   @PostMapping("/create")
@@ -115,6 +152,24 @@ public class ArticleController extends BaseAuthController {
         Map.of("threshold", threshold, "count", articles.size()));
   }
 
+  @GetMapping("/top")
+  @Operation(summary = "Get most viewed articles", description = "Retrieves a page of the article leaderboard, optionally limited to a category (including its children) and/or a tag")
+  public ResponseEntity<ApiResponse<Page<ArticleResponseDto>>> getTopArticles(
+      @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+      @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+      @Parameter(description = "Category ID") @RequestParam(required = false) Long categoryId,
+      @Parameter(description = "Tag ID") @RequestParam(required = false) Long tagId) {
+    Page<ArticleResponseDto> articles = articleService.getTopArticles(page, size, categoryId, tagId);
+    Map<String, Object> metadata = new HashMap<>();
+    metadata.put("totalElements", articles.getTotalElements());
+    metadata.put("totalPages", articles.getTotalPages());
+    metadata.put("currentPage", articles.getNumber());
+    metadata.put("pageSize", articles.getSize());
+    metadata.put("categoryId", categoryId);
+    metadata.put("tagId", tagId);
+    return ok(articles, "Top articles retrieved successfully", metadata);
+  }
+
   @PostMapping("/update")
   @Operation(summary = "Update article", description = "Updates an existing article with automatic tag usage tracking. Only provided fields will be updated.")
   public ResponseEntity<ApiResponse<ArticleResponseDto>> updateArticle(
@@ -0,0 +1,76 @@
+package com.cdyt.be.controller;
+
+import com.cdyt.be.common.annotation.RequireAuth;
+import com.cdyt.be.common.cache.SecondLevelCacheSync;
+import com.cdyt.be.common.cache.SecondLevelCacheSync.SecondLevelCacheStats;
+import com.cdyt.be.common.controller.BaseAuthController;
+import com.cdyt.be.common.datasource.ReadWriteRoutingDataSource;
+import com.cdyt.be.common.datasource.ReadWriteRoutingDataSource.RoutingStats;
+import com.cdyt.be.common.dto.ApiResponse;
+import com.cdyt.be.common.exception.BusinessException;
+import com.cdyt.be.common.reconcile.ReconcileProgress;
+import com.cdyt.be.common.util.ResponseUtils;
+import com.cdyt.be.service.CounterReconciliationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/maintenance")
+@RequiredArgsConstructor
+@RequireAuth(checkPermissions = true)
+@Tag(name = "Maintenance", description = "APIs for data maintenance jobs")
+public class MaintenanceController extends BaseAuthController {
+
+  private final CounterReconciliationService reconciliationService;
+  private final ObjectProvider<ReadWriteRoutingDataSource> routingDataSource;
+  private final SecondLevelCacheSync secondLevelCacheSync;
+
+  @GetMapping("/counters")
+  @Operation(summary = "List derived counters", description = "Names of the derived counters that can be reconciled")
+  public ResponseEntity<ApiResponse<List<String>>> getCounters() {
+    List<String> counters = reconciliationService.getCounterNames();
+    return ok(counters, "Counters retrieved successfully", ResponseUtils.listMetadata(counters.size()));
+  }
+
+  @PostMapping("/counters/{counter}/reconcile")
+  @Operation(summary = "Reconcile a derived counter", description = "Starts recomputing a counter from its source of truth in parallel chunks. A dry run only reports the drifted values. Poll the progress with GET.")
+  public ResponseEntity<ApiResponse<ReconcileProgress>> startReconciliation(
+      @Parameter(description = "Counter name") @PathVariable String counter,
+      @Parameter(description = "Only report drift, write nothing") @RequestParam(defaultValue = "false") boolean dryRun) {
+    ReconcileProgress progress = reconciliationService.start(counter, dryRun);
+    return ok(progress, "Reconciliation started", ResponseUtils.operationMetadata("reconcile", counter));
+  }
+
+  @GetMapping("/counters/{counter}/reconcile")
+  @Operation(summary = "Get reconciliation progress", description = "Progress, throughput and drift report of the current or last run of a counter")
+  public ResponseEntity<ApiResponse<ReconcileProgress>> getReconciliationProgress(
+      @Parameter(description = "Counter name") @PathVariable String counter) {
+    return ok(reconciliationService.getProgress(counter), "Reconciliation progress retrieved successfully",
+        ResponseUtils.operationMetadata("getReconciliationProgress", counter));
+  }
+
+  @GetMapping("/datasources")
+  @Operation(summary = "Get read replica routing stats", description = "Connections routed to the primary (by reason) and to each replica, with the replica lag and health")
+  public ResponseEntity<ApiResponse<RoutingStats>> getDataSourceRouting() {
+    ReadWriteRoutingDataSource routing = routingDataSource.getIfAvailable();
+    if (routing == null) {
+      throw BusinessException.invalidState("Read replica routing is not enabled");
+    }
+    return ok(routing.getStats(), "Routing stats retrieved successfully",
+        ResponseUtils.operationMetadata("getDataSourceRouting", "datasources"));
+  }
+
+  @GetMapping("/second-level-cache")
+  @Operation(summary = "Get second-level cache stats", description = "Hibernate second-level and query cache hits, misses and hit ratios per region on this node")
+  public ResponseEntity<ApiResponse<SecondLevelCacheStats>> getSecondLevelCacheStats() {
+    return ok(secondLevelCacheSync.getStats(), "Second-level cache stats retrieved successfully",
+        ResponseUtils.operationMetadata("getSecondLevelCacheStats", "second-level-cache"));
+  }
+}
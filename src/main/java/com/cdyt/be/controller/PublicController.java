@@ -1,16 +1,25 @@
 package com.cdyt.be.controller;
 
+import com.cdyt.be.common.cache.PrecompressedResponseCache;
 import com.cdyt.be.common.controller.BaseAuthController;
 import com.cdyt.be.common.dto.ApiResponse;
+import com.cdyt.be.common.dto.LeanApiResponse;
+import com.cdyt.be.common.export.ExportFormat;
+import com.cdyt.be.common.pagination.CountedPage;
 import com.cdyt.be.common.util.ResponseUtils;
-import com.cdyt.be.dto.article.ArticleDetailResponseDto;
+import com.cdyt.be.dto.article.ArticleField;
 import com.cdyt.be.dto.article.ArticleResponseDto;
 import com.cdyt.be.dto.article.ArticlesByTagSearchRequestDto;
+import com.cdyt.be.dto.article.ProjectedArticle;
 import com.cdyt.be.dto.article.PublicArticleSearchRequestDto;
 import com.cdyt.be.dto.category.CategoryResponseDto;
+import com.cdyt.be.dto.home.HomePageResponseDto;
 import com.cdyt.be.dto.tag.TagResponseDto;
+import com.cdyt.be.service.ArticleExportService;
+import com.cdyt.be.service.ArticleDetailLoader;
 import com.cdyt.be.service.ArticleService;
 import com.cdyt.be.service.CategoryService;
+import com.cdyt.be.service.HomePageService;
 import com.cdyt.be.service.TagService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,12 +27,18 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -32,6 +47,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
@@ -40,125 +57,277 @@ import org.springframework.web.bind.annotation.RestController;
 public class PublicController extends BaseAuthController {
 
   private final ArticleService articleService;
+  private final ArticleExportService articleExportService;
   private final TagService tagService;
   private final CategoryService categoryService;
+  private final HomePageService homePageService;
+  private final PrecompressedResponseCache responseCache;
+
+  @GetMapping("/home")
+  @Operation(summary = "Get home page", description = "Categories, active tags, top used tags, popular and latest published articles in one call, read in parallel. Parts that fail or time out are null and listed in unavailableParts.")
+  public ResponseEntity<LeanApiResponse<HomePageResponseDto>> getHomePage(
+      @Parameter(description = "Number of top used tags") @RequestParam(defaultValue = "20") int topTagLimit,
+      @Parameter(description = "View count threshold of popular articles") @RequestParam(defaultValue = "100") int popularThreshold,
+      @Parameter(description = "Number of latest articles") @RequestParam(defaultValue = "10") int latestSize) {
+    if (latestSize < 1 || latestSize > 100) {
+      return leanBadRequest("latestSize must be between 1 and 100");
+    }
+    HomePageService.HomePage homePage = homePageService.getHomePage(topTagLimit, popularThreshold, latestSize);
+    HomePageResponseDto content = homePage.content();
+    return leanOk(content,
+        content.unavailableParts().isEmpty()
+            ? "Home page retrieved successfully"
+            : "Home page retrieved without " + String.join(", ", content.unavailableParts()),
+        Map.of("durationMs", homePage.durationMs(),
+            "partDurationsMs", homePage.partDurationsMs()));
+  }
 
   @GetMapping("/getAllCategories")
   @Operation(summary = "Get category hierarchy", description = "Retrieves all categories in hierarchical structure with parent-child relationships")
-  public ResponseEntity<ApiResponse<List<CategoryResponseDto>>> getCategoryHierarchy() {
+  public ResponseEntity<LeanApiResponse<List<CategoryResponseDto>>> getCategoryHierarchy(WebRequest webRequest) {
+    if (isNotModified(webRequest, "categories", categoryService.getCategoryTreeVersion())) {
+      return notModified();
+    }
     List<CategoryResponseDto> hierarchy = categoryService.getCategoryHierarchy();
-    return ok(hierarchy, "Category hierarchy retrieved successfully",
+    return leanOk(hierarchy, "Category hierarchy retrieved successfully",
         Map.of("totalRootCategories", hierarchy.size(),
             "structureType", "hierarchical"));
   }
 
+  @GetMapping("/categories/{slug}/breadcrumb")
+  @Operation(summary = "Get category breadcrumb", description = "Retrieves the path from the root category down to the given category")
+  public ResponseEntity<LeanApiResponse<List<CategoryResponseDto>>> getCategoryBreadcrumb(
+      @Parameter(description = "Category slug") @PathVariable String slug, WebRequest webRequest) {
+    if (isNotModified(webRequest, "categories", categoryService.getCategoryTreeVersion())) {
+      return notModified();
+    }
+    List<CategoryResponseDto> breadcrumb = categoryService.getCategoryBreadcrumb(slug);
+    if (breadcrumb.isEmpty()) {
+      return leanNotFound("Category not found with slug: " + slug);
+    }
+    return leanOk(breadcrumb, "Category breadcrumb retrieved successfully",
+        ResponseUtils.listMetadata(breadcrumb.size()));
+  }
+
   @GetMapping("/getAllTags")
   @Operation(summary = "Get all active tags", description = "Retrieves all active tags")
-  public ResponseEntity<ApiResponse<List<TagResponseDto>>> getAllActiveTags() {
+  public ResponseEntity<LeanApiResponse<List<TagResponseDto>>> getAllActiveTags(WebRequest webRequest) {
+    if (isNotModified(webRequest, "tags", tagService.getTagListVersion())) {
+      return notModified();
+    }
     List<TagResponseDto> tags = tagService.getAllActiveTags();
-    return ok(tags, "Active tags retrieved successfully",
+    return leanOk(tags, "Active tags retrieved successfully",
         ResponseUtils.listMetadata(tags.size()));
   }
 
   @GetMapping("/getAllTopUsedTags")
   @Operation(summary = "Get top used active tags", description = "Retrieves the most used active tags (status = 1)")
-  public ResponseEntity<ApiResponse<List<TagResponseDto>>> getTopUsedTags(
-      @Parameter(description = "Number of tags to return") @RequestParam(defaultValue = "20") int limit) {
+  public ResponseEntity<LeanApiResponse<List<TagResponseDto>>> getTopUsedTags(
+      @Parameter(description = "Number of tags to return") @RequestParam(defaultValue = "20") int limit,
+      WebRequest webRequest) {
+    if (isNotModified(webRequest, "tags-top-" + limit, tagService.getTagListVersion())) {
+      return notModified();
+    }
     List<TagResponseDto> tags = tagService.getTopUsedTags(limit);
-    return ok(tags, "Top used active tags retrieved successfully",
+    return leanOk(tags, "Top used active tags retrieved successfully",
         Map.of("limit", limit, "count", tags.size()));
   }
 
   // ========== ARTICLE ENDPOINTS ==========
 
   @PostMapping("/articles/getAll")
-  @Operation(summary = "Search published articles", description = "Search published articles with pagination, title search, and date range filtering using POST with request body")
-  public ResponseEntity<ApiResponse<Page<ArticleResponseDto>>> getAllPublishedArticles(
+  @Operation(summary = "Search published articles", description = "Search published articles with pagination, title search, and date range filtering using POST with request body. With fields (e.g. fields=id,title,slug,coverImageUrl,publishedAt) only the selected fields are read and returned.")
+  public ResponseEntity<?> getAllPublishedArticles(
+      @Parameter(description = "Comma-separated fields to return (all when omitted)") @RequestParam(required = false) String fields,
       @Valid @RequestBody PublicArticleSearchRequestDto searchRequest) {
+    if (fields != null) {
+      Set<ArticleField> selected = ArticleField.parse(fields, ArticleField.View.LIST);
+      long start = System.nanoTime();
+      Page<Map<String, Object>> articles = articleService.getPublishedArticleFields(searchRequest, selected);
+      long dbTimeMs = (System.nanoTime() - start) / 1_000_000;
+      return leanOk(articles, "Published articles search completed successfully",
+          Map.of("totalElements", articles.getTotalElements(),
+              "totalPages", articles.getTotalPages(),
+              "currentPage", articles.getNumber(),
+              "pageSize", articles.getSize(),
+              "hasFilters", searchRequest.hasFilters(),
+              "countStrategy", CountedPage.strategyOf(articles),
+              "fields", ArticleField.key(selected),
+              "dbTimeMs", dbTimeMs));
+    }
     Page<ArticleResponseDto> articles = articleService.getPublishedArticlesWithFilters(
         searchRequest);
-    return ok(articles, "Published articles search completed successfully",
+    return leanOk(articles, "Published articles search completed successfully",
         Map.of("totalElements", articles.getTotalElements(),
             "totalPages", articles.getTotalPages(),
             "currentPage", articles.getNumber(),
             "pageSize", articles.getSize(),
-            "hasFilters", searchRequest.hasFilters()));
+            "hasFilters", searchRequest.hasFilters(),
+            "countStrategy", CountedPage.strategyOf(articles)));
+  }
+
+  @PostMapping("/articles/export")
+  @Operation(summary = "Export published articles", description = "Streams every published article matching the title search and date range as NDJSON (default) or CSV. Paging fields of the request body are ignored.")
+  public ResponseEntity<StreamingResponseBody> exportPublishedArticles(
+      @Parameter(description = "Export format: ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+      @Valid @RequestBody PublicArticleSearchRequestDto searchRequest) {
+    ExportFormat exportFormat = ExportFormat.of(format);
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+            .filename("published-articles." + exportFormat.getExtension()).build().toString())
+        .body(articleExportService.exportPublishedArticles(searchRequest, exportFormat));
   }
 
   @GetMapping("/articles/{slug}")
-  @Operation(summary = "Get published article by slug", description = "Retrieves a published article by its slug with full details")
-  public ResponseEntity<ApiResponse<ArticleDetailResponseDto>> getPublishedArticleBySlug(
-      @Parameter(description = "Article slug") @PathVariable String slug) {
+  @Operation(summary = "Get published article by slug", description = "Retrieves a published article by its slug with full details, or only the selected fields")
+  public ResponseEntity<?> getPublishedArticleBySlug(
+      @Parameter(description = "Article slug") @PathVariable String slug,
+      @Parameter(description = "Comma-separated fields to return (all when omitted)") @RequestParam(required = false) String fields,
+      WebRequest webRequest) {
+    if (fields != null) {
+      Set<ArticleField> selected = ArticleField.parse(fields, ArticleField.View.DETAIL);
+      long start = System.nanoTime();
+      return articleService.getPublishedArticleFieldsBySlug(slug, selected)
+          .<ResponseEntity<?>>map(article -> projectedArticle(article, selected, start, webRequest))
+          .orElse(leanNotFound("Published article not found with slug: " + slug));
+    }
     return articleService.getPublishedArticleBySlug(slug)
-        .map(article -> {
+        .<ResponseEntity<?>>map(article -> {
+          long version = articleVersion(article.getUpdatedAt(), article.getCreatedAt());
+          // Client copy still current: no body and no new view
+          if (isNotModified(webRequest, "article-" + article.getId(), version)) {
+            return notModified();
+          }
           // Ghi nhận view
           String ip = getClientIpAddress();
           articleService.recordView(article.getId(), ip);
-          return ok(article, "Article found successfully",
-              ResponseUtils.operationMetadata("getPublishedArticleBySlug", slug));
+          return ok(responseCache.get(ArticleDetailLoader.responseKey(slug), version,
+              () -> ApiResponse.success(article, "Article found successfully",
+                  ResponseUtils.operationMetadata("getPublishedArticleBySlug", slug))), webRequest);
         })
-        .orElse(notFound("Published article not found with slug: " + slug));
+        .orElse(leanNotFound("Published article not found with slug: " + slug));
   }
 
   @GetMapping("/articles/id/{id}")
-  @Operation(summary = "Get published article by ID", description = "Retrieves a published article by its ID with full details")
-  public ResponseEntity<ApiResponse<ArticleDetailResponseDto>> getPublishedArticleById(
-      @Parameter(description = "Article ID") @PathVariable Long id) {
+  @Operation(summary = "Get published article by ID", description = "Retrieves a published article by its ID with full details, or only the selected fields")
+  public ResponseEntity<?> getPublishedArticleById(
+      @Parameter(description = "Article ID") @PathVariable Long id,
+      @Parameter(description = "Comma-separated fields to return (all when omitted)") @RequestParam(required = false) String fields,
+      WebRequest webRequest) {
+    if (fields != null) {
+      Set<ArticleField> selected = ArticleField.parse(fields, ArticleField.View.DETAIL);
+      long start = System.nanoTime();
+      return articleService.getPublishedArticleFieldsById(id, selected)
+          .<ResponseEntity<?>>map(article -> projectedArticle(article, selected, start, webRequest))
+          .orElse(leanNotFound("Published article not found with ID: " + id));
+    }
     return articleService.getPublishedArticleById(id)
-        .map(article -> {
+        .<ResponseEntity<?>>map(article -> {
+          long version = articleVersion(article.getUpdatedAt(), article.getCreatedAt());
+          if (isNotModified(webRequest, "article-" + article.getId(), version)) {
+            return notModified();
+          }
           String ip = getClientIpAddress();
           articleService.recordView(article.getId(), ip);
-          return ok(article, "Article found successfully",
-              ResponseUtils.operationMetadata("getPublishedArticleById", id));
+          return ok(responseCache.get(ArticleDetailLoader.responseKey(id), version,
+              () -> ApiResponse.success(article, "Article found successfully",
+                  ResponseUtils.operationMetadata("getPublishedArticleById", id))), webRequest);
         })
-        .orElse(notFound("Published article not found with ID: " + id));
+        .orElse(leanNotFound("Published article not found with ID: " + id));
+  }
+
+  /**
+   * Version of a published article for conditional GETs and the response
+   * cache. Its body embeds category and tag names, so renaming a category or
+   * a tag changes it too (tag usage counts do not).
+   */
+  private long articleVersion(LocalDateTime updatedAt, LocalDateTime createdAt) {
+    return latestVersion(versionOf(updatedAt, createdAt), categoryService.getCategoryTreeVersion(),
+        tagService.getTagNamesVersion());
+  }
+
+  /**
+   * Response of a published article read with a field selection (not
+   * pre-serialized: the selections are too many to cache)
+   */
+  private ResponseEntity<?> projectedArticle(ProjectedArticle article,
+      Set<ArticleField> fields, long start, WebRequest webRequest) {
+    long dbTimeMs = (System.nanoTime() - start) / 1_000_000;
+    long version = articleVersion(article.updatedAt(), article.createdAt());
+    String key = ArticleField.key(fields);
+    if (isNotModified(webRequest, "article-" + article.id() + "-" + key, version)) {
+      return notModified();
+    }
+    articleService.recordView(article.id(), getClientIpAddress());
+    return leanOk(article.fields(), "Article found successfully",
+        Map.of("fields", key, "dbTimeMs", dbTimeMs));
   }
 
   @GetMapping("/articles/category/{categoryId}")
   @Operation(summary = "Get published articles by category", description = "Retrieves published articles from the specified category and all its child categories")
-  public ResponseEntity<ApiResponse<List<ArticleResponseDto>>> getPublishedArticlesByCategory(
+  public ResponseEntity<LeanApiResponse<List<ArticleResponseDto>>> getPublishedArticlesByCategory(
       @Parameter(description = "Category ID") @PathVariable Long categoryId) {
     List<ArticleResponseDto> articles = articleService.getPublishedArticlesByCategory(categoryId);
-    return ok(articles, "Published articles by category retrieved successfully",
+    return leanOk(articles, "Published articles by category retrieved successfully",
         Map.of("categoryId", categoryId, "count", articles.size(), "includesChildCategories", true));
   }
 
   @GetMapping("/articles/popular")
   @Operation(summary = "Get popular published articles", description = "Retrieves published articles with high view count")
-  public ResponseEntity<ApiResponse<List<ArticleResponseDto>>> getPopularPublishedArticles(
+  public ResponseEntity<LeanApiResponse<List<ArticleResponseDto>>> getPopularPublishedArticles(
       @Parameter(description = "View count threshold") @RequestParam(defaultValue = "100") Integer threshold) {
     List<ArticleResponseDto> articles = articleService.getPopularPublishedArticles(threshold);
-    return ok(articles, "Popular published articles retrieved successfully",
+    return leanOk(articles, "Popular published articles retrieved successfully",
         Map.of("threshold", threshold, "count", articles.size()));
   }
 
+  @GetMapping("/articles/top")
+  @Operation(summary = "Get most viewed published articles", description = "Retrieves a page of the published article leaderboard, optionally limited to a category (including its children) and/or a tag")
+  public ResponseEntity<LeanApiResponse<Page<ArticleResponseDto>>> getTopPublishedArticles(
+      @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+      @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+      @Parameter(description = "Category ID") @RequestParam(required = false) Long categoryId,
+      @Parameter(description = "Tag ID") @RequestParam(required = false) Long tagId) {
+    Page<ArticleResponseDto> articles = articleService.getTopPublishedArticles(page, size, categoryId, tagId);
+    Map<String, Object> metadata = new HashMap<>();
+    metadata.put("totalElements", articles.getTotalElements());
+    metadata.put("totalPages", articles.getTotalPages());
+    metadata.put("currentPage", articles.getNumber());
+    metadata.put("pageSize", articles.getSize());
+    metadata.put("categoryId", categoryId);
+    metadata.put("tagId", tagId);
+    return leanOk(articles, "Top published articles retrieved successfully", metadata);
+  }
+
   @GetMapping("/articles/search")
   @Operation(summary = "Search published articles", description = "Search published articles by title")
-  public ResponseEntity<ApiResponse<List<ArticleResponseDto>>> searchPublishedArticles(
+  public ResponseEntity<LeanApiResponse<List<ArticleResponseDto>>> searchPublishedArticles(
       @Parameter(description = "Search query") @RequestParam String query) {
     List<ArticleResponseDto> articles = articleService.searchPublishedArticlesByTitle(query);
-    return ok(articles, "Published articles search completed successfully",
+    return leanOk(articles, "Published articles search completed successfully",
         Map.of("query", query, "count", articles.size()));
   }
 
   @GetMapping("/articles/stats")
   @Operation(summary = "Get published article statistics", description = "Retrieves statistics for published articles only")
-  public ResponseEntity<ApiResponse<Map<String, Object>>> getPublishedArticleStats() {
+  public ResponseEntity<LeanApiResponse<Map<String, Object>>> getPublishedArticleStats() {
     Map<String, Object> stats = articleService.getPublishedArticleStats();
-    return ok(stats, "Published article statistics retrieved successfully", null);
+    return leanOk(stats, "Published article statistics retrieved successfully", null);
   }
 
   @PostMapping("/articles/tag")
   @Operation(summary = "Get published articles by tag", description = "Search published articles by tag with pagination, title search, and published date range filtering")
-  public ResponseEntity<ApiResponse<Page<ArticleResponseDto>>> getPublishedArticlesByTag(
+  public ResponseEntity<LeanApiResponse<Page<ArticleResponseDto>>> getPublishedArticlesByTag(
       @Valid @RequestBody ArticlesByTagSearchRequestDto searchRequest) {
     Page<ArticleResponseDto> articles = articleService.getPublishedArticlesByTag(searchRequest);
-    return ok(articles, "Published articles by tag retrieved successfully",
+    return leanOk(articles, "Published articles by tag retrieved successfully",
         Map.of("tagId", searchRequest.getTagId(),
             "totalElements", articles.getTotalElements(),
             "totalPages", articles.getTotalPages(),
             "currentPage", articles.getNumber(),
             "pageSize", articles.getSize(),
-            "hasFilters", searchRequest.hasFilters()));
+            "hasFilters", searchRequest.hasFilters(),
+            "countStrategy", CountedPage.strategyOf(articles)));
   }
 }
@@ -57,7 +57,6 @@ public class UserController extends BaseAuthController {
 
     // Check ownership (like checkIsOwner in .NET)
     boolean isOwner = id.equals(currentUser.getId());
-    setOwner(isOwner);
 
     return userService.getUserById(id)
         .map(user -> ResponseEntity.ok(Map.of(
@@ -192,7 +191,7 @@ public class UserController extends BaseAuthController {
     User currentUser = getCurrentUser();
     String clientIp = getClientIpAddress();
     AuthResult authResult = getAuthResult();
-    boolean isOwner = this.isOwner; // Access the isOwner field directly
+    boolean isOwner = false; // Ownership is checked per resource
 
     // Demonstrate full context access (equivalent to your .NET userToken,
     // ResultCheckToken, etc.)
@@ -0,0 +1,28 @@
+package com.cdyt.be.dto.article;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One exported article (list fields, no content), read straight from a
+ * database cursor
+ */
+public record ArticleExportRow(
+        Long id,
+        String title,
+        String slug,
+        String summary,
+        Long authorId,
+        String authorName,
+        Long categoryId,
+        String categoryName,
+        List<String> tags,
+        String coverImageUrl,
+        Integer status,
+        LocalDateTime publishedAt,
+        Integer viewCount,
+        Integer likeCount,
+        Integer commentCount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,98 @@
+package com.cdyt.be.dto.article;
+
+import com.cdyt.be.common.exception.BusinessException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fields that can be selected with the {@code fields} parameter of the public
+ * article endpoints, named as in {@link ArticleResponseDto} (list) and
+ * {@link ArticleDetailResponseDto} (detail). Selected fields are written in
+ * declaration order.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ArticleField {
+
+    ID("id", true, true),
+    TITLE("title", true, true),
+    SLUG("slug", true, true),
+    SUMMARY("summary", true, true),
+    CONTENT("content", false, true),
+    AUTHOR_ID("authorId", true, false),
+    AUTHOR_NAME("authorName", true, false),
+    AUTHOR("author", false, true),
+    CATEGORY_ID("categoryId", true, false),
+    CATEGORY_NAME("categoryName", true, false),
+    CATEGORY("category", false, true),
+    TAGS("tags", true, true),
+    COVER_IMAGE_URL("coverImageUrl", true, true),
+    STATUS("status", true, true),
+    PUBLISHED_AT("publishedAt", true, true),
+    VIEW_COUNT("viewCount", true, true),
+    LIKE_COUNT("likeCount", true, true),
+    COMMENT_COUNT("commentCount", true, true),
+    SEO_TITLE("seoTitle", false, true),
+    SEO_DESCRIPTION("seoDescription", false, true),
+    SEO_KEYWORDS("seoKeywords", false, true),
+    CREATED_AT("createdAt", true, true),
+    UPDATED_AT("updatedAt", true, true);
+
+    /**
+     * Response the fields are selected for
+     */
+    public enum View {
+        LIST, DETAIL
+    }
+
+    private final String jsonName;
+    private final boolean inList;
+    private final boolean inDetail;
+
+    public boolean isIn(View view) {
+        return view == View.LIST ? inList : inDetail;
+    }
+
+    /**
+     * Parse a comma-separated field list (e.g. "id,title,slug,coverImageUrl,publishedAt")
+     */
+    public static Set<ArticleField> parse(String fields, View view) {
+        Set<ArticleField> selected = EnumSet.noneOf(ArticleField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            ArticleField field = Arrays.stream(values())
+                    .filter(candidate -> candidate.jsonName.equals(trimmed) && candidate.isIn(view))
+                    .findFirst()
+                    .orElseThrow(() -> BusinessException.invalidInput("Unknown field: " + trimmed +
+                            ". Use any of " + names(view)));
+            selected.add(field);
+        }
+        if (selected.isEmpty()) {
+            throw BusinessException.invalidInput("No fields selected. Use any of " + names(view));
+        }
+        return selected;
+    }
+
+    /**
+     * Stable key of a field selection (e.g. for response versions), the same
+     * whatever the order the fields were requested in
+     */
+    public static String key(Set<ArticleField> fields) {
+        return fields.stream().map(ArticleField::getJsonName).collect(Collectors.joining(","));
+    }
+
+    private static String names(View view) {
+        return Arrays.stream(values())
+                .filter(field -> field.isIn(view))
+                .map(ArticleField::getJsonName)
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,11 @@
+package com.cdyt.be.dto.article;
+
+/**
+ * Outcome of a bulk article import
+ */
+public record ArticleImportResult(
+        int importedArticles,
+        int createdTags,
+        int linkedTags,
+        long durationMs) {
+}
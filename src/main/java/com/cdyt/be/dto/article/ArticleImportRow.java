@@ -0,0 +1,28 @@
+package com.cdyt.be.dto.article;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One article of a bulk import (an NDJSON object or a CSV row, tags separated
+ * by "|" in CSV). Slugs are generated from the titles; authors are matched by
+ * email (default: the importing user), categories by slug and tags by name.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ArticleImportRow(
+        String title,
+        String summary,
+        String content,
+        String coverImageUrl,
+        Integer status,
+        LocalDateTime publishedAt,
+        String authorEmail,
+        String categorySlug,
+        List<String> tags,
+        String seoTitle,
+        String seoDescription,
+        String seoKeywords,
+        Integer viewCount) {
+}
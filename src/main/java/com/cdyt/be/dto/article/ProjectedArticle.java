@@ -0,0 +1,13 @@
+package com.cdyt.be.dto.article;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A published article read with a field selection: the selected fields by
+ * name (see {@link ArticleField}), plus the id and timestamps used for tag
+ * lookups and response versions
+ */
+public record ProjectedArticle(long id, LocalDateTime createdAt, LocalDateTime updatedAt,
+        Map<String, Object> fields) {
+}
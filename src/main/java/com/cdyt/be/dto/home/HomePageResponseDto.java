@@ -0,0 +1,22 @@
+package com.cdyt.be.dto.home;
+
+import com.cdyt.be.dto.article.ArticleResponseDto;
+import com.cdyt.be.dto.category.CategoryResponseDto;
+import com.cdyt.be.dto.tag.TagResponseDto;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Everything the home page shows, read in parallel. A part that failed or
+ * timed out is null and listed in unavailableParts; the others are returned
+ * as usual.
+ */
+public record HomePageResponseDto(
+        List<CategoryResponseDto> categories,
+        List<TagResponseDto> tags,
+        List<TagResponseDto> topTags,
+        List<ArticleResponseDto> popularArticles,
+        Page<ArticleResponseDto> latestArticles,
+        List<String> unavailableParts) {
+}
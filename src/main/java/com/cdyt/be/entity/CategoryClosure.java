@@ -0,0 +1,24 @@
+package com.cdyt.be.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Closure table of the category hierarchy: one row per (ancestor, descendant)
+ * pair, including the (category, category) row at depth 0. Rows are maintained
+ * by {@link com.cdyt.be.service.CategoryService} and only exist for
+ * non-deleted categories.
+ */
+@Entity
+@Table(name = "category_closure")
+@Getter
+@Setter
+public class CategoryClosure {
+
+    @EmbeddedId
+    private CategoryClosureId id = new CategoryClosureId();
+
+    @Column(name = "depth", nullable = false)
+    private Integer depth;
+}
@@ -3,6 +3,8 @@ package com.cdyt.be.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 /**
@@ -15,6 +17,8 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
  */
 @Entity
 @Table(name = "function")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "function")
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -0,0 +1,45 @@
+package com.cdyt.be.mapper;
+
+import com.cdyt.be.entity.Category;
+import com.cdyt.be.entity.Tag;
+import com.cdyt.be.entity.User;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Authors, categories and tags pre-loaded for a whole page of articles.
+ * List mapping reads from these maps instead of touching the LAZY
+ * associations of every article.
+ */
+public class ArticleAssociations {
+
+    private static final ArticleAssociations EMPTY = new ArticleAssociations(Map.of(), Map.of(), Map.of());
+
+    private final Map<Long, User> authorsById;
+    private final Map<Long, Category> categoriesById;
+    private final Map<Long, List<Tag>> tagsByArticleId;
+
+    public ArticleAssociations(Map<Long, User> authorsById, Map<Long, Category> categoriesById,
+            Map<Long, List<Tag>> tagsByArticleId) {
+        this.authorsById = authorsById;
+        this.categoriesById = categoriesById;
+        this.tagsByArticleId = tagsByArticleId;
+    }
+
+    public static ArticleAssociations empty() {
+        return EMPTY;
+    }
+
+    public User getAuthor(Long authorId) {
+        return authorId != null ? authorsById.get(authorId) : null;
+    }
+
+    public Category getCategory(Long categoryId) {
+        return categoryId != null ? categoriesById.get(categoryId) : null;
+    }
+
+    public List<Tag> getTags(Long articleId) {
+        return tagsByArticleId.getOrDefault(articleId, List.of());
+    }
+}
@@ -9,6 +9,7 @@ import com.cdyt.be.entity.Tag;
 import com.cdyt.be.entity.User;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,20 +23,39 @@ public class ArticleMapper {
         if (article == null) {
             return null;
         }
+        return toResponseDto(article, article.getAuthor(), article.getCategory(), article.getTags());
+    }
+
+    /**
+     * Convert Article entity to ArticleResponseDto using pre-loaded associations
+     * instead of the lazy ones on the entity
+     */
+    public ArticleResponseDto toResponseDto(Article article, ArticleAssociations associations) {
+        if (article == null) {
+            return null;
+        }
+        User author = article.getAuthor() != null ? associations.getAuthor(article.getAuthor().getId()) : null;
+        Category category = article.getCategory() != null
+                ? associations.getCategory(article.getCategory().getId())
+                : null;
+        return toResponseDto(article, author, category, associations.getTags(article.getId()));
+    }
 
+    private ArticleResponseDto toResponseDto(Article article, User author, Category category,
+            Collection<Tag> tags) {
         ArticleResponseDto dto = new ArticleResponseDto();
         dto.setId(article.getId());
         dto.setTitle(article.getTitle());
         dto.setSlug(article.getSlug());
         dto.setSummary(article.getSummary());
-        dto.setAuthorId(article.getAuthor() != null ? article.getAuthor().getId() : null);
-        dto.setAuthorName(article.getAuthor() != null ? article.getAuthor().getFullName() : null);
-        dto.setCategoryId(article.getCategory() != null ? article.getCategory().getId() : null);
-        dto.setCategoryName(article.getCategory() != null ? article.getCategory().getName() : null);
+        dto.setAuthorId(author != null ? author.getId() : null);
+        dto.setAuthorName(author != null ? author.getFullName() : null);
+        dto.setCategoryId(category != null ? category.getId() : null);
+        dto.setCategoryName(category != null ? category.getName() : null);
 
         // Map tags for list view (basic info only)
-        if (article.getTags() != null && !article.getTags().isEmpty()) {
-            List<ArticleResponseDto.TagInfo> tagInfos = article.getTags().stream()
+        if (tags != null && !tags.isEmpty()) {
+            List<ArticleResponseDto.TagInfo> tagInfos = tags.stream()
                     .map(tag -> {
                         ArticleResponseDto.TagInfo tagInfo = new ArticleResponseDto.TagInfo();
                         tagInfo.setId(tag.getId());
@@ -179,6 +199,20 @@ public class ArticleMapper {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Convert list of Article entities to list of ArticleResponseDto using
+     * associations loaded for the whole list
+     */
+    public List<ArticleResponseDto> toResponseDtoList(List<Article> articles, ArticleAssociations associations) {
+        if (articles == null) {
+            return null;
+        }
+
+        return articles.stream()
+                .map(article -> toResponseDto(article, associations))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Convert list of Article entities to list of ArticleDetailResponseDto (for
      * detailed views)
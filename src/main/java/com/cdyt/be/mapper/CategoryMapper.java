@@ -1,17 +1,27 @@
 package com.cdyt.be.mapper;
 
+import com.cdyt.be.common.cache.CategoryTreeCache;
+import com.cdyt.be.common.cache.CategoryTreeSnapshot;
 import com.cdyt.be.dto.category.CategoryResponseDto;
 import com.cdyt.be.dto.category.CreateCategoryDto;
 import com.cdyt.be.dto.category.UpdateCategoryDto;
 import com.cdyt.be.entity.Category;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Component
+@RequiredArgsConstructor
 public class CategoryMapper {
 
+  private final CategoryTreeCache categoryTreeCache;
+
   /**
    * Convert Category entity to CategoryResponseDto
    */
@@ -28,6 +38,22 @@ public class CategoryMapper {
     dto.setDisplayOrder(category.getDisplayOrder());
     dto.setStatus(category.getStatus());
    
+    // Tree data comes from the snapshot unless the entity has changed since it was built
+    CategoryTreeSnapshot snapshot = categoryTreeCache.get();
+    CategoryTreeSnapshot.Node node = snapshot.getNode(category.getId());
+    Long parentId = category.getParent() != null ? category.getParent().getId() : null;
+    if (node != null && Objects.equals(node.getName(), category.getName())
+        && Objects.equals(node.getParentId(), parentId)) {
+      CategoryTreeSnapshot.Node parent = snapshot.getNode(parentId);
+      dto.setParentId(parentId);
+      dto.setParentName(parent != null ? parent.getName() : null);
+      dto.setFullPath(node.getFullPath());
+      dto.setDepthLevel(node.getDepth());
+      dto.setHasChildren(node.hasChildren());
+      dto.setIsRootCategory(parentId == null);
+      return dto;
+    }
+
     // Parent information
     if (category.getParent() != null) {
       dto.setParentId(category.getParent().getId());
@@ -44,22 +70,72 @@ public class CategoryMapper {
   }
 
   /**
-   * Convert Category entity to CategoryResponseDto with children
+   * Convert a category tree snapshot node to CategoryResponseDto (no queries)
    */
-  public CategoryResponseDto toResponseDtoWithChildren(Category category) {
-    CategoryResponseDto dto = toResponseDto(category);
-
-    if (category.getChildren() != null && !category.getChildren().isEmpty()) {
-      List<CategoryResponseDto> childrenDtos = category.getChildren().stream()
-          .filter(child -> !child.getIsDeleted())
-          .map(this::toResponseDtoWithChildren) // Recursive for nested children
-          .collect(Collectors.toList());
-      dto.setChildren(childrenDtos);
+  public CategoryResponseDto toResponseDto(CategoryTreeSnapshot snapshot, CategoryTreeSnapshot.Node node) {
+    if (node == null) {
+      return null;
     }
 
+    CategoryResponseDto dto = new CategoryResponseDto();
+    dto.setId(node.getId());
+    dto.setName(node.getName());
+    dto.setSlug(node.getSlug());
+    dto.setDescription(node.getDescription());
+    dto.setDisplayOrder(node.getDisplayOrder());
+    dto.setStatus(node.getStatus());
+
+    CategoryTreeSnapshot.Node parent = snapshot.getNode(node.getParentId());
+    dto.setParentId(node.getParentId());
+    dto.setParentName(parent != null ? parent.getName() : null);
+
+    dto.setFullPath(node.getFullPath());
+    dto.setDepthLevel(node.getDepth());
+    dto.setHasChildren(node.hasChildren());
+    dto.setIsRootCategory(node.getParentId() == null);
+
     return dto;
   }
 
+  /**
+   * Convert snapshot nodes to CategoryResponseDto list (no queries)
+   */
+  public List<CategoryResponseDto> toResponseDtoList(CategoryTreeSnapshot snapshot,
+      List<CategoryTreeSnapshot.Node> nodes) {
+    return nodes.stream()
+        .map(node -> toResponseDto(snapshot, node))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Convert snapshot nodes to CategoryResponseDto list with children (no
+   * queries). Each subtree is visited once in pre-order, so every parent DTO is
+   * already in the id -> DTO map when its children are attached.
+   */
+  public List<CategoryResponseDto> toResponseDtoListWithChildren(CategoryTreeSnapshot snapshot,
+      List<CategoryTreeSnapshot.Node> nodes) {
+    List<CategoryResponseDto> result = new ArrayList<>(nodes.size());
+    Map<Long, CategoryResponseDto> dtosById = new HashMap<>();
+
+    for (CategoryTreeSnapshot.Node subtreeRoot : nodes) {
+      for (CategoryTreeSnapshot.Node node : snapshot.getSubtree(subtreeRoot)) {
+        CategoryResponseDto dto = toResponseDto(snapshot, node);
+        dtosById.put(node.getId(), dto);
+
+        if (node == subtreeRoot) {
+          result.add(dto);
+          continue;
+        }
+        CategoryResponseDto parentDto = dtosById.get(node.getParentId());
+        if (parentDto.getChildren() == null) {
+          parentDto.setChildren(new ArrayList<>());
+        }
+        parentDto.getChildren().add(dto);
+      }
+    }
+    return result;
+  }
+
   /**
    * Convert Category entity to CategoryResponseDto without children (for performance)
    */
@@ -124,11 +200,13 @@ public class CategoryMapper {
   }
 
   /**
-   * Convert list of Category entities to list of CategoryResponseDto with children
+   * Assemble the category hierarchy from a flat list of categories (one query,
+   * no lazy loading). The tree is built in O(n) through an id -> node map; the
+   * list must be in display order, roots are the categories without a (listed)
+   * parent.
    */
   public List<CategoryResponseDto> toResponseDtoListWithChildren(List<Category> categories) {
-    return categories.stream()
-        .map(this::toResponseDtoWithChildren)
-        .collect(Collectors.toList());
+    CategoryTreeSnapshot tree = CategoryTreeSnapshot.build(categories, 0);
+    return toResponseDtoListWithChildren(tree, tree.getRoots());
   }
 }
\ No newline at end of file
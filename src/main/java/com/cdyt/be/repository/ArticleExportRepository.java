@@ -0,0 +1,121 @@
+package com.cdyt.be.repository;
+
+import com.cdyt.be.dto.article.ArticleExportRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streams articles for export through a forward-only database cursor.
+ *
+ * Rows are fetched {@code article.export.fetch-size} at a time inside a
+ * read-only transaction (PostgreSQL only uses a cursor when auto-commit is
+ * off) and handed to the consumer one by one, so memory use does not depend
+ * on the number of exported rows. The filters are the same WHERE clauses as
+ * the paginated searches of {@link ArticleRepository}.
+ */
+@Repository
+public class ArticleExportRepository {
+
+    private static final String EXPORT_COLUMNS = "SELECT a.id, a.title, a.slug, a.summary, " +
+            "a.author_id, u.full_name AS author_name, a.category_id, c.name AS category_name, " +
+            "ARRAY(SELECT t.name FROM article_tag at JOIN tags t ON t.id = at.tag_id " +
+            "WHERE at.article_id = a.id ORDER BY t.name) AS tag_names, " +
+            "a.cover_image_url, a.status, a.published_at, a.view_count, a.like_count, a.comment_count, " +
+            "a.created_at, a.updated_at " +
+            "FROM article a " +
+            "LEFT JOIN users u ON u.id = a.author_id " +
+            "LEFT JOIN categories c ON c.id = a.category_id " +
+            "WHERE ";
+
+    private static final String ARTICLES_EXPORT_SQL = EXPORT_COLUMNS + ArticleRepository.ARTICLE_SEARCH_FILTERS +
+            "ORDER BY a.created_at DESC, a.title ASC";
+
+    private static final String PUBLISHED_ARTICLES_EXPORT_SQL = EXPORT_COLUMNS +
+            ArticleRepository.PUBLISHED_ARTICLE_FILTERS +
+            "ORDER BY a.published_at DESC, a.id DESC";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ArticleExportRepository(DataSource dataSource, PlatformTransactionManager transactionManager,
+            @Value("${article.export.fetch-size:500}") int fetchSize) {
+        JdbcTemplate cursorTemplate = new JdbcTemplate(dataSource);
+        cursorTemplate.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(cursorTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Stream non-deleted articles matching the admin search filters (null = not
+     * filtered), newest first
+     */
+    public void streamArticles(String title, Integer status, Long authorId, Long categoryId,
+            Integer minViewCount, Integer maxViewCount, Consumer<ArticleExportRow> consumer) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("title", title, Types.VARCHAR)
+                .addValue("status", status, Types.INTEGER)
+                .addValue("authorId", authorId, Types.BIGINT)
+                .addValue("categoryId", categoryId, Types.BIGINT)
+                .addValue("minViewCount", minViewCount, Types.INTEGER)
+                .addValue("maxViewCount", maxViewCount, Types.INTEGER);
+        stream(ARTICLES_EXPORT_SQL, parameters, consumer);
+    }
+
+    /**
+     * Stream published articles matching the public search filters (null = not
+     * filtered), in the half-open range [publishedFrom, publishedTo), latest
+     * first
+     */
+    public void streamPublishedArticles(String title, LocalDateTime publishedFrom, LocalDateTime publishedTo,
+            Consumer<ArticleExportRow> consumer) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("title", title, Types.VARCHAR)
+                .addValue("publishedFrom", publishedFrom, Types.TIMESTAMP)
+                .addValue("publishedTo", publishedTo, Types.TIMESTAMP);
+        stream(PUBLISHED_ARTICLES_EXPORT_SQL, parameters, consumer);
+    }
+
+    private void stream(String sql, MapSqlParameterSource parameters, Consumer<ArticleExportRow> consumer) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, parameters,
+                (RowCallbackHandler) rs -> consumer.accept(mapRow(rs))));
+    }
+
+    private static ArticleExportRow mapRow(ResultSet rs) throws SQLException {
+        Array tagNames = rs.getArray("tag_names");
+        List<String> tags = tagNames != null ? List.of((String[]) tagNames.getArray()) : List.of();
+        return new ArticleExportRow(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("slug"),
+                rs.getString("summary"),
+                rs.getObject("author_id", Long.class),
+                rs.getString("author_name"),
+                rs.getObject("category_id", Long.class),
+                rs.getString("category_name"),
+                tags,
+                rs.getString("cover_image_url"),
+                rs.getInt("status"),
+                rs.getObject("published_at", LocalDateTime.class),
+                rs.getInt("view_count"),
+                rs.getInt("like_count"),
+                rs.getInt("comment_count"),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class));
+    }
+}
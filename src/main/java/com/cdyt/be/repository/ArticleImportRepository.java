@@ -0,0 +1,360 @@
+package com.cdyt.be.repository;
+
+import com.cdyt.be.dto.article.ArticleImportRow;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Set-based steps of the bulk article import. All of them must run in one
+ * transaction: rows are staged with a binary COPY into a temporary table
+ * dropped on commit, then resolved and inserted with a few statements
+ * whatever the number of rows.
+ */
+@Repository
+public class ArticleImportRepository {
+
+    // Separates the tag names / slugs of a staged row (cannot occur in tag names)
+    private static final String TAG_SEPARATOR = "\u001f";
+
+    // Rows of unresolved references reported back
+    private static final int REPORTED_LINES = 10;
+
+    private static final String CREATE_STAGING_SQL = """
+            CREATE TEMP TABLE article_import (
+                line_no         bigint  NOT NULL,
+                title           text    NOT NULL,
+                base_slug       text    NOT NULL,
+                summary         text,
+                content         text,
+                cover_image_url text,
+                status          integer NOT NULL,
+                published_at    timestamp,
+                author_email    text,
+                category_slug   text,
+                tag_names       text,
+                tag_slugs       text,
+                seo_title       text,
+                seo_description text,
+                seo_keywords    text,
+                view_count      integer NOT NULL,
+                slug            text,
+                author_id       bigint,
+                category_id     bigint
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_SQL = "COPY article_import (line_no, title, base_slug, summary, content, " +
+            "cover_image_url, status, published_at, author_email, category_slug, tag_names, tag_slugs, " +
+            "seo_title, seo_description, seo_keywords, view_count) FROM STDIN (FORMAT binary)";
+
+    private static final int COPY_COLUMNS = 16;
+
+    // Split tag lists of the staged rows (slug, name), one row per tag
+    private static final String STAGED_TAGS = "FROM article_import i " +
+            "CROSS JOIN LATERAL unnest(string_to_array(i.tag_slugs, E'\\x1f'), " +
+            "string_to_array(i.tag_names, E'\\x1f')) AS st (slug, name) ";
+
+    private static final String ASSIGN_SLUGS_SQL = """
+            WITH bases AS (
+                SELECT DISTINCT base_slug FROM article_import
+            ),
+            taken AS (
+                -- highest suffix in use per base (0 = only the bare base); both
+                -- branches are index lookups (unique slug index, text_pattern_ops index)
+                SELECT b.base_slug, MAX(s.suffix) AS max_suffix
+                FROM bases b
+                CROSS JOIN LATERAL (
+                    SELECT 0 AS suffix FROM article a WHERE a.slug = b.base_slug
+                    UNION ALL
+                    SELECT substring(a.slug FROM length(b.base_slug) + 2)::integer
+                    FROM article a
+                    WHERE a.slug ~>=~ (b.base_slug || '-') AND a.slug ~<~ (b.base_slug || '.')
+                      AND substring(a.slug FROM length(b.base_slug) + 2) ~ '^[1-9][0-9]{0,8}$'
+                ) s
+                GROUP BY b.base_slug
+            ),
+            numbered AS (
+                SELECT line_no, base_slug,
+                       row_number() OVER (PARTITION BY base_slug ORDER BY line_no) - 1 AS n
+                FROM article_import
+            )
+            UPDATE article_import i SET slug = CASE
+                    WHEN t.base_slug IS NOT NULL THEN n.base_slug || '-' || (t.max_suffix + 1 + n.n)
+                    WHEN n.n = 0 THEN n.base_slug
+                    ELSE n.base_slug || '-' || n.n
+                END
+            FROM numbered n
+            LEFT JOIN taken t ON t.base_slug = n.base_slug
+            WHERE i.line_no = n.line_no
+            """;
+
+    // A generated "foo-1" can still meet the base "foo-1" of another title: the
+    // later rows get the colliding slug as their base, numbered after the highest
+    // suffix taken by articles or staged rows
+    private static final String FIX_SLUG_COLLISIONS_SQL = """
+            WITH collided AS (
+                SELECT i.line_no, i.slug AS base_slug,
+                       row_number() OVER (PARTITION BY i.slug ORDER BY i.line_no) AS n
+                FROM article_import i
+                WHERE EXISTS (SELECT 1 FROM article a WHERE a.slug = i.slug)
+                   OR EXISTS (SELECT 1 FROM article_import o WHERE o.slug = i.slug AND o.line_no < i.line_no)
+            ),
+            taken AS (
+                SELECT b.base_slug, COALESCE(MAX(s.suffix), 0) AS max_suffix
+                FROM (SELECT DISTINCT base_slug FROM collided) b
+                LEFT JOIN LATERAL (
+                    SELECT substring(a.slug FROM length(b.base_slug) + 2)::integer AS suffix
+                    FROM article a
+                    WHERE a.slug ~>=~ (b.base_slug || '-') AND a.slug ~<~ (b.base_slug || '.')
+                      AND substring(a.slug FROM length(b.base_slug) + 2) ~ '^[1-9][0-9]{0,8}$'
+                    UNION ALL
+                    SELECT substring(o.slug FROM length(b.base_slug) + 2)::integer
+                    FROM article_import o
+                    WHERE o.slug ~>=~ (b.base_slug || '-') AND o.slug ~<~ (b.base_slug || '.')
+                      AND substring(o.slug FROM length(b.base_slug) + 2) ~ '^[1-9][0-9]{0,8}$'
+                ) s ON true
+                GROUP BY b.base_slug
+            )
+            UPDATE article_import i SET slug = c.base_slug || '-' || (t.max_suffix + c.n)
+            FROM collided c
+            JOIN taken t ON t.base_slug = c.base_slug
+            WHERE i.line_no = c.line_no
+            """;
+
+    private static final String CREATE_MISSING_TAGS_SQL = "INSERT INTO tags " +
+            "(name, slug, display_order, status, is_deleted, usage_count, created_at, updated_at) " +
+            "SELECT DISTINCT ON (st.slug) st.name, st.slug, 0, 1, false, 0, now(), now() " +
+            STAGED_TAGS +
+            "ORDER BY st.slug, i.line_no " +
+            "ON CONFLICT (slug) DO NOTHING";
+
+    private static final String INSERT_ARTICLES_SQL = """
+            INSERT INTO article (title, slug, summary, content, author_id, category_id, cover_image_url,
+                                 status, published_at, view_count, like_count, comment_count,
+                                 seo_title, seo_description, seo_keywords, is_deleted, created_at, updated_at)
+            SELECT title, slug, summary, content, author_id, category_id, cover_image_url,
+                   status, published_at, view_count, 0, 0,
+                   seo_title, seo_description, seo_keywords, false, now(), now()
+            FROM article_import
+            ORDER BY line_no
+            """;
+
+    // Soft-deleted tags are not linked (as in the single-article API)
+    private static final String LINK_TAGS_SQL = "INSERT INTO article_tag (article_id, tag_id) " +
+            "SELECT DISTINCT a.id, t.id " +
+            STAGED_TAGS +
+            "JOIN article a ON a.slug = i.slug " +
+            "JOIN tags t ON t.slug = st.slug AND t.is_deleted = false";
+
+    // The imported rows are all live articles: add them to the counters of their status
+    private static final String ADD_STATISTICS_SQL = """
+            INSERT INTO article_stats (status, article_count, view_sum, max_view_count)
+            SELECT status, COUNT(*), SUM(view_count), MAX(view_count)
+            FROM article_import
+            GROUP BY status
+            ON CONFLICT (status) DO UPDATE SET
+                article_count = article_stats.article_count + EXCLUDED.article_count,
+                view_sum = article_stats.view_sum + EXCLUDED.view_sum,
+                max_view_count = GREATEST(article_stats.max_view_count, EXCLUDED.max_view_count)
+            """;
+
+    private static final String RECOMPUTE_TAG_USAGE_SQL = """
+            UPDATE tags t SET usage_count = c.usage_count
+            FROM (
+                SELECT at.tag_id, COUNT(*) AS usage_count
+                FROM article_tag at
+                JOIN article a ON a.id = at.article_id AND a.is_deleted = false
+                WHERE at.tag_id IN (
+                    SELECT t2.id FROM tags t2
+                    WHERE t2.slug IN (SELECT unnest(string_to_array(tag_slugs, E'\\x1f')) FROM article_import))
+                GROUP BY at.tag_id
+            ) c
+            WHERE t.id = c.tag_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ArticleImportRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Block concurrent article writes until the import commits, so that the
+     * allocated slugs stay free (reads are not blocked)
+     */
+    public void lockArticles() {
+        jdbcTemplate.execute("LOCK TABLE article IN SHARE ROW EXCLUSIVE MODE");
+    }
+
+    /**
+     * Create the staging table (dropped when the transaction ends)
+     */
+    public void createStagingTable() {
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+    }
+
+    /**
+     * Stream rows into the staging table with a binary COPY, returning the
+     * number of staged rows. An exception thrown by the iterator cancels the
+     * COPY and is rethrown.
+     */
+    public int stage(Iterator<StagedArticle> rows) {
+        int staged = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            PGCopyOutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_SQL);
+            int count = 0;
+            try {
+                PgBinaryCopyWriter writer = new PgBinaryCopyWriter(copy);
+                while (rows.hasNext()) {
+                    write(writer, rows.next());
+                    count++;
+                }
+                writer.finish();
+                copy.close();
+            } catch (IOException e) {
+                cancel(copy);
+                throw new UncheckedIOException(e);
+            } catch (RuntimeException e) {
+                cancel(copy);
+                throw e;
+            }
+            return count;
+        });
+        // Temporary tables are never auto-analyzed
+        jdbcTemplate.execute("ANALYZE article_import");
+        return staged;
+    }
+
+    /**
+     * Resolve author emails (rows without one get the default author),
+     * returning the first line numbers whose author was not found
+     */
+    public List<Long> resolveAuthors(long defaultAuthorId) {
+        jdbcTemplate.update("UPDATE article_import SET author_id = ? WHERE author_email IS NULL", defaultAuthorId);
+        jdbcTemplate.update("UPDATE article_import i SET author_id = u.id FROM users u " +
+                "WHERE u.email = i.author_email AND COALESCE(u.is_deleted, false) = false");
+        return jdbcTemplate.queryForList("SELECT line_no FROM article_import WHERE author_id IS NULL " +
+                "ORDER BY line_no LIMIT " + REPORTED_LINES, Long.class);
+    }
+
+    /**
+     * Resolve category slugs, returning the first line numbers whose category
+     * was not found
+     */
+    public List<Long> resolveCategories() {
+        jdbcTemplate.update("UPDATE article_import i SET category_id = c.id FROM categories c " +
+                "WHERE c.slug = i.category_slug AND c.is_deleted = false");
+        return jdbcTemplate.queryForList("SELECT line_no FROM article_import " +
+                "WHERE category_slug IS NOT NULL AND category_id IS NULL " +
+                "ORDER BY line_no LIMIT " + REPORTED_LINES, Long.class);
+    }
+
+    /**
+     * Give every staged row a free slug: base, then base-n after the highest
+     * suffix in use, numbered in input order. Renumbered collisions are checked
+     * again until none is left.
+     */
+    public void assignSlugs() {
+        jdbcTemplate.update(ASSIGN_SLUGS_SQL);
+        // Serves both the equality checks and the prefix ranges
+        jdbcTemplate.execute("CREATE INDEX ON article_import (slug text_pattern_ops)");
+        int renumbered;
+        do {
+            renumbered = jdbcTemplate.update(FIX_SLUG_COLLISIONS_SQL);
+        } while (renumbered > 0);
+    }
+
+    /**
+     * Create the tags referenced by the staged rows that do not exist yet,
+     * returning how many were created
+     */
+    public int createMissingTags() {
+        return jdbcTemplate.update(CREATE_MISSING_TAGS_SQL);
+    }
+
+    /**
+     * Insert the staged rows as articles (ids in input order), returning how
+     * many were inserted
+     */
+    public int insertArticles() {
+        return jdbcTemplate.update(INSERT_ARTICLES_SQL);
+    }
+
+    /**
+     * Link the imported articles to their tags, returning the number of links
+     */
+    public int linkTags() {
+        return jdbcTemplate.update(LINK_TAGS_SQL);
+    }
+
+    /**
+     * Add the inserted articles to the article_stats counters (no scan of the
+     * article table)
+     */
+    public void addStatistics() {
+        jdbcTemplate.update(ADD_STATISTICS_SQL);
+    }
+
+    /**
+     * Recompute the usage count of the tags referenced by the import
+     */
+    public void recomputeTagUsage() {
+        jdbcTemplate.update(RECOMPUTE_TAG_USAGE_SQL);
+    }
+
+    private static void write(PgBinaryCopyWriter writer, StagedArticle staged) throws IOException {
+        ArticleImportRow row = staged.row();
+        writer.startRow(COPY_COLUMNS);
+        writer.writeLong(staged.lineNo());
+        writer.writeText(row.title());
+        writer.writeText(staged.baseSlug());
+        writer.writeText(row.summary());
+        writer.writeText(row.content());
+        writer.writeText(row.coverImageUrl());
+        writer.writeInt(staged.status());
+        writer.writeTimestamp(staged.publishedAt());
+        writer.writeText(row.authorEmail());
+        writer.writeText(row.categorySlug());
+        writer.writeText(staged.tagNames().isEmpty() ? null : String.join(TAG_SEPARATOR, staged.tagNames()));
+        writer.writeText(staged.tagSlugs().isEmpty() ? null : String.join(TAG_SEPARATOR, staged.tagSlugs()));
+        writer.writeText(row.seoTitle());
+        writer.writeText(row.seoDescription());
+        writer.writeText(row.seoKeywords());
+        writer.writeInt(staged.viewCount());
+    }
+
+    private static void cancel(PGCopyOutputStream copy) {
+        try {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        } catch (SQLException e) {
+            // The transaction is rolled back anyway
+        }
+    }
+
+    /**
+     * A validated import row with its normalized values: status, publishedAt,
+     * view count, base slug and tag names with their slugs (same order)
+     */
+    public record StagedArticle(
+            long lineNo,
+            ArticleImportRow row,
+            String baseSlug,
+            int status,
+            LocalDateTime publishedAt,
+            int viewCount,
+            List<String> tagNames,
+            List<String> tagSlugs) {
+    }
+}
@@ -0,0 +1,244 @@
+package com.cdyt.be.repository;
+
+import com.cdyt.be.dto.article.ArticleField;
+import com.cdyt.be.dto.article.ArticleField.View;
+import com.cdyt.be.dto.article.ProjectedArticle;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reads published articles as sparse fieldsets: only the columns, joins and
+ * tag lookups of the selected {@link ArticleField}s are queried, and each row
+ * is mapped to a map holding just those fields (in declaration order), so
+ * that unselected fields are neither fetched nor serialized.
+ *
+ * The id and timestamps are always read (tag lookup and response versions)
+ * but only written when selected.
+ */
+@Repository
+public class ArticleProjectionRepository {
+
+    private static final String PUBLISHED_ARTICLES_SQL_TAIL = ArticleRepository.PUBLISHED_ARTICLE_FILTERS +
+            "ORDER BY a.published_at DESC, a.id DESC LIMIT :limit OFFSET :offset";
+
+    private static final String PUBLISHED = "a.status = 1 AND a.is_deleted = false ";
+
+    private static final String LIST_TAGS_SQL = "SELECT at.article_id, t.id, t.name, t.color " +
+            "FROM article_tag at JOIN tags t ON t.id = at.tag_id " +
+            "WHERE at.article_id IN (:articleIds) ORDER BY t.name";
+
+    private static final String DETAIL_TAGS_SQL = "SELECT at.article_id, t.id, t.name, t.slug, t.description, " +
+            "t.color, t.usage_count " +
+            "FROM article_tag at JOIN tags t ON t.id = at.tag_id " +
+            "WHERE at.article_id IN (:articleIds) ORDER BY t.name";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ArticleProjectionRepository(DataSource dataSource) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    /**
+     * Find one page of published articles matching the public search filters
+     * (null = not filtered), latest first
+     */
+    public List<ProjectedArticle> findPublishedArticles(Set<ArticleField> fields, String title,
+            LocalDateTime publishedFrom, LocalDateTime publishedTo, int limit, long offset) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("title", title, Types.VARCHAR)
+                .addValue("publishedFrom", publishedFrom, Types.TIMESTAMP)
+                .addValue("publishedTo", publishedTo, Types.TIMESTAMP)
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        return query(select(fields) + PUBLISHED_ARTICLES_SQL_TAIL, parameters, fields, View.LIST);
+    }
+
+    /**
+     * Find a published article by slug
+     */
+    public Optional<ProjectedArticle> findPublishedBySlug(Set<ArticleField> fields, String slug) {
+        return query(select(fields) + PUBLISHED + "AND a.slug = :slug",
+                new MapSqlParameterSource("slug", slug), fields, View.DETAIL).stream().findFirst();
+    }
+
+    /**
+     * Find a published article by ID
+     */
+    public Optional<ProjectedArticle> findPublishedById(Set<ArticleField> fields, Long id) {
+        return query(select(fields) + PUBLISHED + "AND a.id = :id",
+                new MapSqlParameterSource("id", id), fields, View.DETAIL).stream().findFirst();
+    }
+
+    private List<ProjectedArticle> query(String sql, MapSqlParameterSource parameters, Set<ArticleField> fields,
+            View view) {
+        List<ProjectedArticle> articles = jdbcTemplate.query(sql, parameters,
+                (rs, rowNum) -> mapRow(rs, fields));
+        if (fields.contains(ArticleField.TAGS) && !articles.isEmpty()) {
+            attachTags(articles, view);
+        }
+        return articles;
+    }
+
+    /**
+     * SELECT ... FROM ... WHERE with the columns and joins of the fields
+     */
+    private static String select(Set<ArticleField> fields) {
+        StringBuilder sql = new StringBuilder("SELECT a.id, a.created_at, a.updated_at");
+        for (ArticleField field : fields) {
+            String columns = columns(field);
+            if (columns != null) {
+                sql.append(", ").append(columns);
+            }
+        }
+        sql.append(" FROM article a");
+        if (fields.contains(ArticleField.AUTHOR_NAME) || fields.contains(ArticleField.AUTHOR)) {
+            sql.append(" LEFT JOIN users u ON u.id = a.author_id");
+        }
+        if (fields.contains(ArticleField.CATEGORY_NAME) || fields.contains(ArticleField.CATEGORY)) {
+            sql.append(" LEFT JOIN categories c ON c.id = a.category_id");
+        }
+        return sql.append(" WHERE ").toString();
+    }
+
+    /**
+     * Columns of a field beyond the always-read ones (null = none)
+     */
+    private static String columns(ArticleField field) {
+        return switch (field) {
+            case ID, CREATED_AT, UPDATED_AT, TAGS -> null;
+            case TITLE -> "a.title";
+            case SLUG -> "a.slug";
+            case SUMMARY -> "a.summary";
+            case CONTENT -> "a.content";
+            case AUTHOR_ID -> "a.author_id";
+            case AUTHOR_NAME -> "u.full_name AS author_name";
+            case AUTHOR -> "u.id AS author_ref_id, u.full_name AS author_name, u.avatar AS author_avatar, " +
+                    "u.email AS author_email";
+            case CATEGORY_ID -> "a.category_id";
+            case CATEGORY_NAME -> "c.name AS category_name";
+            case CATEGORY -> "c.id AS category_ref_id, c.name AS category_name, " +
+                    "c.description AS category_description";
+            case COVER_IMAGE_URL -> "a.cover_image_url";
+            case STATUS -> "a.status";
+            case PUBLISHED_AT -> "a.published_at";
+            case VIEW_COUNT -> "a.view_count";
+            case LIKE_COUNT -> "a.like_count";
+            case COMMENT_COUNT -> "a.comment_count";
+            case SEO_TITLE -> "a.seo_title";
+            case SEO_DESCRIPTION -> "a.seo_description";
+            case SEO_KEYWORDS -> "a.seo_keywords";
+        };
+    }
+
+    private static ProjectedArticle mapRow(ResultSet rs, Set<ArticleField> fields) throws SQLException {
+        long id = rs.getLong("id");
+        LocalDateTime createdAt = rs.getObject("created_at", LocalDateTime.class);
+        LocalDateTime updatedAt = rs.getObject("updated_at", LocalDateTime.class);
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (ArticleField field : fields) {
+            values.put(field.getJsonName(), switch (field) {
+                case ID -> id;
+                case TITLE -> rs.getString("title");
+                case SLUG -> rs.getString("slug");
+                case SUMMARY -> rs.getString("summary");
+                case CONTENT -> rs.getString("content");
+                case AUTHOR_ID -> rs.getObject("author_id", Long.class);
+                case AUTHOR_NAME -> rs.getString("author_name");
+                case AUTHOR -> author(rs);
+                case CATEGORY_ID -> rs.getObject("category_id", Long.class);
+                case CATEGORY_NAME -> rs.getString("category_name");
+                case CATEGORY -> category(rs);
+                // Filled in by attachTags, keeping the field order
+                case TAGS -> null;
+                case COVER_IMAGE_URL -> rs.getString("cover_image_url");
+                case STATUS -> rs.getInt("status");
+                case PUBLISHED_AT -> rs.getObject("published_at", LocalDateTime.class);
+                case VIEW_COUNT -> rs.getInt("view_count");
+                case LIKE_COUNT -> rs.getInt("like_count");
+                case COMMENT_COUNT -> rs.getInt("comment_count");
+                case SEO_TITLE -> rs.getString("seo_title");
+                case SEO_DESCRIPTION -> rs.getString("seo_description");
+                case SEO_KEYWORDS -> rs.getString("seo_keywords");
+                case CREATED_AT -> createdAt;
+                case UPDATED_AT -> updatedAt;
+            });
+        }
+        return new ProjectedArticle(id, createdAt, updatedAt, values);
+    }
+
+    private static Map<String, Object> author(ResultSet rs) throws SQLException {
+        Long authorId = rs.getObject("author_ref_id", Long.class);
+        if (authorId == null) {
+            return null;
+        }
+        Map<String, Object> author = new LinkedHashMap<>();
+        author.put("id", authorId);
+        author.put("name", rs.getString("author_name"));
+        author.put("avatar", rs.getString("author_avatar"));
+        author.put("email", rs.getString("author_email"));
+        return author;
+    }
+
+    private static Map<String, Object> category(ResultSet rs) throws SQLException {
+        Long categoryId = rs.getObject("category_ref_id", Long.class);
+        if (categoryId == null) {
+            return null;
+        }
+        Map<String, Object> category = new LinkedHashMap<>();
+        category.put("id", categoryId);
+        category.put("name", rs.getString("category_name"));
+        category.put("description", rs.getString("category_description"));
+        return category;
+    }
+
+    /**
+     * Load the tags of all the articles in one query (basic info for lists,
+     * full info for details); articles without tags keep a null list
+     */
+    private void attachTags(List<ProjectedArticle> articles, View view) {
+        Map<Long, ProjectedArticle> byId = new HashMap<>();
+        for (ProjectedArticle article : articles) {
+            byId.put(article.id(), article);
+        }
+        String sql = view == View.LIST ? LIST_TAGS_SQL : DETAIL_TAGS_SQL;
+        jdbcTemplate.query(sql, new MapSqlParameterSource("articleIds", byId.keySet()),
+                (RowCallbackHandler) rs -> tagsOf(byId.get(rs.getLong("article_id"))).add(mapTag(rs, view)));
+    }
+
+    private static Map<String, Object> mapTag(ResultSet rs, View view) throws SQLException {
+        Map<String, Object> tag = new LinkedHashMap<>();
+        tag.put("id", rs.getLong("id"));
+        tag.put("name", rs.getString("name"));
+        if (view == View.DETAIL) {
+            tag.put("slug", rs.getString("slug"));
+            tag.put("description", rs.getString("description"));
+        }
+        tag.put("color", rs.getString("color"));
+        if (view == View.DETAIL) {
+            tag.put("usageCount", rs.getLong("usage_count"));
+        }
+        return tag;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> tagsOf(ProjectedArticle article) {
+        return (List<Map<String, Object>>) article.fields().computeIfAbsent(ArticleField.TAGS.getJsonName(),
+                name -> new ArrayList<Map<String, Object>>());
+    }
+}
@@ -1,15 +1,20 @@
 package com.cdyt.be.repository;
 
 import com.cdyt.be.entity.Article;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,10 +25,6 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
 
     Optional<Article> findBySlug(String slug);
 
-    boolean existsBySlug(String slug);
-
-    boolean existsBySlugAndIdNot(String slug, Long id);
-
     /**
      * Find article by ID with author and category eagerly fetched
      */
@@ -42,10 +43,28 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
             "WHERE a.slug = :slug")
     Optional<Article> findBySlugWithAuthorAndCategory(@Param("slug") String slug);
 
+    /**
+     * Find tags of several articles in one query, as (articleId, tag) pairs
+     */
+    @Query("SELECT a.id, t FROM Article a JOIN a.tags t WHERE a.id IN :articleIds")
+    List<Object[]> findTagsByArticleIds(@Param("articleIds") Collection<Long> articleIds);
+
     // ========== PAGINATION AND SEARCH METHODS ==========
 
     /**
-     * Find all articles with pagination and optional filters using native SQL
+     * Shared WHERE clause of the admin article search
+     */
+    String ARTICLE_SEARCH_FILTERS = "(:title IS NULL OR a.title ILIKE '%' || :title || '%') AND " +
+            "(:status IS NULL OR a.status = :status) AND " +
+            "(:authorId IS NULL OR a.author_id = :authorId) AND " +
+            "(:categoryId IS NULL OR a.category_id = :categoryId) AND " +
+            "(:minViewCount IS NULL OR a.view_count >= :minViewCount) AND " +
+            "(:maxViewCount IS NULL OR a.view_count <= :maxViewCount) AND " +
+            "a.is_deleted = false ";
+
+    /**
+     * Find one page of articles with optional filters using native SQL.
+     * The total count is resolved separately (see countArticlesWithFilters).
      * - If title is null: returns all articles (no title filtering)
      * - If status is null: returns ALL articles regardless of status
      * - If status is provided: filters by that specific status (0 = DRAFT, 1 =
@@ -54,16 +73,9 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
      * - If categoryId is null: returns all articles (no category filtering)
      * - View count filters: applies when provided, otherwise no filtering
      */
-    @Query(value = "SELECT * FROM article a WHERE " +
-            "(:title IS NULL OR a.title ILIKE '%' || :title || '%') AND " +
-            "(:status IS NULL OR a.status = :status) AND " +
-            "(:authorId IS NULL OR a.author_id = :authorId) AND " +
-            "(:categoryId IS NULL OR a.category_id = :categoryId) AND " +
-            "(:minViewCount IS NULL OR a.view_count >= :minViewCount) AND " +
-            "(:maxViewCount IS NULL OR a.view_count <= :maxViewCount) AND " +
-            "a.is_deleted = false " +
+    @Query(value = "SELECT * FROM article a WHERE " + ARTICLE_SEARCH_FILTERS +
             "ORDER BY a.created_at DESC, a.title ASC", nativeQuery = true)
-    Page<Article> findArticlesWithFilters(
+    List<Article> findArticlesWithFilters(
             @Param("title") String title,
             @Param("status") String status,
             @Param("authorId") Long authorId,
@@ -73,14 +85,23 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
             Pageable pageable);
 
     /**
-     * Find published articles only
+     * Count articles matching the admin search filters, stopping at :cap rows
      */
-    List<Article> findByStatusAndIsDeletedFalseOrderByCreatedAtDescTitleAsc(Integer status);
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM article a WHERE " + ARTICLE_SEARCH_FILTERS +
+            "LIMIT :cap) capped", nativeQuery = true)
+    long countArticlesWithFilters(
+            @Param("title") String title,
+            @Param("status") String status,
+            @Param("authorId") Long authorId,
+            @Param("categoryId") Long categoryId,
+            @Param("minViewCount") Integer minViewCount,
+            @Param("maxViewCount") Integer maxViewCount,
+            @Param("cap") int cap);
 
     /**
-     * Find all non-deleted articles
+     * Find published articles only
      */
-    List<Article> findByIsDeletedFalseOrderByCreatedAtDescTitleAsc();
+    List<Article> findByStatusAndIsDeletedFalseOrderByCreatedAtDescTitleAsc(Integer status);
 
     /**
      * Search articles by title
@@ -98,27 +119,49 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     List<Article> findByCategory_IdAndIsDeletedFalseOrderByCreatedAtDescTitleAsc(Long categoryId);
 
     /**
-     * Find articles by multiple category IDs (for hierarchical search)
+     * Find articles of a category and all its descendants (one join on the
+     * category closure table)
+     */
+    @Query("SELECT a FROM Article a " +
+            "JOIN CategoryClosure cc ON cc.id.descendantId = a.category.id " +
+            "WHERE cc.id.ancestorId = :categoryId AND a.isDeleted = false " +
+            "ORDER BY a.createdAt DESC, a.title ASC")
+    List<Article> findInCategorySubtree(@Param("categoryId") Long categoryId);
+
+    /**
+     * Find articles of a category and all its descendants with the given status
+     * (for public access)
      */
-    List<Article> findByCategory_IdInAndIsDeletedFalseOrderByCreatedAtDescTitleAsc(List<Long> categoryIds);
+    @Query("SELECT a FROM Article a " +
+            "JOIN CategoryClosure cc ON cc.id.descendantId = a.category.id " +
+            "WHERE cc.id.ancestorId = :categoryId AND a.status = :status AND a.isDeleted = false " +
+            "ORDER BY a.createdAt DESC, a.title ASC")
+    List<Article> findInCategorySubtreeByStatus(@Param("categoryId") Long categoryId,
+            @Param("status") Integer status);
 
     /**
-     * Find published articles by multiple category IDs (for public access)
+     * Find the most viewed non-deleted articles as (id, view_count, status,
+     * category_id) rows, for the leaderboard (idx_article_view_count)
      */
-    List<Article> findByCategory_IdInAndStatusAndIsDeletedFalseOrderByCreatedAtDescTitleAsc(List<Long> categoryIds,
-            Integer status);
+    @Query(value = "SELECT a.id, a.view_count, a.status, a.category_id FROM article a " +
+            "WHERE a.is_deleted = false " +
+            "ORDER BY a.view_count DESC, a.created_at DESC LIMIT :limit", nativeQuery = true)
+    List<Object[]> findTopViewedArticles(@Param("limit") int limit);
 
     /**
-     * Find popular articles (view count >= threshold)
+     * Find one non-deleted article as an (id, view_count, status, category_id)
+     * row, for updating its leaderboard entry (empty when deleted)
      */
-    List<Article> findByViewCountGreaterThanEqualAndIsDeletedFalseOrderByViewCountDescCreatedAtDesc(
-            Integer threshold);
+    @Query(value = "SELECT a.id, a.view_count, a.status, a.category_id FROM article a " +
+            "WHERE a.id = :id AND a.is_deleted = false", nativeQuery = true)
+    List<Object[]> findLeaderboardEntry(@Param("id") Long id);
 
     /**
-     * Find popular published articles (for public access)
+     * Find tag IDs of several articles, as (articleId, tagId) pairs
      */
-    List<Article> findByViewCountGreaterThanEqualAndStatusAndIsDeletedFalseOrderByViewCountDescCreatedAtDesc(
-            Integer threshold, Integer status);
+    @Query(value = "SELECT at.article_id, at.tag_id FROM article_tag at WHERE at.article_id IN :articleIds",
+            nativeQuery = true)
+    List<Object[]> findTagIdsByArticleIds(@Param("articleIds") Collection<Long> articleIds);
 
     /**
      * Find articles by status with pagination (for public access)
@@ -126,20 +169,38 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     Page<Article> findByStatusAndIsDeletedFalse(Integer status, Pageable pageable);
 
     /**
-     * Find published articles with filters (title search and date range)
+     * Shared WHERE clause of the public article search.
+     * The date range is half-open ([from, to)) on the raw column so it can use
+     * idx_article_status_published_at.
      */
-    @Query(value = "SELECT * FROM article a WHERE " +
-            "a.status = 1 AND a.is_deleted = false AND " +
+    String PUBLISHED_ARTICLE_FILTERS = "a.status = 1 AND a.is_deleted = false AND " +
             "(:title IS NULL OR a.title ILIKE '%' || :title || '%') AND " +
-            "(:fromDate IS NULL OR DATE(a.published_at) >= :fromDate) AND " +
-            "(:toDate IS NULL OR DATE(a.published_at) <= :toDate) " +
-            "ORDER BY a.published_at DESC, a.created_at DESC, a.title ASC", nativeQuery = true)
-    Page<Article> findPublishedArticlesWithFilters(
+            "(CAST(:publishedFrom AS timestamp) IS NULL OR a.published_at >= :publishedFrom) AND " +
+            "(CAST(:publishedTo AS timestamp) IS NULL OR a.published_at < :publishedTo) ";
+
+    /**
+     * Find one page of published articles with filters (title search and
+     * published date range). The total count is resolved separately.
+     */
+    @Query(value = "SELECT * FROM article a WHERE " + PUBLISHED_ARTICLE_FILTERS +
+            "ORDER BY a.published_at DESC, a.id DESC", nativeQuery = true)
+    List<Article> findPublishedArticlesWithFilters(
             @Param("title") String title,
-            @Param("fromDate") LocalDate fromDate,
-            @Param("toDate") LocalDate toDate,
+            @Param("publishedFrom") LocalDateTime publishedFrom,
+            @Param("publishedTo") LocalDateTime publishedTo,
             Pageable pageable);
 
+    /**
+     * Count published articles matching the filters, stopping at :cap rows
+     */
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM article a WHERE " + PUBLISHED_ARTICLE_FILTERS +
+            "LIMIT :cap) capped", nativeQuery = true)
+    long countPublishedArticlesWithFilters(
+            @Param("title") String title,
+            @Param("publishedFrom") LocalDateTime publishedFrom,
+            @Param("publishedTo") LocalDateTime publishedTo,
+            @Param("cap") int cap);
+
     /**
      * Search published articles by title (for public access)
      */
@@ -147,49 +208,121 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
             String title, Integer status);
 
     /**
-     * Find published articles by tag with filters (title search and date range)
+     * Shared WHERE clause of the public article search by tag. EXISTS on
+     * idx_article_tag_tag_id_article_id replaces the former join + DISTINCT.
      */
-    @Query(value = "SELECT DISTINCT a.* FROM article a " +
-            "INNER JOIN article_tag at ON a.id = at.article_id " +
-            "WHERE a.status = 1 AND a.is_deleted = false AND " +
-            "at.tag_id = :tagId AND " +
-            "(:title IS NULL OR a.title ILIKE '%' || :title || '%') AND " +
-            "(:fromDate IS NULL OR DATE(a.published_at) >= :fromDate) AND " +
-            "(:toDate IS NULL OR DATE(a.published_at) <= :toDate) " +
-            "ORDER BY a.published_at DESC, a.created_at DESC, a.title ASC", nativeQuery = true)
-    Page<Article> findPublishedArticlesByTagWithFilters(
+    String PUBLISHED_ARTICLES_BY_TAG_FILTERS = PUBLISHED_ARTICLE_FILTERS +
+            "AND EXISTS (SELECT 1 FROM article_tag at WHERE at.article_id = a.id AND at.tag_id = :tagId) ";
+
+    /**
+     * Find one page of published articles by tag with filters (title search and
+     * published date range). The total count is resolved separately.
+     */
+    @Query(value = "SELECT * FROM article a WHERE " + PUBLISHED_ARTICLES_BY_TAG_FILTERS +
+            "ORDER BY a.published_at DESC, a.id DESC", nativeQuery = true)
+    List<Article> findPublishedArticlesByTagWithFilters(
             @Param("tagId") Long tagId,
             @Param("title") String title,
-            @Param("fromDate") LocalDate fromDate,
-            @Param("toDate") LocalDate toDate,
+            @Param("publishedFrom") LocalDateTime publishedFrom,
+            @Param("publishedTo") LocalDateTime publishedTo,
             Pageable pageable);
 
+    /**
+     * Count published articles by tag matching the filters, stopping at :cap rows
+     */
+    @Query(value = "SELECT COUNT(*) FROM (SELECT 1 FROM article a WHERE " + PUBLISHED_ARTICLES_BY_TAG_FILTERS +
+            "LIMIT :cap) capped", nativeQuery = true)
+    long countPublishedArticlesByTagWithFilters(
+            @Param("tagId") Long tagId,
+            @Param("title") String title,
+            @Param("publishedFrom") LocalDateTime publishedFrom,
+            @Param("publishedTo") LocalDateTime publishedTo,
+            @Param("cap") int cap);
+
     // ========== STATISTICS ==========
 
+    // Aggregates of the article_stats counters (one row per status), same
+    // columns as the former full-table scans
     @Query(value = """
             SELECT
-                COUNT(*) as totalArticles,
-                COUNT(CASE WHEN status = 1 AND is_deleted = false THEN 1 END) as publishedArticles,
-                COUNT(CASE WHEN status = 0 AND is_deleted = false THEN 1 END) as draftArticles,
-                COUNT(CASE WHEN status = 2 AND is_deleted = false THEN 1 END) as archivedArticles,
-                COALESCE(MAX(view_count), 0) as maxViewCount,
-                COALESCE(AVG(view_count), 0) as avgViewCount
-            FROM article
-            WHERE is_deleted = false
+                COALESCE(SUM(article_count), 0) as totalArticles,
+                COALESCE(SUM(CASE WHEN status = 1 THEN article_count END), 0) as publishedArticles,
+                COALESCE(SUM(CASE WHEN status = 0 THEN article_count END), 0) as draftArticles,
+                COALESCE(SUM(CASE WHEN status = 2 THEN article_count END), 0) as archivedArticles,
+                COALESCE(MAX(max_view_count), 0) as maxViewCount,
+                COALESCE(SUM(view_sum)::float8 / NULLIF(SUM(article_count), 0), 0) as avgViewCount
+            FROM article_stats
             """, nativeQuery = true)
     Object[] getArticleStatistics();
 
     @Query(value = """
             SELECT
-                COUNT(*) as totalPublishedArticles,
-                COALESCE(MAX(view_count), 0) as maxViewCount,
-                COALESCE(AVG(view_count), 0) as avgViewCount
-            FROM article
-            WHERE status = 1 AND is_deleted = false
+                article_count as totalPublishedArticles,
+                max_view_count as maxViewCount,
+                COALESCE(view_sum::float8 / NULLIF(article_count, 0), 0) as avgViewCount
+            FROM article_stats
+            WHERE status = 1
             """, nativeQuery = true)
     Object[] getPublishedArticleStatistics();
 
+    /**
+     * Adjust the statistics counters of a status by an article count and view
+     * sum delta, raising the max view count to at least maxViewCount
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "article_stats"))
+    @Query(value = """
+            INSERT INTO article_stats (status, article_count, view_sum, max_view_count)
+            VALUES (:status, GREATEST(:articles, 0), GREATEST(:views, 0), :maxViewCount)
+            ON CONFLICT (status) DO UPDATE SET
+                article_count = article_stats.article_count + :articles,
+                view_sum = article_stats.view_sum + :views,
+                max_view_count = GREATEST(article_stats.max_view_count, :maxViewCount)
+            """, nativeQuery = true)
+    void adjustStatistics(@Param("status") int status, @Param("articles") long articles,
+            @Param("views") long views, @Param("maxViewCount") long maxViewCount);
+
+    /**
+     * Recompute the statistics counters from the article table (corrects drift
+     * and lowers max view counts after deletes)
+     */
+    @Transactional
     @Modifying
-    @Query(value = "UPDATE article SET view_count = view_count + :increment WHERE id = :id", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "article_stats"))
+    @Query(value = """
+            INSERT INTO article_stats (status, article_count, view_sum, max_view_count, reconciled_at)
+            SELECT s.status, COUNT(a.id), COALESCE(SUM(a.view_count), 0), COALESCE(MAX(a.view_count), 0), now()
+            FROM (VALUES (0), (1), (2)) AS s (status)
+            LEFT JOIN article a ON a.status = s.status AND a.is_deleted = false
+            GROUP BY s.status
+            ON CONFLICT (status) DO UPDATE SET
+                article_count = EXCLUDED.article_count,
+                view_sum = EXCLUDED.view_sum,
+                max_view_count = EXCLUDED.max_view_count,
+                reconciled_at = EXCLUDED.reconciled_at
+            """, nativeQuery = true)
+    int reconcileStatistics();
+
+    /**
+     * Add flushed views to an article and to the statistics of its status, in
+     * one statement
+     */
+    @Transactional
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "article"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "article_stats")
+    })
+    @Query(value = """
+            WITH updated AS (
+                UPDATE article SET view_count = view_count + :increment WHERE id = :id
+                RETURNING status, is_deleted, view_count
+            )
+            UPDATE article_stats s SET
+                view_sum = s.view_sum + :increment,
+                max_view_count = GREATEST(s.max_view_count, u.view_count)
+            FROM updated u
+            WHERE u.is_deleted = false AND s.status = u.status
+            """, nativeQuery = true)
     void incrementViewCount(@Param("id") Long id, @Param("increment") Long increment);
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.cdyt.be.repository;
+
+import com.cdyt.be.common.reconcile.CounterDrift;
+import com.cdyt.be.common.reconcile.DerivedCounter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The article_stats counters (keyed by status), derived from the non-deleted
+ * articles. Drifted statuses are recomputed in one statement.
+ */
+@Repository
+public class ArticleStatsCounter implements DerivedCounter {
+
+    private static final String DRIFT_SQL = """
+            SELECT s.status, s.article_count, s.view_sum, s.max_view_count,
+                   COUNT(a.id) AS actual_count,
+                   COALESCE(SUM(a.view_count), 0) AS actual_view_sum,
+                   COALESCE(MAX(a.view_count), 0) AS actual_max_view_count
+            FROM article_stats s
+            LEFT JOIN article a ON a.status = s.status AND a.is_deleted = false
+            WHERE s.status >= ? AND s.status < ?
+            GROUP BY s.status, s.article_count, s.view_sum, s.max_view_count
+            """;
+
+    private static final String APPLY_SQL = """
+            UPDATE article_stats s SET
+                article_count = c.article_count,
+                view_sum = c.view_sum,
+                max_view_count = c.max_view_count,
+                reconciled_at = now()
+            FROM (
+                SELECT st.status, COUNT(a.id) AS article_count,
+                       COALESCE(SUM(a.view_count), 0) AS view_sum,
+                       COALESCE(MAX(a.view_count), 0) AS max_view_count
+                FROM article_stats st
+                LEFT JOIN article a ON a.status = st.status AND a.is_deleted = false
+                WHERE st.status = ANY (?)
+                GROUP BY st.status
+            ) c
+            WHERE s.status = c.status
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ArticleStatsCounter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public String name() {
+        return "articleStats";
+    }
+
+    @Override
+    public KeyRange keyRange() {
+        return jdbcTemplate.queryForObject("SELECT MIN(status), MAX(status) FROM article_stats",
+                (rs, rowNum) -> rs.getObject(1) != null ? new KeyRange(rs.getLong(1), rs.getLong(2)) : null);
+    }
+
+    @Override
+    public List<CounterDrift> findDrift(long fromKey, long toKey) {
+        List<CounterDrift> drifts = new ArrayList<>();
+        jdbcTemplate.query(DRIFT_SQL, (RowCallbackHandler) rs -> {
+            long status = rs.getLong("status");
+            addIfDrifted(drifts, status, "article_count", rs.getLong("article_count"), rs.getLong("actual_count"));
+            addIfDrifted(drifts, status, "view_sum", rs.getLong("view_sum"), rs.getLong("actual_view_sum"));
+            addIfDrifted(drifts, status, "max_view_count", rs.getLong("max_view_count"),
+                    rs.getLong("actual_max_view_count"));
+        }, fromKey, toKey);
+        return drifts;
+    }
+
+    @Override
+    public int apply(List<CounterDrift> drifts) {
+        Integer[] statuses = drifts.stream().map(drift -> (int) drift.key()).distinct().toArray(Integer[]::new);
+        return jdbcTemplate.update(APPLY_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("integer", statuses)));
+    }
+
+    private static void addIfDrifted(List<CounterDrift> drifts, long status, String field, long stored,
+            long actual) {
+        if (stored != actual) {
+            drifts.add(new CounterDrift(status, field, stored, actual));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.cdyt.be.repository;
+
+import com.cdyt.be.entity.CategoryClosure;
+import com.cdyt.be.entity.CategoryClosureId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, CategoryClosureId> {
+
+        // Native writes name the table they change, so that Hibernate does not
+        // clear the whole second-level cache after them
+
+        /**
+         * Check whether a category is an ancestor of (or the same as) another one
+         */
+        default boolean isAncestorOrSelf(Long ancestorId, Long descendantId) {
+                return existsById(new CategoryClosureId(ancestorId, descendantId));
+        }
+
+        /**
+         * Add the paths of a new category: the self row plus one row per ancestor
+         * of its parent (none when parentId is null)
+         */
+        @Modifying
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "category_closure"))
+        @Query(value = """
+                        INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+                        SELECT ancestor_id, :categoryId, depth + 1
+                        FROM category_closure
+                        WHERE descendant_id = :parentId
+                        UNION ALL
+                        SELECT :categoryId, :categoryId, 0
+                        """, nativeQuery = true)
+        void insertPaths(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+        /**
+         * Detach a subtree: remove the paths from the category's former ancestors to
+         * the category and its descendants (paths inside the subtree are kept)
+         */
+        @Modifying
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "category_closure"))
+        @Query(value = """
+                        DELETE FROM category_closure
+                        WHERE descendant_id IN (
+                            SELECT descendant_id FROM category_closure WHERE ancestor_id = :categoryId
+                        )
+                        AND ancestor_id NOT IN (
+                            SELECT descendant_id FROM category_closure WHERE ancestor_id = :categoryId
+                        )
+                        """, nativeQuery = true)
+        void detachSubtree(@Param("categoryId") Long categoryId);
+
+        /**
+         * Attach a detached subtree under a new parent: connect every ancestor of the
+         * parent to every node of the subtree
+         */
+        @Modifying
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "category_closure"))
+        @Query(value = """
+                        INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+                        SELECT above.ancestor_id, below.descendant_id, above.depth + below.depth + 1
+                        FROM category_closure above
+                        CROSS JOIN category_closure below
+                        WHERE above.descendant_id = :parentId
+                        AND below.ancestor_id = :categoryId
+                        """, nativeQuery = true)
+        void attachSubtree(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+        /**
+         * Remove every path that starts or ends at the category
+         */
+        @Modifying
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "category_closure"))
+        @Query(value = "DELETE FROM category_closure WHERE ancestor_id = :categoryId OR descendant_id = :categoryId",
+                        nativeQuery = true)
+        void deletePaths(@Param("categoryId") Long categoryId);
+}
@@ -1,10 +1,13 @@
 package com.cdyt.be.repository;
 
 import com.cdyt.be.entity.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,10 +19,9 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
         // ========== BASIC FINDER METHODS ==========
 
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
         Optional<Category> findBySlug(String slug);
 
-        boolean existsBySlug(String slug);
-
         boolean existsBySlugAndIdNot(String slug, Long id);
 
         // ========== PAGINATION AND SEARCH METHODS ==========
@@ -45,8 +47,15 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
         /**
          * Find active categories only
          */
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
         List<Category> findByStatusAndIsDeletedFalseOrderByDisplayOrderAscNameAsc(Integer status);
 
+        /**
+         * Find all non-deleted categories in display order (flat, one query)
+         */
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+        List<Category> findByIsDeletedFalseOrderByDisplayOrderAscNameAsc();
+
         /**
          * Find root categories (no parent)
          */
@@ -70,29 +79,6 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
         @Query("SELECT c FROM Category c WHERE c.parent.id = :parentId AND c.isDeleted = false ORDER BY c.displayOrder ASC")
         List<Category> findChildrenByParentId(@Param("parentId") Long parentId);
 
-        /**
-         * Find all descendant category IDs (including the category itself) using
-         * recursive CTE
-         */
-        @Query(value = """
-                        WITH RECURSIVE category_tree AS (
-                            -- Base case: start with the given category
-                            SELECT id, parent_id, name
-                            FROM categories
-                            WHERE id = :categoryId AND is_deleted = false
-
-                            UNION ALL
-
-                            -- Recursive case: find children
-                            SELECT c.id, c.parent_id, c.name
-                            FROM categories c
-                            INNER JOIN category_tree ct ON c.parent_id = ct.id
-                            WHERE c.is_deleted = false
-                        )
-                        SELECT id FROM category_tree
-                        """, nativeQuery = true)
-        List<Long> findAllDescendantIds(@Param("categoryId") Long categoryId);
-
         // ========== STATISTICS ==========
 
         @Query(value = """
@@ -1,12 +1,16 @@
 package com.cdyt.be.repository;
 
 import com.cdyt.be.entity.Function;
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface FunctionRepository extends JpaRepository<Function, Integer> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Function> findFirstByApiUrlStartingWith(String apiUrl);
 }
\ No newline at end of file
@@ -1,14 +1,18 @@
 package com.cdyt.be.repository;
 
 import com.cdyt.be.entity.Tag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,10 +21,9 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
 
         // ========== BASIC FINDER METHODS ==========
 
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
         Optional<Tag> findBySlug(String slug);
 
-        boolean existsBySlug(String slug);
-
         boolean existsBySlugAndIdNot(String slug, Long id);
 
         // ========== PAGINATION AND SEARCH METHODS ==========
@@ -54,11 +57,13 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
         /**
          * Find active tags only
          */
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
         List<Tag> findByStatusAndIsDeletedFalseOrderByDisplayOrderAscNameAsc(Integer status);
 
         /**
          * Find all non-deleted tags
          */
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
         List<Tag> findByIsDeletedFalseOrderByDisplayOrderAscNameAsc();
 
         /**
@@ -103,16 +108,14 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
         // ========== USAGE COUNT MANAGEMENT ==========
 
         /**
-         * Increment usage count for a tag
-         */
-        @Modifying
-        @Query("UPDATE Tag t SET t.usageCount = t.usageCount + 1 WHERE t.id = :tagId")
-        void incrementUsageCount(@Param("tagId") Long tagId);
-
-        /**
-         * Decrement usage count for a tag (with minimum 0)
+         * Add delta to the usage count of several tags in one statement (with
+         * minimum 0). The statement names a space no entity is mapped to, so that
+         * Hibernate keeps the tag region: only these counts change, and the tags
+         * are evicted one by one after commit (see TagUsageChangedEvent).
          */
         @Modifying
-        @Query("UPDATE Tag t SET t.usageCount = CASE WHEN t.usageCount > 0 THEN t.usageCount - 1 ELSE 0 END WHERE t.id = :tagId")
-        void decrementUsageCount(@Param("tagId") Long tagId);
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tag_usage"))
+        @Query(value = "UPDATE tags SET usage_count = GREATEST(usage_count + :delta, 0) WHERE id IN :tagIds",
+                        nativeQuery = true)
+        int adjustUsageCount(@Param("tagIds") Collection<Long> tagIds, @Param("delta") long delta);
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.cdyt.be.repository;
+
+import com.cdyt.be.common.cache.TagUsageChangedEvent;
+import com.cdyt.be.common.reconcile.CounterDrift;
+import com.cdyt.be.common.reconcile.DerivedCounter;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * tags.usage_count, derived from the article_tag links of non-deleted
+ * articles. Corrections are compare-and-set on the stored value, so that a
+ * concurrent usage update is never overwritten (the row is left to the next
+ * run instead). Corrected tags are announced with a {@link TagUsageChangedEvent},
+ * as the writes bypass the entity caches.
+ */
+@Repository
+public class TagUsageCounter implements DerivedCounter {
+
+    private static final String FIELD = "usage_count";
+
+    private static final String DRIFT_SQL = """
+            SELECT t.id, t.usage_count, COALESCE(c.actual, 0) AS actual
+            FROM tags t
+            LEFT JOIN (
+                SELECT at.tag_id, COUNT(*) AS actual
+                FROM article_tag at
+                JOIN article a ON a.id = at.article_id AND a.is_deleted = false
+                WHERE at.tag_id >= ? AND at.tag_id < ?
+                GROUP BY at.tag_id
+            ) c ON c.tag_id = t.id
+            WHERE t.id >= ? AND t.id < ?
+              AND t.usage_count <> COALESCE(c.actual, 0)
+            """;
+
+    private static final String APPLY_SQL = "UPDATE tags SET usage_count = ? WHERE id = ? AND usage_count = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TagUsageCounter(DataSource dataSource, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public String name() {
+        return "tagUsage";
+    }
+
+    @Override
+    public KeyRange keyRange() {
+        return jdbcTemplate.queryForObject("SELECT MIN(id), MAX(id) FROM tags",
+                (rs, rowNum) -> rs.getObject(1) != null ? new KeyRange(rs.getLong(1), rs.getLong(2)) : null);
+    }
+
+    @Override
+    public List<CounterDrift> findDrift(long fromKey, long toKey) {
+        return jdbcTemplate.query(DRIFT_SQL,
+                (rs, rowNum) -> new CounterDrift(rs.getLong("id"), FIELD, rs.getLong("usage_count"),
+                        rs.getLong("actual")),
+                fromKey, toKey, fromKey, toKey);
+    }
+
+    @Override
+    public int apply(List<CounterDrift> drifts) {
+        int[][] counts = jdbcTemplate.batchUpdate(APPLY_SQL, drifts, drifts.size(), (ps, drift) -> {
+            ps.setLong(1, drift.actual());
+            ps.setLong(2, drift.key());
+            ps.setLong(3, drift.stored());
+        });
+        int updated = 0;
+        Set<Long> tagIds = new HashSet<>();
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // SUCCESS_NO_INFO (-2) when the driver does not report counts
+                if (count != 0) {
+                    tagIds.add(drifts.get(i).key());
+                }
+                updated += count > 0 ? count : 0;
+                i++;
+            }
+        }
+        if (!tagIds.isEmpty()) {
+            eventPublisher.publishEvent(new TagUsageChangedEvent(tagIds));
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,39 @@
+package com.cdyt.be.scheduler;
+
+import com.cdyt.be.common.exception.BusinessException;
+import com.cdyt.be.service.CounterReconciliationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically reconciles every derived counter (tag usage counts, the
+ * article_stats counters).
+ *
+ * The writes adjust the counters incrementally; this corrects whatever drift
+ * they accumulate (concurrent updates, manual SQL, the usage endpoints) and
+ * lowers max view counts that only grow between runs.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CounterReconcileScheduler {
+
+    private final CounterReconciliationService reconciliationService;
+
+    @Scheduled(fixedDelayString = "${reconcile.interval-ms:3600000}",
+            initialDelayString = "${reconcile.interval-ms:3600000}")
+    public void reconcile() {
+        for (String counter : reconciliationService.getCounterNames()) {
+            try {
+                reconciliationService.start(counter, false);
+            } catch (BusinessException e) {
+                // Already running (started manually)
+                log.info("Skipped scheduled reconciliation of {}: {}", counter, e.getMessage());
+            } catch (Exception e) {
+                log.error("Failed to start reconciliation of {}: {}", counter, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.cdyt.be.scheduler;
+
+import com.cdyt.be.common.datasource.ReadWriteRoutingDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures the replication lag of the read replicas, so that unreachable or
+ * lagging ones stop serving reads until they catch up
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class ReplicaLagCheckScheduler {
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+
+    @Scheduled(fixedDelayString = "${datasource.routing.lag-check-interval-ms:1000}")
+    public void checkReplicas() {
+        routingDataSource.checkReplicas();
+    }
+}
@@ -1,6 +1,7 @@
 package com.cdyt.be.scheduler;
 
 import com.cdyt.be.repository.ArticleRepository;
+import com.cdyt.be.service.ArticleLeaderboard;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,6 +9,8 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 @Component
@@ -17,6 +20,7 @@ public class ViewCountSyncScheduler {
 
     private final StringRedisTemplate redisTemplate;
     private final ArticleRepository articleRepository;
+    private final ArticleLeaderboard articleLeaderboard;
 
     private static final String VIEW_KEY_PREFIX = "article:view:";
 
@@ -32,15 +36,17 @@ public class ViewCountSyncScheduler {
         if (keys == null || keys.isEmpty())
             return;
         int counter = 0;
+        Map<Long, Long> flushed = new HashMap<>();
         for (String key : keys) {
             try {
-                Long diff = redisTemplate.opsForValue().getAndDelete(key) != null
-                        ? Long.valueOf(redisTemplate.opsForValue().getAndDelete(key))
-                        : null;
+                // Read and reset in one call, so views recorded meanwhile are kept for the next flush
+                String value = redisTemplate.opsForValue().getAndDelete(key);
+                Long diff = value != null ? Long.valueOf(value) : null;
                 if (diff == null || diff == 0)
                     continue;
                 Long articleId = Long.valueOf(key.substring(VIEW_KEY_PREFIX.length()));
                 articleRepository.incrementViewCount(articleId, diff);
+                flushed.put(articleId, diff);
                 counter++;
                 if (counter >= batchLimit)
                     break; // tránh update quá lớn 1 lần
@@ -50,5 +56,12 @@ public class ViewCountSyncScheduler {
         }
         if (counter > 0)
             log.info("Flushed {} view-count keys to DB", counter);
+
+        // Keep the leaderboard in step with the flushed counts
+        try {
+            articleLeaderboard.applyViewDeltas(flushed);
+        } catch (Exception e) {
+            log.error("Failed to update article leaderboard: {}", e.getMessage());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.cdyt.be.service;
+
+import com.cdyt.be.entity.Article;
+import com.cdyt.be.entity.Category;
+import com.cdyt.be.entity.Tag;
+import com.cdyt.be.entity.User;
+import com.cdyt.be.mapper.ArticleAssociations;
+import com.cdyt.be.repository.ArticleRepository;
+import com.cdyt.be.repository.CategoryRepository;
+import com.cdyt.be.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads the associations needed for article list views in id-batched queries:
+ * one query for authors, one for categories and one for tags, whatever the
+ * page size.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleAssociationLoader {
+
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final ArticleRepository articleRepository;
+
+    /**
+     * Load authors, categories and tags for the given articles
+     */
+    public ArticleAssociations load(Collection<Article> articles) {
+        if (articles == null || articles.isEmpty()) {
+            return ArticleAssociations.empty();
+        }
+
+        // Reading the id of a lazy proxy does not initialize it
+        Set<Long> articleIds = new HashSet<>();
+        Set<Long> authorIds = new HashSet<>();
+        Set<Long> categoryIds = new HashSet<>();
+        for (Article article : articles) {
+            articleIds.add(article.getId());
+            if (article.getAuthor() != null) {
+                authorIds.add(article.getAuthor().getId());
+            }
+            if (article.getCategory() != null) {
+                categoryIds.add(article.getCategory().getId());
+            }
+        }
+
+        Map<Long, User> authors = new HashMap<>();
+        if (!authorIds.isEmpty()) {
+            for (User user : userRepository.findAllById(authorIds)) {
+                authors.put(user.getId(), user);
+            }
+        }
+
+        Map<Long, Category> categories = new HashMap<>();
+        if (!categoryIds.isEmpty()) {
+            for (Category category : categoryRepository.findAllById(categoryIds)) {
+                categories.put(category.getId(), category);
+            }
+        }
+
+        Map<Long, List<Tag>> tags = new HashMap<>();
+        for (Object[] row : articleRepository.findTagsByArticleIds(articleIds)) {
+            tags.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Tag) row[1]);
+        }
+
+        return new ArticleAssociations(authors, categories, tags);
+    }
+}
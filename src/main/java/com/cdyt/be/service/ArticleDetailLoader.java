@@ -0,0 +1,93 @@
+package com.cdyt.be.service;
+
+import com.cdyt.be.common.annotation.ReadFromPrimary;
+import com.cdyt.be.common.cache.PrecompressedResponseCache;
+import com.cdyt.be.dto.article.ArticleDetailResponseDto;
+import com.cdyt.be.mapper.ArticleMapper;
+import com.cdyt.be.repository.ArticleRepository;
+import com.cdyt.be.util.CacheNames;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Cached article details (non-deleted articles of any status), by id and by
+ * slug, in the two-tier article detail caches. Callers filter on status.
+ *
+ * Every article write must call {@link #evict} with the id and all the slugs
+ * the article had, so that both caches drop it on every node, along with the
+ * serialized public responses of this node. Loads read from the primary
+ * database, so that a lagging replica cannot refill the caches with the
+ * evicted version.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@ReadFromPrimary
+public class ArticleDetailLoader {
+
+    private final ArticleRepository articleRepository;
+    private final ArticleMapper articleMapper;
+    private final CacheManager cacheManager;
+    private final PrecompressedResponseCache responseCache;
+
+    /**
+     * Get the details of a non-deleted article by ID, or null
+     */
+    @Cacheable(value = CacheNames.ARTICLE_DETAIL_ID, key = "#id", unless = "#result == null")
+    public ArticleDetailResponseDto findById(Long id) {
+        return articleRepository.findByIdWithAuthorAndCategory(id)
+                .filter(article -> !article.getIsDeleted())
+                .map(articleMapper::toDetailResponseDto)
+                .orElse(null);
+    }
+
+    /**
+     * Get the details of a non-deleted article by slug, or null
+     */
+    @Cacheable(value = CacheNames.ARTICLE_DETAIL_SLUG, key = "#slug", unless = "#result == null")
+    public ArticleDetailResponseDto findBySlug(String slug) {
+        return articleRepository.findBySlugWithAuthorAndCategory(slug)
+                .filter(article -> !article.getIsDeleted())
+                .map(articleMapper::toDetailResponseDto)
+                .orElse(null);
+    }
+
+    /**
+     * Evict an article from both caches (applied after the current transaction
+     * commits) and drop its serialized responses
+     */
+    public void evict(Long id, String... slugs) {
+        Cache byId = cacheManager.getCache(CacheNames.ARTICLE_DETAIL_ID);
+        if (byId != null) {
+            byId.evict(id);
+        }
+        responseCache.evict(responseKey(id));
+        Cache bySlug = cacheManager.getCache(CacheNames.ARTICLE_DETAIL_SLUG);
+        for (String slug : slugs) {
+            if (slug != null) {
+                if (bySlug != null) {
+                    bySlug.evict(slug);
+                }
+                responseCache.evict(responseKey(slug));
+            }
+        }
+    }
+
+    /**
+     * Key of the serialized public response of an article by ID
+     */
+    public static String responseKey(Long id) {
+        return "article:id:" + id;
+    }
+
+    /**
+     * Key of the serialized public response of an article by slug
+     */
+    public static String responseKey(String slug) {
+        return "article:slug:" + slug;
+    }
+}
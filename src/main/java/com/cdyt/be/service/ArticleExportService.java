@@ -0,0 +1,207 @@
+package com.cdyt.be.service;
+
+import com.cdyt.be.common.exception.BusinessException;
+import com.cdyt.be.common.export.ExportFormat;
+import com.cdyt.be.dto.article.ArticleExportRow;
+import com.cdyt.be.dto.article.ArticleSearchRequestDto;
+import com.cdyt.be.dto.article.PublicArticleSearchRequestDto;
+import com.cdyt.be.repository.ArticleExportRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.function.Consumer;
+
+/**
+ * Streaming article exports (NDJSON / CSV).
+ *
+ * Filters are validated up front so that bad requests still get a normal
+ * error response; the returned body then writes each row to the response as
+ * it is read from the database cursor (see {@link ArticleExportRepository}).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleExportService {
+
+    private static final String[] CSV_HEADER = {
+            "id", "title", "slug", "summary", "authorId", "authorName", "categoryId", "categoryName", "tags",
+            "coverImageUrl", "status", "publishedAt", "viewCount", "likeCount", "commentCount", "createdAt",
+            "updatedAt" };
+
+    private final ArticleExportRepository articleExportRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Export non-deleted articles matching the admin search filters (paging
+     * fields are ignored)
+     */
+    public StreamingResponseBody exportArticles(ArticleSearchRequestDto searchRequest, ExportFormat format) {
+        String title = searchRequest.getCleanTitle();
+        Integer status = parseStatus(searchRequest.getCleanStatus());
+        Long authorId = searchRequest.getAuthorId();
+        Long categoryId = searchRequest.getCategoryId();
+        Integer minViewCount = searchRequest.getMinViewCount();
+        Integer maxViewCount = searchRequest.getMaxViewCount();
+
+        return output -> write(output, format, "articles", rows -> articleExportRepository.streamArticles(
+                title, status, authorId, categoryId, minViewCount, maxViewCount, rows));
+    }
+
+    /**
+     * Export published articles matching the public search filters (paging
+     * fields are ignored)
+     */
+    public StreamingResponseBody exportPublishedArticles(PublicArticleSearchRequestDto searchRequest,
+            ExportFormat format) {
+        String title = searchRequest.getCleanTitle();
+        LocalDate fromDate = parseDate(searchRequest.getFromDate(), "fromDate");
+        LocalDate toDate = parseDate(searchRequest.getToDate(), "toDate");
+
+        // Half-open [from, to) range on published_at, as in the paginated search
+        LocalDateTime from = fromDate != null ? fromDate.atStartOfDay() : null;
+        LocalDateTime to = toDate != null ? toDate.plusDays(1).atStartOfDay() : null;
+
+        return output -> write(output, format, "published articles",
+                rows -> articleExportRepository.streamPublishedArticles(title, from, to, rows));
+    }
+
+    // Helper methods
+
+    /**
+     * Run the export, writing every row it produces in the given format
+     */
+    private void write(OutputStream output, ExportFormat format, String exportName,
+            Consumer<Consumer<ArticleExportRow>> export) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        long[] count = { 0 };
+        try {
+            if (format == ExportFormat.CSV) {
+                writeCsvRecord(writer, CSV_HEADER);
+                export.accept(row -> {
+                    writeCsvRow(writer, row);
+                    count[0]++;
+                });
+            } else {
+                // One document per line; only the writer buffer decides when bytes go out
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                        .setRootValueSeparator(new SerializedString("\n"));
+                export.accept(row -> {
+                    writeJsonRow(generator, row);
+                    count[0]++;
+                });
+                generator.close();
+                if (count[0] > 0) {
+                    writer.write('\n');
+                }
+            }
+        } catch (UncheckedIOException e) {
+            // Client went away: the cursor and its transaction are already released
+            log.warn("Export of {} aborted after {} rows: {}", exportName, count[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        writer.flush();
+        log.info("Exported {} {} as {}", count[0], exportName, format);
+    }
+
+    private void writeJsonRow(JsonGenerator generator, ArticleExportRow row) {
+        try {
+            objectMapper.writeValue(generator, row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, ArticleExportRow row) {
+        try {
+            writeCsvRecord(writer, new String[] {
+                    String.valueOf(row.id()),
+                    row.title(),
+                    row.slug(),
+                    row.summary(),
+                    text(row.authorId()),
+                    row.authorName(),
+                    text(row.categoryId()),
+                    row.categoryName(),
+                    String.join("|", row.tags()),
+                    row.coverImageUrl(),
+                    text(row.status()),
+                    text(row.publishedAt()),
+                    text(row.viewCount()),
+                    text(row.likeCount()),
+                    text(row.commentCount()),
+                    text(row.createdAt()),
+                    text(row.updatedAt()) });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write one RFC 4180 record: fields containing a separator, quote or line
+     * break are quoted, quotes are doubled, null is an empty field
+     */
+    private static void writeCsvRecord(Writer writer, String[] fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String field = fields[i];
+            if (field == null) {
+                continue;
+            }
+            if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0 || field.indexOf('\n') >= 0
+                    || field.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(field.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(field);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String text(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static Integer parseStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(status);
+        } catch (NumberFormatException e) {
+            throw BusinessException.invalidInput("Invalid status: " + status + ". Use 0, 1 or 2.");
+        }
+    }
+
+    private static LocalDate parseDate(String date, String field) {
+        if (date == null || date.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(date.trim(), DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (DateTimeParseException e) {
+            throw BusinessException.invalidInput("Invalid " + field + " format. Use YYYY-MM-DD format.");
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.cdyt.be.service;
+
+import com.cdyt.be.common.cache.TagChangedEvent;
+import com.cdyt.be.common.context.UserContextHolder;
+import com.cdyt.be.common.exception.BusinessException;
+import com.cdyt.be.common.export.ExportFormat;
+import com.cdyt.be.dto.article.ArticleImportResult;
+import com.cdyt.be.dto.article.ArticleImportRow;
+import com.cdyt.be.entity.Article;
+import com.cdyt.be.entity.User;
+import com.cdyt.be.repository.ArticleImportRepository;
+import com.cdyt.be.repository.ArticleImportRepository.StagedArticle;
+import com.cdyt.be.util.TextUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk article import (NDJSON / CSV), e.g. to migrate content from another
+ * CMS.
+ *
+ * The input is parsed and validated row by row while it is streamed into a
+ * staging table with a binary COPY; slugs, authors, categories and tags are
+ * then resolved with set-based statements and the articles and tag links are
+ * inserted in one go (see {@link ArticleImportRepository}). The import is all
+ * or nothing: any invalid row or unknown reference rolls it back.
+ */
+@Service
+@Slf4j
+public class ArticleImportService {
+
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    // Leaves room for the numeric suffix within the 255 characters of the column
+    private static final int MAX_BASE_SLUG_LENGTH = 200;
+
+    private final ArticleImportRepository articleImportRepository;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ArticleImportService(ArticleImportRepository articleImportRepository, ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher) {
+        this.articleImportRepository = articleImportRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .build();
+    }
+
+    /**
+     * Import the articles of an NDJSON or CSV (header row, tags separated by
+     * "|") stream
+     */
+    @Transactional
+    public ArticleImportResult importArticles(InputStream input, ExportFormat format) {
+        User currentUser = UserContextHolder.getCurrentUser();
+        if (currentUser == null) {
+            throw BusinessException.unauthorized("User context not found. Please ensure you are authenticated.");
+        }
+        long start = System.currentTimeMillis();
+
+        articleImportRepository.lockArticles();
+        articleImportRepository.createStagingTable();
+        int staged = articleImportRepository.stage(stagedRows(read(input, format)));
+        if (staged == 0) {
+            throw BusinessException.invalidInput("No articles to import");
+        }
+
+        rejectUnresolved(articleImportRepository.resolveAuthors(currentUser.getId()), "Unknown author email");
+        rejectUnresolved(articleImportRepository.resolveCategories(), "Unknown category slug");
+        articleImportRepository.assignSlugs();
+
+        int createdTags = articleImportRepository.createMissingTags();
+        int imported = articleImportRepository.insertArticles();
+        int linkedTags = articleImportRepository.linkTags();
+        articleImportRepository.recomputeTagUsage();
+        articleImportRepository.addStatistics();
+        eventPublisher.publishEvent(new TagChangedEvent(null));
+
+        long durationMs = System.currentTimeMillis() - start;
+        log.info("Imported {} articles ({} tag links, {} new tags) in {} ms", imported, linkedTags, createdTags,
+                durationMs);
+        return new ArticleImportResult(imported, createdTags, linkedTags, durationMs);
+    }
+
+    private MappingIterator<ArticleImportRow> read(InputStream input, ExportFormat format) {
+        try {
+            return switch (format) {
+                case NDJSON -> objectMapper.readerFor(ArticleImportRow.class).readValues(input);
+                case CSV -> csvMapper.readerFor(ArticleImportRow.class)
+                        .with(CsvSchema.emptySchema().withHeader().withArrayElementSeparator("|"))
+                        .readValues(input);
+            };
+        } catch (IOException e) {
+            throw invalidRow(1, e);
+        }
+    }
+
+    /**
+     * Validated rows, numbered from 1 in input order
+     */
+    private Iterator<StagedArticle> stagedRows(MappingIterator<ArticleImportRow> rows) {
+        return new Iterator<>() {
+            private long lineNo;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    return rows.hasNextValue();
+                } catch (IOException e) {
+                    throw invalidRow(lineNo + 1, e);
+                }
+            }
+
+            @Override
+            public StagedArticle next() {
+                lineNo++;
+                try {
+                    return validate(lineNo, rows.nextValue());
+                } catch (IOException e) {
+                    throw invalidRow(lineNo, e);
+                }
+            }
+        };
+    }
+
+    private StagedArticle validate(long lineNo, ArticleImportRow row) {
+        if (row.title() == null || row.title().isBlank()) {
+            throw invalidRow(lineNo, "title is required");
+        }
+        checkLength(lineNo, "title", row.title());
+        checkLength(lineNo, "coverImageUrl", row.coverImageUrl());
+        checkLength(lineNo, "seoTitle", row.seoTitle());
+        checkLength(lineNo, "seoDescription", row.seoDescription());
+        checkLength(lineNo, "seoKeywords", row.seoKeywords());
+
+        int status = row.status() != null ? row.status() : Article.STATUS_DRAFT;
+        if (status != Article.STATUS_DRAFT && status != Article.STATUS_PUBLISHED
+                && status != Article.STATUS_ARCHIVED) {
+            throw invalidRow(lineNo, "status must be 0 (draft), 1 (published) or 2 (archived)");
+        }
+        // Only published articles carry a publish date, as with the single-article API
+        LocalDateTime publishedAt = status == Article.STATUS_PUBLISHED
+                ? (row.publishedAt() != null ? row.publishedAt() : LocalDateTime.now())
+                : null;
+
+        int viewCount = row.viewCount() != null ? row.viewCount() : 0;
+        if (viewCount < 0) {
+            throw invalidRow(lineNo, "viewCount must be >= 0");
+        }
+
+        List<String> tagNames = new ArrayList<>();
+        List<String> tagSlugs = new ArrayList<>();
+        if (row.tags() != null) {
+            Set<String> seen = new HashSet<>();
+            for (String tag : row.tags()) {
+                String name = tag != null ? tag.strip() : "";
+                String slug = TextUtils.generateSlug(name);
+                if (!slug.isEmpty() && seen.add(slug)) {
+                    checkLength(lineNo, "tag", name);
+                    tagNames.add(name);
+                    tagSlugs.add(slug);
+                }
+            }
+        }
+
+        return new StagedArticle(lineNo, row, baseSlug(row.title()), status, publishedAt, viewCount, tagNames,
+                tagSlugs);
+    }
+
+    private static String baseSlug(String title) {
+        String slug = TextUtils.generateSlug(title);
+        if (slug.length() > MAX_BASE_SLUG_LENGTH) {
+            slug = slug.substring(0, MAX_BASE_SLUG_LENGTH).replaceAll("-+$", "");
+        }
+        return slug.isEmpty() ? "article" : slug;
+    }
+
+    private static void checkLength(long lineNo, String field, String value) {
+        if (value != null && value.length() > MAX_TEXT_LENGTH) {
+            throw invalidRow(lineNo, field + " must not exceed " + MAX_TEXT_LENGTH + " characters");
+        }
+    }
+
+    private static void rejectUnresolved(List<Long> lineNos, String problem) {
+        if (!lineNos.isEmpty()) {
+            throw BusinessException.invalidInput(problem + " on row(s) " + lineNos);
+        }
+    }
+
+    private static BusinessException invalidRow(long lineNo, IOException e) {
+        String message = e instanceof JsonProcessingException jsonException
+                ? jsonException.getOriginalMessage()
+                : e.getMessage();
+        return invalidRow(lineNo, message);
+    }
+
+    private static BusinessException invalidRow(long lineNo, String problem) {
+        return BusinessException.invalidInput("Invalid import row " + lineNo + ": " + problem);
+    }
+}
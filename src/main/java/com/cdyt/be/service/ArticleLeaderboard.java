@@ -0,0 +1,454 @@
+package com.cdyt.be.service;
+
+import com.cdyt.be.common.annotation.ReadFromPrimary;
+import com.cdyt.be.common.cache.ArticleChangedEvent;
+import com.cdyt.be.common.cache.CategoryTreeCache;
+import com.cdyt.be.common.cache.CategoryTreeSnapshot;
+import com.cdyt.be.entity.Article;
+import com.cdyt.be.repository.ArticleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bounded leaderboard of the most viewed (non-deleted) articles.
+ *
+ * The board lives in a Redis sorted set shared by all instances, scored by
+ * view count, with the status, category and tags of each entry in a side hash
+ * for scoped queries. Every instance keeps an immutable in-JVM mirror of it,
+ * so reads never go to Redis or scan the article table.
+ *
+ * - View count flushes add their deltas to entries already on the board
+ * - Article writes that change the status, category or tags of an article,
+ * or delete or restore it, update its entry after commit
+ * - A periodic rebuild from the database (one indexed LIMIT query) lets new
+ * articles enter and removes stale ones; one instance per period runs it,
+ * behind a Redis lock, and swaps the new board in atomically
+ *
+ * Every write bumps a version key; instances poll it and reload their mirror
+ * when it moved, so writes made elsewhere show up within the poll interval.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ArticleLeaderboard {
+
+    private static final String BOARD_KEY = "article:leaderboard";
+    private static final String META_KEY = "article:leaderboard:meta";
+    private static final String VERSION_KEY = "article:leaderboard:version";
+    private static final String REBUILD_LOCK_KEY = "article:leaderboard:rebuild-lock";
+
+    // Add deltas (ARGV: member, delta, member, delta...) to the members already on the board
+    private static final DefaultRedisScript<Long> APPLY_DELTAS = new DefaultRedisScript<>(
+            "for i = 1, #ARGV, 2 do " +
+                    "if redis.call('ZSCORE', KEYS[1], ARGV[i]) then " +
+                    "redis.call('ZINCRBY', KEYS[1], ARGV[i + 1], ARGV[i]) end " +
+                    "end " +
+                    "return redis.call('INCR', KEYS[2])",
+            Long.class);
+
+    // Replace board and meta with the temporary keys (or drop both when the board is empty)
+    private static final DefaultRedisScript<Long> SWAP = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+                    "redis.call('RENAME', KEYS[1], KEYS[3]) " +
+                    "redis.call('RENAME', KEYS[2], KEYS[4]) " +
+                    "else redis.call('DEL', KEYS[2], KEYS[3], KEYS[4]) end " +
+                    "return redis.call('INCR', KEYS[5])",
+            Long.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final StringRedisTemplate redisTemplate;
+    private final ArticleRepository articleRepository;
+    private final CategoryTreeCache categoryTreeCache;
+
+    private final AtomicReference<Board> mirror = new AtomicReference<>(Board.EMPTY);
+
+    @Value("${leaderboard.size:1000}")
+    private int boardSize;
+
+    @Value("${leaderboard.rebuild-interval-ms:300000}")
+    private long rebuildIntervalMs;
+
+    // ========== READS (in-JVM mirror) ==========
+
+    /**
+     * Get one page of the leaderboard, optionally scoped to a category subtree
+     * and/or a tag
+     *
+     * @param publishedOnly only published articles (public access)
+     * @param categoryId    category whose subtree to keep, or null
+     * @param tagId         tag to keep, or null
+     */
+    public Ranking getTop(int page, int size, boolean publishedOnly, Long categoryId, Long tagId) {
+        Board board = mirror.get();
+        CategoryTreeSnapshot categories = categoryId != null ? categoryTreeCache.get() : null;
+
+        List<Long> articleIds = new ArrayList<>(size);
+        long offset = (long) page * size;
+        int matched = 0;
+        for (int i = 0; i < board.articleIds.length; i++) {
+            if (publishedOnly && board.statuses[i] != Article.STATUS_PUBLISHED) {
+                continue;
+            }
+            if (categoryId != null && !categories.isInSubtree(categoryId, board.categoryIds[i])) {
+                continue;
+            }
+            if (tagId != null && !contains(board.tagIds[i], tagId)) {
+                continue;
+            }
+            if (matched >= offset && articleIds.size() < size) {
+                articleIds.add(board.articleIds[i]);
+            }
+            matched++;
+        }
+        return new Ranking(articleIds, matched);
+    }
+
+    /**
+     * Get the IDs of board articles with at least the given view count, most
+     * viewed first (bounded by the board size)
+     */
+    public List<Long> getAboveThreshold(long threshold, boolean publishedOnly) {
+        Board board = mirror.get();
+        List<Long> articleIds = new ArrayList<>();
+        for (int i = 0; i < board.articleIds.length && board.viewCounts[i] >= threshold; i++) {
+            if (!publishedOnly || board.statuses[i] == Article.STATUS_PUBLISHED) {
+                articleIds.add(board.articleIds[i]);
+            }
+        }
+        return articleIds;
+    }
+
+    // ========== WRITES ==========
+
+    /**
+     * Add flushed view count deltas to the articles already on the board and
+     * refresh the mirror. Articles not on the board enter at the next rebuild.
+     */
+    public void applyViewDeltas(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // One round trip for the whole flush
+        List<String> args = new ArrayList<>(deltas.size() * 2);
+        for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+            args.add(delta.getKey().toString());
+            args.add(delta.getValue().toString());
+        }
+        redisTemplate.execute(APPLY_DELTAS, List.of(BOARD_KEY, VERSION_KEY), args.toArray());
+        refreshMirror();
+    }
+
+    /**
+     * Remove an article from the board (deleted, unpublished...)
+     */
+    public void remove(Long articleId) {
+        redisTemplate.opsForZSet().remove(BOARD_KEY, articleId.toString());
+        redisTemplate.opsForHash().delete(META_KEY, articleId.toString());
+        redisTemplate.opsForValue().increment(VERSION_KEY);
+        refreshMirror();
+    }
+
+    /**
+     * Re-read an article and update its entry: deleted articles leave the
+     * board, others get their current status, category and tags. An article
+     * not on the board enters when the board has room or it has more views
+     * than the least viewed entry, which then drops off.
+     */
+    public void refreshEntry(Long articleId) {
+        List<Object[]> rows = articleRepository.findLeaderboardEntry(articleId);
+        if (rows.isEmpty()) {
+            remove(articleId);
+            return;
+        }
+        Object[] row = rows.get(0);
+        long viewCount = ((Number) row[1]).longValue();
+        int status = ((Number) row[2]).intValue();
+        Long categoryId = row[3] != null ? ((Number) row[3]).longValue() : null;
+        List<Long> tagIds = new ArrayList<>();
+        for (Object[] tagRow : articleRepository.findTagIdsByArticleIds(List.of(articleId))) {
+            tagIds.add(((Number) tagRow[1]).longValue());
+        }
+
+        String member = articleId.toString();
+        ZSetOperations<String, String> board = redisTemplate.opsForZSet();
+        if (board.score(BOARD_KEY, member) == null && !hasRoomFor(board, viewCount)) {
+            return;
+        }
+        redisTemplate.opsForHash().put(META_KEY, member, encodeMeta(status, categoryId, tagIds));
+        // Entries already on the board keep their score, which includes flushed views
+        board.addIfAbsent(BOARD_KEY, member, viewCount);
+        trim(board);
+        redisTemplate.opsForValue().increment(VERSION_KEY);
+        refreshMirror();
+    }
+
+    /**
+     * Update the entry of an article after a write to it commits (failures
+     * leave the entry to the next rebuild)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @ReadFromPrimary
+    public void onArticleChanged(ArticleChangedEvent event) {
+        try {
+            refreshEntry(event.articleId());
+        } catch (Exception e) {
+            log.warn("Failed to update leaderboard entry of article {}: {}", event.articleId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the board from the database, unless another instance already did
+     * in this period (the lock expires shortly before the next one)
+     */
+    @Scheduled(fixedDelayString = "${leaderboard.rebuild-interval-ms:300000}",
+            initialDelayString = "${leaderboard.rebuild-interval-ms:300000}")
+    public void scheduledRebuild() {
+        Duration hold = Duration.ofMillis(Math.max(rebuildIntervalMs * 9 / 10, 1000));
+        if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK_KEY, nodeId, hold))) {
+            rebuild();
+        } else {
+            refreshMirror();
+        }
+    }
+
+    /**
+     * Rebuild the board from the database: the top articles by view count with
+     * their status, category and tags (two queries), swapped into Redis
+     * atomically through temporary keys
+     */
+    public void rebuild() {
+        List<Object[]> rows = articleRepository.findTopViewedArticles(boardSize);
+        List<Long> articleIds = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            articleIds.add(((Number) row[0]).longValue());
+        }
+
+        Map<Long, List<Long>> tagIds = new HashMap<>();
+        if (!articleIds.isEmpty()) {
+            for (Object[] row : articleRepository.findTagIdsByArticleIds(articleIds)) {
+                tagIds.computeIfAbsent(((Number) row[0]).longValue(), id -> new ArrayList<>())
+                        .add(((Number) row[1]).longValue());
+            }
+        }
+
+        String boardTmp = BOARD_KEY + ":tmp:" + nodeId;
+        String metaTmp = META_KEY + ":tmp:" + nodeId;
+        redisTemplate.delete(List.of(boardTmp, metaTmp));
+        if (!rows.isEmpty()) {
+            Set<ZSetOperations.TypedTuple<String>> entries = new HashSet<>();
+            Map<String, String> meta = new HashMap<>();
+            for (Object[] row : rows) {
+                Long articleId = ((Number) row[0]).longValue();
+                long viewCount = ((Number) row[1]).longValue();
+                int status = ((Number) row[2]).intValue();
+                Long categoryId = row[3] != null ? ((Number) row[3]).longValue() : null;
+                entries.add(ZSetOperations.TypedTuple.of(articleId.toString(), (double) viewCount));
+                meta.put(articleId.toString(), encodeMeta(status, categoryId, tagIds.get(articleId)));
+            }
+            redisTemplate.opsForZSet().add(boardTmp, entries);
+            redisTemplate.opsForHash().putAll(metaTmp, meta);
+        }
+        redisTemplate.execute(SWAP, List.of(boardTmp, metaTmp, BOARD_KEY, META_KEY, VERSION_KEY));
+
+        refreshMirror();
+        log.debug("Article leaderboard rebuilt with {} entries", rows.size());
+    }
+
+    /**
+     * Build the board on startup, or load the one another instance built
+     * (failures only leave the board empty)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            scheduledRebuild();
+        } catch (Exception e) {
+            log.warn("Failed to build article leaderboard on startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reload the mirror when the board changed on another instance
+     */
+    @Scheduled(fixedDelayString = "${leaderboard.mirror-refresh-interval-ms:2000}")
+    public void refreshIfChanged() {
+        try {
+            if (readVersion() != mirror.get().version) {
+                refreshMirror();
+            }
+        } catch (Exception e) {
+            log.debug("Failed to check leaderboard version: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reload the in-JVM mirror from Redis and swap it in
+     */
+    public void refreshMirror() {
+        // Read the version first: the board loaded next is at least that new
+        long version = readVersion();
+        Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate.opsForZSet()
+                .reverseRangeWithScores(BOARD_KEY, 0, boardSize - 1);
+        if (entries == null || entries.isEmpty()) {
+            mirror.set(Board.empty(version));
+            return;
+        }
+
+        List<Object> members = new ArrayList<>(entries.size());
+        for (ZSetOperations.TypedTuple<String> entry : entries) {
+            members.add(entry.getValue());
+        }
+        List<Object> metas = redisTemplate.opsForHash().multiGet(META_KEY, members);
+
+        int size = entries.size();
+        long[] articleIds = new long[size];
+        long[] viewCounts = new long[size];
+        int[] statuses = new int[size];
+        long[] categoryIds = new long[size];
+        long[][] tagIds = new long[size][];
+        int i = 0;
+        for (ZSetOperations.TypedTuple<String> entry : entries) {
+            articleIds[i] = Long.parseLong(entry.getValue());
+            viewCounts[i] = entry.getScore() != null ? entry.getScore().longValue() : 0;
+            decodeMeta((String) metas.get(i), i, statuses, categoryIds, tagIds);
+            i++;
+        }
+        mirror.set(new Board(version, articleIds, viewCounts, statuses, categoryIds, tagIds));
+    }
+
+    // Helper methods
+
+    private long readVersion() {
+        String version = redisTemplate.opsForValue().get(VERSION_KEY);
+        return version != null ? Long.parseLong(version) : 0L;
+    }
+
+    /**
+     * Encode entry metadata as "status|categoryId|tagId,tagId"
+     */
+    private static String encodeMeta(int status, Long categoryId, List<Long> tagIds) {
+        StringBuilder meta = new StringBuilder().append(status).append('|');
+        if (categoryId != null) {
+            meta.append(categoryId);
+        }
+        meta.append('|');
+        if (tagIds != null) {
+            for (int i = 0; i < tagIds.size(); i++) {
+                meta.append(i > 0 ? "," : "").append(tagIds.get(i));
+            }
+        }
+        return meta.toString();
+    }
+
+    private static void decodeMeta(String meta, int index, int[] statuses, long[] categoryIds, long[][] tagIds) {
+        String[] parts = meta != null ? meta.split("\\|", -1) : new String[0];
+        statuses[index] = parts.length > 0 && !parts[0].isEmpty() ? Integer.parseInt(parts[0]) : -1;
+        categoryIds[index] = parts.length > 1 && !parts[1].isEmpty() ? Long.parseLong(parts[1]) : 0L;
+        if (parts.length > 2 && !parts[2].isEmpty()) {
+            String[] tags = parts[2].split(",");
+            tagIds[index] = new long[tags.length];
+            for (int t = 0; t < tags.length; t++) {
+                tagIds[index][t] = Long.parseLong(tags[t]);
+            }
+        } else {
+            tagIds[index] = new long[0];
+        }
+    }
+
+    private boolean hasRoomFor(ZSetOperations<String, String> board, long viewCount) {
+        Long size = board.zCard(BOARD_KEY);
+        if (size == null || size < boardSize) {
+            return true;
+        }
+        Set<ZSetOperations.TypedTuple<String>> lowest = board.rangeWithScores(BOARD_KEY, 0, 0);
+        if (lowest == null || lowest.isEmpty()) {
+            return true;
+        }
+        Double lowestScore = lowest.iterator().next().getScore();
+        return lowestScore == null || viewCount > lowestScore;
+    }
+
+    /**
+     * Drop the least viewed entries beyond the board size
+     */
+    private void trim(ZSetOperations<String, String> board) {
+        Long size = board.zCard(BOARD_KEY);
+        if (size == null || size <= boardSize) {
+            return;
+        }
+        Set<ZSetOperations.TypedTuple<String>> dropped = board.popMin(BOARD_KEY, size - boardSize);
+        if (dropped != null && !dropped.isEmpty()) {
+            Object[] members = dropped.stream().map(ZSetOperations.TypedTuple::getValue).toArray();
+            redisTemplate.opsForHash().delete(META_KEY, members);
+        }
+    }
+
+    private static boolean contains(long[] values, long value) {
+        for (long candidate : values) {
+            if (candidate == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One page of article IDs in leaderboard order, with the number of board
+     * entries matching the scope
+     */
+    public record Ranking(List<Long> articleIds, long totalMatching) {
+    }
+
+    /**
+     * Immutable mirror of the board, most viewed first
+     */
+    private static final class Board {
+        // Never matches a version read from Redis: the first check loads the board
+        static final Board EMPTY = empty(-1L);
+
+        final long version;
+        final long[] articleIds;
+        final long[] viewCounts;
+        final int[] statuses;
+        final long[] categoryIds; // 0 = no category
+        final long[][] tagIds;
+
+        Board(long version, long[] articleIds, long[] viewCounts, int[] statuses, long[] categoryIds,
+                long[][] tagIds) {
+            this.version = version;
+            this.articleIds = articleIds;
+            this.viewCounts = viewCounts;
+            this.statuses = statuses;
+            this.categoryIds = categoryIds;
+            this.tagIds = tagIds;
+        }
+
+        static Board empty(long version) {
+            return new Board(version, new long[0], new long[0], new int[0], new long[0], new long[0][]);
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.cdyt.be.service;
 
+import com.cdyt.be.common.cache.ArticleChangedEvent;
+import com.cdyt.be.common.cache.TagUsageChangedEvent;
 import com.cdyt.be.common.context.UserContextHolder;
 import com.cdyt.be.common.exception.BusinessException;
+import com.cdyt.be.common.pagination.PageCountResolver;
 import com.cdyt.be.dto.article.ArticleDetailResponseDto;
+import com.cdyt.be.dto.article.ArticleField;
 import com.cdyt.be.dto.article.ArticleResponseDto;
 import com.cdyt.be.dto.article.ArticleSearchRequestDto;
 import com.cdyt.be.dto.article.ArticlesByTagSearchRequestDto;
 import com.cdyt.be.dto.article.CreateArticleDto;
+import com.cdyt.be.dto.article.ProjectedArticle;
 import com.cdyt.be.dto.article.PublicArticleSearchRequestDto;
 import com.cdyt.be.dto.article.UpdateArticleDto;
 import com.cdyt.be.entity.Article;
@@ -14,17 +19,19 @@ import com.cdyt.be.entity.Category;
 import com.cdyt.be.entity.Tag;
 import com.cdyt.be.entity.User;
 import com.cdyt.be.mapper.ArticleMapper;
+import com.cdyt.be.repository.ArticleProjectionRepository;
 import com.cdyt.be.repository.ArticleRepository;
-import com.cdyt.be.repository.CategoryRepository;
 import com.cdyt.be.repository.TagRepository;
 import com.cdyt.be.util.TextUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import java.time.Duration;
@@ -34,6 +41,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -47,19 +55,35 @@ import java.util.Set;
 public class ArticleService {
 
     private final ArticleRepository articleRepository;
+    private final ArticleProjectionRepository articleProjectionRepository;
     private final ArticleMapper articleMapper;
-    private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
+    private final ArticleAssociationLoader associationLoader;
+    private final ArticleDetailLoader articleDetailLoader;
+    private final ArticleLeaderboard articleLeaderboard;
     private final StringRedisTemplate redisTemplate;
+    private final PageCountResolver pageCountResolver;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlugAllocator slugAllocator;
+
+    // Planner-estimated listings (unfiltered only)
+    private static final String ALL_ARTICLES_ESTIMATE_SQL = "SELECT 1 FROM article a WHERE a.is_deleted = false";
+    private static final String PUBLISHED_ARTICLES_ESTIMATE_SQL =
+            "SELECT 1 FROM article a WHERE a.status = 1 AND a.is_deleted = false";
     private static final String VIEW_KEY_PREFIX = "article:view:";
     private static final String UNIQUE_VIEW_KEY_PREFIX = "viewed:";
     private static final Duration UNIQUE_TTL = Duration.ofHours(2);
 
     /**
-     * Create a new article with automatic tag usage tracking
+     * Create a new article with automatic tag usage tracking (in its own
+     * transaction, retried if a concurrent write takes the allocated slug)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ArticleResponseDto createArticle(CreateArticleDto createDto) {
+        return slugAllocator.retryOnConflict(() -> applyArticleCreate(createDto));
+    }
+
+    private ArticleResponseDto applyArticleCreate(CreateArticleDto createDto) {
         Article article = articleMapper.toEntity(createDto);
 
         // Set author from current user context
@@ -70,10 +94,9 @@ public class ArticleService {
             throw BusinessException.unauthorized("User context not found. Please ensure you are authenticated.");
         }
 
-        // Generate unique slug from title
-        String baseSlug = TextUtils.generateSlug(createDto.getTitle());
-        String uniqueSlug = generateUniqueSlug(baseSlug);
-        article.setSlug(uniqueSlug);
+        // Allocate unique slug from title
+        article.setSlug(slugAllocator.allocate(SlugAllocator.Table.ARTICLE,
+                TextUtils.generateSlug(createDto.getTitle()), null));
 
         // Handle tags if provided
         if (createDto.hasTags()) {
@@ -88,6 +111,7 @@ public class ArticleService {
 
         // Save article first
         Article savedArticle = articleRepository.save(article);
+        adjustStatistics(savedArticle, 1);
 
         // Automatically increment tag usage counts for associated tags
         if (savedArticle.hasTags()) {
@@ -114,17 +138,26 @@ public class ArticleService {
      */
     public Page<ArticleResponseDto> searchArticles(ArticleSearchRequestDto searchRequest) {
         Pageable pageable = PageRequest.of(searchRequest.getPage(), searchRequest.getSize());
-        Page<Article> articles = articleRepository.findArticlesWithFilters(
-                searchRequest.getCleanTitle(),
-                searchRequest.getCleanStatus(),
-                searchRequest.getAuthorId(),
-                searchRequest.getCategoryId(),
-                searchRequest.getMinViewCount(),
-                searchRequest.getMaxViewCount(),
-                pageable);
-
-        List<ArticleResponseDto> articleDtos = articleMapper.toResponseDtoList(articles.getContent());
-        return new PageImpl<>(articleDtos, pageable, articles.getTotalElements());
+        String title = searchRequest.getCleanTitle();
+        String status = searchRequest.getCleanStatus();
+        Long authorId = searchRequest.getAuthorId();
+        Long categoryId = searchRequest.getCategoryId();
+        Integer minViewCount = searchRequest.getMinViewCount();
+        Integer maxViewCount = searchRequest.getMaxViewCount();
+
+        List<Article> articles = articleRepository.findArticlesWithFilters(
+                title, status, authorId, categoryId, minViewCount, maxViewCount, pageable);
+        List<ArticleResponseDto> articleDtos = toResponseDtoList(articles);
+
+        // Only the unfiltered listing may be estimated by the planner
+        boolean unfiltered = title == null && status == null && authorId == null && categoryId == null
+                && minViewCount == null && maxViewCount == null;
+        return pageCountResolver.page(articleDtos, pageable,
+                PageCountResolver.key("articles", title, status, authorId, categoryId, minViewCount,
+                        maxViewCount),
+                unfiltered ? ALL_ARTICLES_ESTIMATE_SQL : null,
+                cap -> articleRepository.countArticlesWithFilters(
+                        title, status, authorId, categoryId, minViewCount, maxViewCount, cap));
     }
 
     /**
@@ -133,33 +166,21 @@ public class ArticleService {
     public List<ArticleResponseDto> getAllPublishedArticles() {
         List<Article> articles = articleRepository
                 .findByStatusAndIsDeletedFalseOrderByCreatedAtDescTitleAsc(Article.STATUS_PUBLISHED);
-        return articleMapper.toResponseDtoList(articles);
-    }
-
-    /**
-     * Get all non-deleted articles
-     */
-    public List<ArticleResponseDto> getAllNonDeletedArticles() {
-        List<Article> articles = articleRepository.findByIsDeletedFalseOrderByCreatedAtDescTitleAsc();
-        return articleMapper.toResponseDtoList(articles);
+        return toResponseDtoList(articles);
     }
 
     /**
      * Get article by ID with full author and category information
      */
     public Optional<ArticleDetailResponseDto> getArticleById(Long id) {
-        return articleRepository.findByIdWithAuthorAndCategory(id)
-                .filter(article -> !article.getIsDeleted())
-                .map(articleMapper::toDetailResponseDto);
+        return Optional.ofNullable(articleDetailLoader.findById(id));
     }
 
     /**
      * Get article by slug with full author and category information
      */
     public Optional<ArticleDetailResponseDto> getArticleBySlug(String slug) {
-        return articleRepository.findBySlugWithAuthorAndCategory(slug)
-                .filter(article -> !article.getIsDeleted())
-                .map(articleMapper::toDetailResponseDto);
+        return Optional.ofNullable(articleDetailLoader.findBySlug(slug));
     }
 
     /**
@@ -168,7 +189,7 @@ public class ArticleService {
     public List<ArticleResponseDto> searchArticlesByTitle(String title) {
         List<Article> articles = articleRepository
                 .findByTitleContainingIgnoreCaseAndIsDeletedFalseOrderByCreatedAtDescTitleAsc(title);
-        return articleMapper.toResponseDtoList(articles);
+        return toResponseDtoList(articles);
     }
 
     /**
@@ -177,26 +198,16 @@ public class ArticleService {
     public List<ArticleResponseDto> getArticlesByAuthor(Long authorId) {
         List<Article> articles = articleRepository
                 .findByAuthor_IdAndIsDeletedFalseOrderByCreatedAtDescTitleAsc(authorId);
-        return articleMapper.toResponseDtoList(articles);
+        return toResponseDtoList(articles);
     }
 
     /**
      * Get articles by category (including all child categories)
      */
     public List<ArticleResponseDto> getArticlesByCategory(Long categoryId) {
-        // Get all descendant category IDs (including the category itself)
-        List<Long> categoryIds = categoryRepository.findAllDescendantIds(categoryId);
-
-        // If no categories found (category doesn't exist or is deleted), return empty
-        // list
-        if (categoryIds.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        // Find articles in the category and all its descendants
-        List<Article> articles = articleRepository
-                .findByCategory_IdInAndIsDeletedFalseOrderByCreatedAtDescTitleAsc(categoryIds);
-        return articleMapper.toResponseDtoList(articles);
+        // Deleted or unknown categories have no closure rows, so this is empty for them
+        List<Article> articles = articleRepository.findInCategorySubtree(categoryId);
+        return toResponseDtoList(articles);
     }
 
     /**
@@ -206,13 +217,21 @@ public class ArticleService {
         if (threshold == null || threshold < 0) {
             threshold = 100; // Default threshold
         }
-        List<Article> articles = articleRepository
-                .findByViewCountGreaterThanEqualAndIsDeletedFalseOrderByViewCountDescCreatedAtDesc(threshold);
-        return articleMapper.toResponseDtoList(articles);
+        // Served from the leaderboard (bounded by its size), no table scan
+        List<Article> articles = findInOrder(articleLeaderboard.getAboveThreshold(threshold, false), false);
+        return toResponseDtoList(articles);
+    }
+
+    /**
+     * Get one page of the most viewed articles, optionally limited to a category
+     * (including its children) and/or a tag
+     */
+    public Page<ArticleResponseDto> getTopArticles(int page, int size, Long categoryId, Long tagId) {
+        return getTopArticles(page, size, categoryId, tagId, false);
     }
 
     /**
-     * Get article statistics
+     * Get article statistics (from the per-status counters, not a table scan)
      */
     public ArticleStats getArticleStats() {
         Object[] stats = articleRepository.getArticleStatistics();
@@ -229,6 +248,16 @@ public class ArticleService {
         return new ArticleStats(0L, 0L, 0L, 0L, 0, 0.0);
     }
 
+    /**
+     * Add (direction 1) or remove (direction -1) a non-deleted article to/from
+     * the statistics counters of its current status
+     */
+    private void adjustStatistics(Article article, int direction) {
+        long views = article.getViewCount() != null ? article.getViewCount() : 0;
+        articleRepository.adjustStatistics(article.getStatus(), direction, direction * views,
+                direction > 0 ? views : 0);
+    }
+
     /**
      * Article statistics inner class
      */
@@ -251,31 +280,6 @@ public class ArticleService {
         }
     }
 
-    /**
-     * Generate a unique slug by appending numbers if needed
-     */
-    private String generateUniqueSlug(String baseSlug) {
-        return generateUniqueSlug(baseSlug, null);
-    }
-
-    /**
-     * Generate a unique slug by appending numbers if needed, excluding a specific
-     * ID
-     */
-    private String generateUniqueSlug(String baseSlug, Long excludeId) {
-        String slug = baseSlug;
-        int counter = 1;
-
-        while (excludeId != null
-                ? articleRepository.existsBySlugAndIdNot(slug, excludeId)
-                : articleRepository.existsBySlug(slug)) {
-            slug = baseSlug + "-" + counter;
-            counter++;
-        }
-
-        return slug;
-    }
-
     // ========== PUBLIC ACCESS METHODS (PUBLISHED ARTICLES ONLY) ==========
 
     /**
@@ -283,7 +287,7 @@ public class ArticleService {
      */
     public Page<ArticleResponseDto> getPublishedArticlesPaginated(Pageable pageable) {
         Page<Article> articles = articleRepository.findByStatusAndIsDeletedFalse(Article.STATUS_PUBLISHED, pageable);
-        List<ArticleResponseDto> articleDtos = articleMapper.toResponseDtoList(articles.getContent());
+        List<ArticleResponseDto> articleDtos = toResponseDtoList(articles.getContent());
         return new PageImpl<>(articleDtos, pageable, articles.getTotalElements());
     }
 
@@ -293,7 +297,56 @@ public class ArticleService {
      */
     public Page<ArticleResponseDto> getPublishedArticlesWithFilters(Pageable pageable, String title,
             String fromDate, String toDate) {
+        PublishedFilter filter = publishedFilter(title, fromDate, toDate);
+
+        List<Article> articles = articleRepository.findPublishedArticlesWithFilters(
+                filter.title(), filter.from(), filter.to(), pageable);
+        List<ArticleResponseDto> articleDtos = toResponseDtoList(articles);
+        return publishedPage(articleDtos, pageable, filter);
+    }
+
+    /**
+     * Get published articles with filters using request DTO (for public access)
+     */
+    public Page<ArticleResponseDto> getPublishedArticlesWithFilters(PublicArticleSearchRequestDto searchRequest) {
+        Pageable pageable = publishedPageable(searchRequest);
+        return getPublishedArticlesWithFilters(pageable, searchRequest.getTitle(),
+                searchRequest.getFromDate(), searchRequest.getToDate());
+    }
+
+    /**
+     * Get published articles with filters, reading and returning only the
+     * selected fields (for public access)
+     */
+    public Page<Map<String, Object>> getPublishedArticleFields(PublicArticleSearchRequestDto searchRequest,
+            Set<ArticleField> fields) {
+        Pageable pageable = publishedPageable(searchRequest);
+        PublishedFilter filter = publishedFilter(searchRequest.getTitle(), searchRequest.getFromDate(),
+                searchRequest.getToDate());
+
+        List<Map<String, Object>> articles = articleProjectionRepository.findPublishedArticles(fields,
+                        filter.title(), filter.from(), filter.to(), pageable.getPageSize(), pageable.getOffset())
+                .stream()
+                .map(ProjectedArticle::fields)
+                .toList();
+        return publishedPage(articles, pageable, filter);
+    }
+
+    private static Pageable publishedPageable(PublicArticleSearchRequestDto searchRequest) {
+        // Validate request
+        if (!searchRequest.isValidPage()) {
+            throw new IllegalArgumentException("Invalid page number. Must be >= 0.");
+        }
+        if (!searchRequest.isValidSize()) {
+            throw new IllegalArgumentException("Invalid page size. Must be between 1 and 100.");
+        }
+        return PageRequest.of(searchRequest.getPage(), searchRequest.getSize());
+    }
 
+    /**
+     * Parse and clean the public search filters
+     */
+    private static PublishedFilter publishedFilter(String title, String fromDate, String toDate) {
         // Parse date strings if provided
         LocalDate fromLocalDate = null;
         LocalDate toLocalDate = null;
@@ -317,62 +370,82 @@ public class ArticleService {
         // Clean title parameter
         String cleanTitle = (title != null && !title.trim().isEmpty()) ? title.trim() : null;
 
-        Page<Article> articles = articleRepository.findPublishedArticlesWithFilters(
-                cleanTitle, fromLocalDate, toLocalDate, pageable);
-        List<ArticleResponseDto> articleDtos = articleMapper.toResponseDtoList(articles.getContent());
-        return new PageImpl<>(articleDtos, pageable, articles.getTotalElements());
+        // Half-open [from, to) range on published_at
+        return new PublishedFilter(cleanTitle, startOfDay(fromLocalDate), startOfNextDay(toLocalDate));
     }
 
     /**
-     * Get published articles with filters using request DTO (for public access)
+     * Page of published articles, with the total count resolved once for
+     * every representation of the same filter
      */
-    public Page<ArticleResponseDto> getPublishedArticlesWithFilters(PublicArticleSearchRequestDto searchRequest) {
-        // Validate request
-        if (!searchRequest.isValidPage()) {
-            throw new IllegalArgumentException("Invalid page number. Must be >= 0.");
-        }
-        if (!searchRequest.isValidSize()) {
-            throw new IllegalArgumentException("Invalid page size. Must be between 1 and 100.");
-        }
+    private <T> Page<T> publishedPage(List<T> content, Pageable pageable, PublishedFilter filter) {
+        boolean unfiltered = filter.title() == null && filter.from() == null && filter.to() == null;
+        return pageCountResolver.page(content, pageable,
+                PageCountResolver.key("published", filter.title(), filter.from(), filter.to()),
+                unfiltered ? PUBLISHED_ARTICLES_ESTIMATE_SQL : null,
+                cap -> articleRepository.countPublishedArticlesWithFilters(filter.title(), filter.from(),
+                        filter.to(), cap));
+    }
 
-        Pageable pageable = PageRequest.of(searchRequest.getPage(), searchRequest.getSize());
-        return getPublishedArticlesWithFilters(pageable, searchRequest.getTitle(),
-                searchRequest.getFromDate(), searchRequest.getToDate());
+    private record PublishedFilter(String title, LocalDateTime from, LocalDateTime to) {
+    }
+
+    /**
+     * Inclusive lower bound of a date filter, or null when not filtered
+     */
+    private static LocalDateTime startOfDay(LocalDate date) {
+        return date != null ? date.atStartOfDay() : null;
+    }
+
+    /**
+     * Exclusive upper bound of an inclusive "to" date filter, or null when not
+     * filtered
+     */
+    private static LocalDateTime startOfNextDay(LocalDate date) {
+        return date != null ? date.plusDays(1).atStartOfDay() : null;
     }
 
     /**
      * Get published article by slug with full details (for public access)
      */
     public Optional<ArticleDetailResponseDto> getPublishedArticleBySlug(String slug) {
-        return articleRepository.findBySlugWithAuthorAndCategory(slug)
-                .filter(article -> !article.getIsDeleted() && article.getStatus() == Article.STATUS_PUBLISHED)
-                .map(articleMapper::toDetailResponseDto);
+        return Optional.ofNullable(articleDetailLoader.findBySlug(slug))
+                .filter(ArticleDetailResponseDto::isPublished);
     }
 
     /**
      * Get published article by ID with full details (for public access)
      */
     public Optional<ArticleDetailResponseDto> getPublishedArticleById(Long id) {
-        return articleRepository.findByIdWithAuthorAndCategory(id)
-                .filter(article -> !article.getIsDeleted() && article.getStatus() == Article.STATUS_PUBLISHED)
-                .map(articleMapper::toDetailResponseDto);
+        return Optional.ofNullable(articleDetailLoader.findById(id))
+                .filter(ArticleDetailResponseDto::isPublished);
     }
 
     /**
-     * Get published articles by category (for public access)
+     * Get a published article by slug with only the selected fields (for
+     * public access)
      */
-    public List<ArticleResponseDto> getPublishedArticlesByCategory(Long categoryId) {
-        // Get all descendant category IDs (including the category itself)
-        List<Long> categoryIds = categoryRepository.findAllDescendantIds(categoryId);
+    public Optional<ProjectedArticle> getPublishedArticleFieldsBySlug(String slug,
+            Set<ArticleField> fields) {
+        return articleProjectionRepository.findPublishedBySlug(fields, slug);
+    }
 
-        if (categoryIds.isEmpty()) {
-            return new ArrayList<>();
-        }
+    /**
+     * Get a published article by ID with only the selected fields (for public
+     * access)
+     */
+    public Optional<ProjectedArticle> getPublishedArticleFieldsById(Long id,
+            Set<ArticleField> fields) {
+        return articleProjectionRepository.findPublishedById(fields, id);
+    }
 
-        List<Article> articles = articleRepository
-                .findByCategory_IdInAndStatusAndIsDeletedFalseOrderByCreatedAtDescTitleAsc(
-                        categoryIds, Article.STATUS_PUBLISHED);
-        return articleMapper.toResponseDtoList(articles);
+    /**
+     * Get published articles by category (for public access)
+     */
+    public List<ArticleResponseDto> getPublishedArticlesByCategory(Long categoryId) {
+        List<Article> articles = articleRepository.findInCategorySubtreeByStatus(
+                categoryId, Article.STATUS_PUBLISHED);
+        return toResponseDtoList(articles);
     }
 
     /**
@@ -382,10 +455,16 @@ public class ArticleService {
         if (threshold == null || threshold < 0) {
             threshold = 100;
         }
-        List<Article> articles = articleRepository
-                .findByViewCountGreaterThanEqualAndStatusAndIsDeletedFalseOrderByViewCountDescCreatedAtDesc(
-                        threshold, Article.STATUS_PUBLISHED);
-        return articleMapper.toResponseDtoList(articles);
+        List<Article> articles = findInOrder(articleLeaderboard.getAboveThreshold(threshold, true), true);
+        return toResponseDtoList(articles);
+    }
+
+    /**
+     * Get one page of the most viewed published articles, optionally limited to a
+     * category (including its children) and/or a tag (for public access)
+     */
+    public Page<ArticleResponseDto> getTopPublishedArticles(int page, int size, Long categoryId, Long tagId) {
+        return getTopArticles(page, size, categoryId, tagId, true);
     }
 
     /**
@@ -395,7 +474,7 @@ public class ArticleService {
         List<Article> articles = articleRepository
                 .findByTitleContainingIgnoreCaseAndStatusAndIsDeletedFalseOrderByCreatedAtDescTitleAsc(
                         title, Article.STATUS_PUBLISHED);
-        return articleMapper.toResponseDtoList(articles);
+        return toResponseDtoList(articles);
     }
 
     /**
@@ -446,14 +525,83 @@ public class ArticleService {
 
         Pageable pageable = PageRequest.of(searchRequest.getPage(), searchRequest.getSize());
 
-        Page<Article> articles = articleRepository.findPublishedArticlesByTagWithFilters(
-                searchRequest.getTagId(),
-                searchRequest.getCleanTitle(),
-                fromLocalDate,
-                toLocalDate,
-                pageable);
+        Long tagId = searchRequest.getTagId();
+        String title = searchRequest.getCleanTitle();
+        LocalDateTime from = startOfDay(fromLocalDate);
+        LocalDateTime to = startOfNextDay(toLocalDate);
+
+        List<Article> articles = articleRepository.findPublishedArticlesByTagWithFilters(
+                tagId, title, from, to, pageable);
+        List<ArticleResponseDto> articleDtos = toResponseDtoList(articles);
+
+        // Tag listings are bounded by the tag's usage, so they are always counted (capped)
+        return pageCountResolver.page(articleDtos, pageable,
+                PageCountResolver.key("published-by-tag", tagId, title, from, to),
+                null,
+                cap -> articleRepository.countPublishedArticlesByTagWithFilters(tagId, title, from, to, cap));
+    }
+
+    /**
+     * Get one page of the leaderboard as article DTOs
+     */
+    private Page<ArticleResponseDto> getTopArticles(int page, int size, Long categoryId, Long tagId,
+            boolean publishedOnly) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Invalid page number. Must be >= 0.");
+        }
+        if (size < 1 || size > 100) {
+            throw new IllegalArgumentException("Invalid page size. Must be between 1 and 100.");
+        }
+
+        ArticleLeaderboard.Ranking ranking = articleLeaderboard.getTop(page, size, publishedOnly, categoryId, tagId);
+        List<Article> articles = findInOrder(ranking.articleIds(), publishedOnly);
+        if (articles.size() < ranking.articleIds().size()) {
+            // Entries went stale (an update missed by this board): correct them
+            // and rank again, so that the page is full and the total right
+            Set<Long> foundIds = new HashSet<>();
+            for (Article article : articles) {
+                foundIds.add(article.getId());
+            }
+            for (Long articleId : ranking.articleIds()) {
+                if (!foundIds.contains(articleId)) {
+                    articleLeaderboard.refreshEntry(articleId);
+                }
+            }
+            ranking = articleLeaderboard.getTop(page, size, publishedOnly, categoryId, tagId);
+            articles = findInOrder(ranking.articleIds(), publishedOnly);
+        }
+        return new PageImpl<>(toResponseDtoList(articles), PageRequest.of(page, size), ranking.totalMatching());
+    }
+
+    /**
+     * Load articles by primary key, keeping the order of the given IDs and
+     * dropping articles deleted (or unpublished) since the IDs were ranked
+     */
+    private List<Article> findInOrder(List<Long> articleIds, boolean publishedOnly) {
+        if (articleIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Article> articlesById = new HashMap<>();
+        for (Article article : articleRepository.findAllById(articleIds)) {
+            articlesById.put(article.getId(), article);
+        }
+
+        List<Article> articles = new ArrayList<>(articleIds.size());
+        for (Long articleId : articleIds) {
+            Article article = articlesById.get(articleId);
+            if (article != null && !article.getIsDeleted() && (!publishedOnly || article.isPublished())) {
+                articles.add(article);
+            }
+        }
+        return articles;
+    }
 
-        return articles.map(articleMapper::toResponseDto);
+    /**
+     * Map a page of articles, loading authors, categories and tags for the whole
+     * page in batched queries instead of one lazy load per article
+     */
+    private List<ArticleResponseDto> toResponseDtoList(List<Article> articles) {
+        return articleMapper.toResponseDtoList(articles, associationLoader.load(articles));
     }
 
     // ========== AUTOMATIC TAG USAGE TRACKING ==========
@@ -466,15 +614,20 @@ public class ArticleService {
             return new HashSet<>();
         }
 
+        Map<Long, Tag> tagsById = new HashMap<>();
+        for (Tag tag : tagRepository.findAllById(tagIds)) {
+            tagsById.put(tag.getId(), tag);
+        }
+
         Set<Tag> tags = new HashSet<>();
         for (Long tagId : tagIds) {
-            Tag tag = tagRepository.findById(tagId)
-                    .orElseThrow(() -> BusinessException.notFound("Tag", tagId));
-
+            Tag tag = tagsById.get(tagId);
+            if (tag == null) {
+                throw BusinessException.notFound("Tag", tagId);
+            }
             if (tag.getIsDeleted()) {
                 throw BusinessException.invalidState("Cannot use deleted tag with ID: " + tagId);
             }
-
             tags.add(tag);
         }
         return tags;
@@ -485,13 +638,7 @@ public class ArticleService {
      */
     private void incrementTagUsageForArticle(Article article) {
         if (article.hasTags()) {
-            for (Tag tag : article.getTags()) {
-                try {
-                    tagRepository.incrementUsageCount(tag.getId());
-                } catch (Exception e) {
-                    log.warn("Failed to increment usage for tag {}: {}", tag.getName(), e.getMessage());
-                }
-            }
+            adjustTagUsage(tagIds(article.getTags()), 1);
         }
     }
 
@@ -500,13 +647,7 @@ public class ArticleService {
      */
     private void decrementTagUsageForArticle(Article article) {
         if (article.hasTags()) {
-            for (Tag tag : article.getTags()) {
-                try {
-                    tagRepository.decrementUsageCount(tag.getId());
-                } catch (Exception e) {
-                    log.warn("Failed to decrement usage for tag {}: {}", tag.getName(), e.getMessage());
-                }
-            }
+            adjustTagUsage(tagIds(article.getTags()), -1);
         }
     }
 
@@ -514,33 +655,19 @@ public class ArticleService {
      * Update tag usage when article tags change
      */
     private void updateTagUsageForChangedTags(Set<Tag> oldTags, Set<Tag> newTags) {
+        Set<Long> oldTagIds = tagIds(oldTags);
+        Set<Long> newTagIds = tagIds(newTags);
+
         // Find tags to remove (decrement usage)
-        Set<Tag> tagsToRemove = new HashSet<>(oldTags);
-        tagsToRemove.removeAll(newTags);
+        Set<Long> tagsToRemove = new HashSet<>(oldTagIds);
+        tagsToRemove.removeAll(newTagIds);
 
         // Find tags to add (increment usage)
-        Set<Tag> tagsToAdd = new HashSet<>(newTags);
-        tagsToAdd.removeAll(oldTags);
+        Set<Long> tagsToAdd = new HashSet<>(newTagIds);
+        tagsToAdd.removeAll(oldTagIds);
 
-        // Decrement usage for removed tags
-        for (Tag tag : tagsToRemove) {
-            try {
-                tagRepository.decrementUsageCount(tag.getId());
-                log.debug("Decremented usage for removed tag: {}", tag.getName());
-            } catch (Exception e) {
-                log.warn("Failed to decrement usage for removed tag {}: {}", tag.getName(), e.getMessage());
-            }
-        }
-
-        // Increment usage for added tags
-        for (Tag tag : tagsToAdd) {
-            try {
-                tagRepository.incrementUsageCount(tag.getId());
-                log.debug("Incremented usage for added tag: {}", tag.getName());
-            } catch (Exception e) {
-                log.warn("Failed to increment usage for added tag {}: {}", tag.getName(), e.getMessage());
-            }
-        }
+        adjustTagUsage(tagsToRemove, -1);
+        adjustTagUsage(tagsToAdd, 1);
 
         if (!tagsToRemove.isEmpty() || !tagsToAdd.isEmpty()) {
             log.info("Updated tag usage: {} tags removed, {} tags added",
@@ -548,13 +675,38 @@ public class ArticleService {
         }
     }
 
+    /**
+     * Add delta to the usage count of several tags with one UPDATE (failures
+     * roll the article write back)
+     */
+    private void adjustTagUsage(Set<Long> tagIds, long delta) {
+        if (tagIds.isEmpty()) {
+            return;
+        }
+        tagRepository.adjustUsageCount(tagIds, delta);
+        eventPublisher.publishEvent(new TagUsageChangedEvent(Set.copyOf(tagIds)));
+    }
+
+    private static Set<Long> tagIds(Set<Tag> tags) {
+        Set<Long> ids = new HashSet<>();
+        for (Tag tag : tags) {
+            ids.add(tag.getId());
+        }
+        return ids;
+    }
+
     // ========== ARTICLE UPDATE AND DELETE WITH AUTOMATIC TAG TRACKING ==========
 
     /**
-     * Update an existing article with automatic tag usage tracking
+     * Update an existing article with automatic tag usage tracking (in its own
+     * transaction, retried if a concurrent write takes the allocated slug)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ArticleResponseDto updateArticle(Long id, UpdateArticleDto updateDto) {
+        return slugAllocator.retryOnConflict(() -> applyArticleUpdate(id, updateDto));
+    }
+
+    private ArticleResponseDto applyArticleUpdate(Long id, UpdateArticleDto updateDto) {
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> BusinessException.notFound("Article", id));
         if (article.getIsDeleted()) {
@@ -565,6 +717,8 @@ public class ArticleService {
             throw BusinessException.invalidInput("No updates provided");
         }
 
+        String oldSlug = article.getSlug();
+
         // Store old tags before updating (only if tags are being updated)
         Set<Tag> oldTags = new HashSet<>();
         if (updateDto.hasTagUpdates()) {
@@ -575,8 +729,8 @@ public class ArticleService {
         if (updateDto.isTitleUpdate()) {
             article.setTitle(updateDto.getTitle());
             // Regenerate slug if title changed
-            String baseSlug = TextUtils.generateSlug(updateDto.getTitle());
-            String uniqueSlug = generateUniqueSlug(baseSlug, id);
+            String uniqueSlug = slugAllocator.allocate(SlugAllocator.Table.ARTICLE,
+                    TextUtils.generateSlug(updateDto.getTitle()), id);
             article.setSlug(uniqueSlug);
             log.info("Updated article title and regenerated slug: {}", uniqueSlug);
         }
@@ -631,7 +785,12 @@ public class ArticleService {
         // Handle status change with published date logic
         if (updateDto.isStatusUpdate()) {
             Integer oldStatus = article.getStatus();
-            article.setStatus(updateDto.getStatus());
+            if (!oldStatus.equals(updateDto.getStatus())) {
+                // Move the article between the status counters
+                adjustStatistics(article, -1);
+                article.setStatus(updateDto.getStatus());
+                adjustStatistics(article, 1);
+            }
 
             // Set publishedAt when changing from non-published to published
             if (oldStatus != Article.STATUS_PUBLISHED &&
@@ -648,6 +807,10 @@ public class ArticleService {
         }
 
         Article savedArticle = articleRepository.save(article);
+        articleDetailLoader.evict(id, oldSlug, savedArticle.getSlug());
+        if (updateDto.isStatusUpdate() || updateDto.getCategoryId() != null || updateDto.hasTagUpdates()) {
+            eventPublisher.publishEvent(new ArticleChangedEvent(id));
+        }
         log.info("Successfully updated article with ID: {}", id);
         return articleMapper.toResponseDto(savedArticle);
     }
@@ -674,6 +837,9 @@ public class ArticleService {
         // Soft delete the article
         article.setIsDeleted(true);
         articleRepository.save(article);
+        adjustStatistics(article, -1);
+        articleDetailLoader.evict(id, article.getSlug());
+        eventPublisher.publishEvent(new ArticleChangedEvent(id));
     }
 
     /**
@@ -691,6 +857,9 @@ public class ArticleService {
         // Restore the article
         article.setIsDeleted(false);
         Article savedArticle = articleRepository.save(article);
+        adjustStatistics(savedArticle, 1);
+        articleDetailLoader.evict(id, savedArticle.getSlug());
+        eventPublisher.publishEvent(new ArticleChangedEvent(id));
 
         // Increment tag usage counts after restoring
         if (savedArticle.hasTags()) {
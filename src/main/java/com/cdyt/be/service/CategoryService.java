@@ -1,5 +1,8 @@
 package com.cdyt.be.service;
 
+import com.cdyt.be.common.cache.CategoryChangedEvent;
+import com.cdyt.be.common.cache.CategoryTreeCache;
+import com.cdyt.be.common.cache.CategoryTreeSnapshot;
 import com.cdyt.be.common.exception.BusinessException;
 import com.cdyt.be.dto.category.CategoryResponseDto;
 import com.cdyt.be.dto.category.CategorySearchRequestDto;
@@ -7,19 +10,22 @@ import com.cdyt.be.dto.category.CreateCategoryDto;
 import com.cdyt.be.dto.category.UpdateCategoryDto;
 import com.cdyt.be.entity.Category;
 import com.cdyt.be.mapper.CategoryMapper;
+import com.cdyt.be.repository.CategoryClosureRepository;
 import com.cdyt.be.repository.CategoryRepository;
 import com.cdyt.be.util.TextUtils;
-import com.cdyt.be.util.CacheNames;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -28,7 +34,11 @@ import java.util.Optional;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository categoryClosureRepository;
     private final CategoryMapper categoryMapper;
+    private final CategoryTreeCache categoryTreeCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlugAllocator slugAllocator;
 
     /**
      * Search categories with pagination and optional filters using request DTO
@@ -58,38 +68,66 @@ public class CategoryService {
         return categoryMapper.toResponseDtoList(categories);
     }
 
+    /**
+     * Version of the category tree served by this instance (epoch millisecond of
+     * the last category change, 0 if unknown), for HTTP validators
+     */
+    public long getCategoryTreeVersion() {
+        return categoryTreeCache.get().getVersion();
+    }
+
     /**
      * Get category hierarchy (root categories with their children recursively)
      */
-    @org.springframework.cache.annotation.Cacheable(CacheNames.CATEGORY_HIERARCHY)
     public List<CategoryResponseDto> getCategoryHierarchy() {
-        List<Category> rootCategories = categoryRepository
-                .findByParentIsNullAndIsDeletedFalseOrderByDisplayOrderAscNameAsc();
-        return categoryMapper.toResponseDtoListWithChildren(rootCategories);
+        CategoryTreeSnapshot snapshot = categoryTreeCache.get();
+        return categoryMapper.toResponseDtoListWithChildren(snapshot, snapshot.getRoots());
     }
 
     /**
      * Get root categories only
      */
     public List<CategoryResponseDto> getRootCategories() {
-        List<Category> rootCategories = categoryRepository
-                .findByParentIsNullAndIsDeletedFalseOrderByDisplayOrderAscNameAsc();
-        return categoryMapper.toResponseDtoList(rootCategories);
+        CategoryTreeSnapshot snapshot = categoryTreeCache.get();
+        return categoryMapper.toResponseDtoList(snapshot, snapshot.getRoots());
     }
 
     /**
      * Get children of a specific category
      */
     public List<CategoryResponseDto> getCategoryChildren(Long parentId) {
-        List<Category> children = categoryRepository
-                .findByParentIdAndIsDeletedFalseOrderByDisplayOrderAscNameAsc(parentId);
-        return categoryMapper.toResponseDtoList(children);
+        CategoryTreeSnapshot snapshot = categoryTreeCache.get();
+        CategoryTreeSnapshot.Node parent = snapshot.getNode(parentId);
+        if (parent == null) {
+            return List.of();
+        }
+        return categoryMapper.toResponseDtoList(snapshot, snapshot.getChildren(parent));
+    }
+
+    /**
+     * Get the path from the root category down to the given category
+     * (breadcrumb), root first. Empty if the category is unknown or deleted.
+     */
+    public List<CategoryResponseDto> getCategoryBreadcrumb(String slug) {
+        CategoryTreeSnapshot snapshot = categoryTreeCache.get();
+        CategoryTreeSnapshot.Node node = snapshot.getNodeBySlug(slug);
+        if (node == null) {
+            return List.of();
+        }
+        return categoryMapper.toResponseDtoList(snapshot, snapshot.getAncestors(node.getId()));
     }
 
     /**
      * Get category by ID
      */
     public Optional<CategoryResponseDto> getCategoryById(Long id) {
+        CategoryTreeSnapshot snapshot = categoryTreeCache.get();
+        CategoryTreeSnapshot.Node node = snapshot.getNode(id);
+        if (node != null) {
+            return Optional.of(categoryMapper.toResponseDto(snapshot, node));
+        }
+
+        // Not in the snapshot yet (e.g. created on another instance)
         return categoryRepository.findById(id)
                 .filter(category -> !category.getIsDeleted())
                 .map(categoryMapper::toResponseDto);
@@ -99,6 +137,12 @@ public class CategoryService {
      * Get category by slug
      */
     public Optional<CategoryResponseDto> getCategoryBySlug(String slug) {
+        CategoryTreeSnapshot snapshot = categoryTreeCache.get();
+        CategoryTreeSnapshot.Node node = snapshot.getNodeBySlug(slug);
+        if (node != null) {
+            return Optional.of(categoryMapper.toResponseDto(snapshot, node));
+        }
+
         return categoryRepository.findBySlug(slug)
                 .filter(category -> !category.getIsDeleted())
                 .map(categoryMapper::toResponseDto);
@@ -114,16 +158,20 @@ public class CategoryService {
     }
 
     /**
-     * Create a new category
+     * Create a new category (in its own transaction, retried if a concurrent
+     * write takes the allocated slug)
      */
-    @org.springframework.cache.annotation.CacheEvict(value = CacheNames.CATEGORY_HIERARCHY, allEntries = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CategoryResponseDto createCategory(CreateCategoryDto createDto) {
+        return slugAllocator.retryOnConflict(() -> applyCategoryCreate(createDto));
+    }
+
+    private CategoryResponseDto applyCategoryCreate(CreateCategoryDto createDto) {
         Category category = categoryMapper.toEntity(createDto);
 
-        // Generate unique slug from name
-        String baseSlug = TextUtils.generateSlug(createDto.getName());
-        String uniqueSlug = generateUniqueSlug(baseSlug);
-        category.setSlug(uniqueSlug);
+        // Allocate unique slug from name
+        category.setSlug(slugAllocator.allocate(SlugAllocator.Table.CATEGORY,
+                TextUtils.generateSlug(createDto.getName()), null));
 
         // Set parent if provided
         if (createDto.getParentId() != null) {
@@ -133,14 +181,22 @@ public class CategoryService {
         }
 
         Category savedCategory = categoryRepository.save(category);
+        categoryClosureRepository.insertPaths(savedCategory.getId(),
+                savedCategory.getParent() != null ? savedCategory.getParent().getId() : null);
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId()));
         return categoryMapper.toResponseDto(savedCategory);
     }
 
     /**
-     * Update an existing category
+     * Update an existing category (in its own transaction, retried if a
+     * concurrent write takes the allocated slug)
      */
-    @org.springframework.cache.annotation.CacheEvict(value = CacheNames.CATEGORY_HIERARCHY, allEntries = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CategoryResponseDto updateCategory(Long id, UpdateCategoryDto updateDto) {
+        return slugAllocator.retryOnConflict(() -> applyCategoryUpdate(id, updateDto));
+    }
+
+    private CategoryResponseDto applyCategoryUpdate(Long id, UpdateCategoryDto updateDto) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> BusinessException.notFound("Category", id));
 
@@ -149,6 +205,7 @@ public class CategoryService {
         }
 
         // Handle slug generation/validation
+        String generatedSlug = null;
         if (updateDto.getSlug() != null) {
             // User provided custom slug - validate uniqueness
             if (!updateDto.getSlug().equals(category.getSlug()) &&
@@ -156,12 +213,14 @@ public class CategoryService {
                 throw BusinessException.alreadyExists("Category with slug", updateDto.getSlug());
             }
         } else if (updateDto.getName() != null && !updateDto.getName().equals(category.getName())) {
-            // Name changed but no custom slug provided - generate new slug
-            String baseSlug = TextUtils.generateSlug(updateDto.getName());
-            String uniqueSlug = generateUniqueSlug(baseSlug, id);
-            updateDto.setSlug(uniqueSlug);
+            // Name changed but no custom slug provided - allocate new slug
+            // (kept out of the DTO, which is reused if the update is retried)
+            generatedSlug = slugAllocator.allocate(SlugAllocator.Table.CATEGORY,
+                    TextUtils.generateSlug(updateDto.getName()), id);
         }
 
+        Long oldParentId = category.getParent() != null ? category.getParent().getId() : null;
+
         // Update parent if provided
         if (updateDto.getParentId() != null) {
             if (updateDto.getParentId().equals(id)) {
@@ -175,7 +234,7 @@ public class CategoryService {
                 throw BusinessException.invalidState("Cannot set deleted category as parent");
             }
 
-            // Prevent circular references
+            // Prevent circular references: the new parent must not be inside this category's subtree
             if (isDescendantOf(newParent, category)) {
                 throw BusinessException.invalidState("Cannot set a descendant category as parent (circular reference)");
             }
@@ -187,14 +246,27 @@ public class CategoryService {
         }
 
         categoryMapper.updateEntityFromDto(category, updateDto);
+        if (generatedSlug != null) {
+            category.setSlug(generatedSlug);
+        }
         Category savedCategory = categoryRepository.save(category);
+
+        // Move the subtree in the closure table when reparented
+        Long newParentId = savedCategory.getParent() != null ? savedCategory.getParent().getId() : null;
+        if (!Objects.equals(oldParentId, newParentId)) {
+            categoryClosureRepository.detachSubtree(id);
+            if (newParentId != null) {
+                categoryClosureRepository.attachSubtree(id, newParentId);
+            }
+        }
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
         return categoryMapper.toResponseDto(savedCategory);
     }
 
     /**
      * Delete a category
      */
-    @org.springframework.cache.annotation.CacheEvict(value = CacheNames.CATEGORY_HIERARCHY, allEntries = true)
+    @Transactional
     public void deleteCategory(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> BusinessException.notFound("Category", id));
@@ -215,12 +287,14 @@ public class CategoryService {
 
         category.setIsDeleted(true);
         categoryRepository.save(category);
+        categoryClosureRepository.deletePaths(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 
     /**
      * Permanently delete a category (hard delete)
      */
-    @org.springframework.cache.annotation.CacheEvict(value = CacheNames.CATEGORY_HIERARCHY, allEntries = true)
+    @Transactional
     public void permanentlyDeleteCategory(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> BusinessException.notFound("Category", id));
@@ -229,56 +303,20 @@ public class CategoryService {
             throw BusinessException.invalidState("Cannot permanently delete category with children");
         }
 
+        categoryClosureRepository.deletePaths(id);
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
     }
 
     // Helper methods
 
     /**
-     * Check if a category is a descendant of another category (to prevent circular
-     * references)
-     */
-    private boolean isDescendantOf(Category potentialAncestor, Category category) {
-        Category parent = category.getParent();
-        while (parent != null) {
-            if (parent.getId().equals(potentialAncestor.getId())) {
-                return true;
-            }
-            parent = parent.getParent();
-        }
-        return false;
-    }
-
-    /**
-     * Generate a unique slug by checking database and appending numbers if needed
+     * Check if a category lies in the subtree of another category, i.e. whether
+     * making it the parent of that category would create a cycle. Answered by a
+     * single closure table lookup.
      */
-    private String generateUniqueSlug(String baseSlug) {
-        return generateUniqueSlug(baseSlug, null);
-    }
-
-    /**
-     * Generate a unique slug by checking database and appending numbers if needed
-     * 
-     * @param baseSlug  The base slug to make unique
-     * @param excludeId ID to exclude from uniqueness check (for updates)
-     */
-    private String generateUniqueSlug(String baseSlug, Long excludeId) {
-        if (baseSlug == null || baseSlug.isEmpty()) {
-            baseSlug = "category";
-        }
-
-        String slug = baseSlug;
-        int counter = 1;
-
-        // Check if slug exists (excluding the current category for updates)
-        while (excludeId != null
-                ? categoryRepository.existsBySlugAndIdNot(slug, excludeId)
-                : categoryRepository.existsBySlug(slug)) {
-            slug = baseSlug + "-" + counter;
-            counter++;
-        }
-
-        return slug;
+    private boolean isDescendantOf(Category candidate, Category category) {
+        return categoryClosureRepository.isAncestorOrSelf(category.getId(), candidate.getId());
     }
 
     /**
@@ -295,6 +333,8 @@ public class CategoryService {
         // Then delete the category itself
         category.setIsDeleted(true);
         categoryRepository.save(category);
+        categoryClosureRepository.deletePaths(category.getId());
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,206 @@
+package com.cdyt.be.service;
+
+import com.cdyt.be.common.exception.BusinessException;
+import com.cdyt.be.common.reconcile.CounterDrift;
+import com.cdyt.be.common.reconcile.DerivedCounter;
+import com.cdyt.be.common.reconcile.ReconcileProgress;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recomputes derived counters ({@link DerivedCounter} beans) from their
+ * source of truth.
+ *
+ * The key range of a counter is split into chunks of
+ * {@code reconcile.chunk-size} keys, processed in parallel on a fork-join pool
+ * of {@code reconcile.parallelism} threads; each chunk reads its drifted rows
+ * and writes only those. Runs are asynchronous: their progress (and, for dry
+ * runs, the drift report) is kept until the next run of the same counter.
+ */
+@Service
+@Slf4j
+public class CounterReconciliationService {
+
+    // Drifted values kept for the report of a run
+    private static final int MAX_REPORTED_DRIFTS = 1000;
+
+    private final Map<String, DerivedCounter> counters = new TreeMap<>();
+    private final Map<String, Run> runs = new ConcurrentHashMap<>();
+    private final ForkJoinPool pool;
+    private final long chunkSize;
+
+    public CounterReconciliationService(List<DerivedCounter> counters,
+            @Value("${reconcile.parallelism:4}") int parallelism,
+            @Value("${reconcile.chunk-size:5000}") long chunkSize) {
+        for (DerivedCounter counter : counters) {
+            this.counters.put(counter.name(), counter);
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.chunkSize = chunkSize;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Names of the counters that can be reconciled
+     */
+    public List<String> getCounterNames() {
+        return new ArrayList<>(counters.keySet());
+    }
+
+    /**
+     * Start reconciling a counter (a dry run only reports the drift), unless a
+     * run of it is already in progress
+     */
+    public ReconcileProgress start(String counterName, boolean dryRun) {
+        DerivedCounter counter = counters.get(counterName);
+        if (counter == null) {
+            throw BusinessException.invalidInput("Unknown counter: " + counterName + ". Use one of " +
+                    counters.keySet());
+        }
+
+        DerivedCounter.KeyRange range = counter.keyRange();
+        List<ChunkTask> chunks = new ArrayList<>();
+        Run run = new Run(counterName, dryRun);
+        if (range != null) {
+            for (long from = range.min(); from <= range.max(); from += chunkSize) {
+                chunks.add(new ChunkTask(counter, run, from, Math.min(from + chunkSize, range.max() + 1)));
+            }
+        }
+        run.totalChunks = chunks.size();
+
+        Run current = runs.compute(counterName,
+                (name, previous) -> previous != null && previous.isRunning() ? previous : run);
+        if (current != run) {
+            throw BusinessException.invalidState("Reconciliation of " + counterName + " is already running");
+        }
+
+        pool.execute(() -> {
+            try {
+                ForkJoinTask.invokeAll(chunks);
+                run.finish(null);
+                log.info("Reconciled {} (dry run: {}): {} drifted values, {} rows updated in {} chunks",
+                        counterName, dryRun, run.driftedValues.sum(), run.updatedRows.sum(), chunks.size());
+            } catch (RuntimeException e) {
+                run.finish(e);
+                log.error("Failed to reconcile {}: {}", counterName, e.getMessage(), e);
+            }
+        });
+        return run.snapshot();
+    }
+
+    /**
+     * Progress of the current or last run of a counter
+     */
+    public ReconcileProgress getProgress(String counterName) {
+        Run run = runs.get(counterName);
+        if (run == null) {
+            throw BusinessException.notFound("Reconciliation run of " + counterName);
+        }
+        return run.snapshot();
+    }
+
+    /**
+     * One chunk of keys [fromKey, toKey)
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private final DerivedCounter counter;
+        private final Run run;
+        private final long fromKey;
+        private final long toKey;
+
+        ChunkTask(DerivedCounter counter, Run run, long fromKey, long toKey) {
+            this.counter = counter;
+            this.run = run;
+            this.fromKey = fromKey;
+            this.toKey = toKey;
+        }
+
+        @Override
+        protected void compute() {
+            List<CounterDrift> drifts = counter.findDrift(fromKey, toKey);
+            run.report(drifts);
+            if (!run.dryRun && !drifts.isEmpty()) {
+                run.updatedRows.add(counter.apply(drifts));
+            }
+            run.scannedKeys.add(toKey - fromKey);
+            run.completedChunks.incrementAndGet();
+        }
+    }
+
+    /**
+     * Mutable state of a run, updated by the chunk tasks
+     */
+    private static final class Run {
+
+        private final String counter;
+        private final boolean dryRun;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger completedChunks = new AtomicInteger();
+        private final LongAdder scannedKeys = new LongAdder();
+        private final LongAdder driftedValues = new LongAdder();
+        private final LongAdder updatedRows = new LongAdder();
+        private final ConcurrentLinkedQueue<CounterDrift> drifts = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger reportedDrifts = new AtomicInteger();
+        private int totalChunks;
+        private volatile String status = ReconcileProgress.RUNNING;
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishedNanos;
+
+        Run(String counter, boolean dryRun) {
+            this.counter = counter;
+            this.dryRun = dryRun;
+        }
+
+        boolean isRunning() {
+            return ReconcileProgress.RUNNING.equals(status);
+        }
+
+        void report(List<CounterDrift> found) {
+            driftedValues.add(found.size());
+            for (CounterDrift drift : found) {
+                if (reportedDrifts.incrementAndGet() > MAX_REPORTED_DRIFTS) {
+                    return;
+                }
+                drifts.add(drift);
+            }
+        }
+
+        void finish(RuntimeException failure) {
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            error = failure != null ? failure.getMessage() : null;
+            status = failure != null ? ReconcileProgress.FAILED : ReconcileProgress.COMPLETED;
+        }
+
+        ReconcileProgress snapshot() {
+            long elapsedNanos = (isRunning() ? System.nanoTime() : finishedNanos) - startNanos;
+            long scanned = scannedKeys.sum();
+            long keysPerSecond = elapsedNanos > 0 ? scanned * 1_000_000_000L / elapsedNanos : 0;
+            return new ReconcileProgress(counter, dryRun, status, startedAt, finishedAt, totalChunks,
+                    completedChunks.get(), scanned, keysPerSecond, driftedValues.sum(), updatedRows.sum(), error,
+                    List.copyOf(drifts));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.cdyt.be.service;
+
+import com.cdyt.be.dto.article.ArticleResponseDto;
+import com.cdyt.be.dto.article.PublicArticleSearchRequestDto;
+import com.cdyt.be.dto.category.CategoryResponseDto;
+import com.cdyt.be.dto.home.HomePageResponseDto;
+import com.cdyt.be.dto.tag.TagResponseDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.data.domain.Page;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Composite home page read: categories, tags, top tags, popular and latest
+ * articles are independent, so they are read concurrently and the page takes
+ * as long as its slowest part instead of the sum of all parts.
+ *
+ * Parts run on a bounded pool ({@code home.fan-out.threads} threads,
+ * {@code home.fan-out.queue-capacity} queued parts). A part that fails, times
+ * out ({@code home.part-timeout-ms}) or is rejected by a saturated pool is
+ * left out of the page instead of failing it; a part that timed out is
+ * cancelled and its thread interrupted, so stuck reads do not keep the pool
+ * busy.
+ */
+@Service
+@Slf4j
+public class HomePageService {
+
+    private final CategoryService categoryService;
+    private final TagService tagService;
+    private final ArticleService articleService;
+    private final ThreadPoolExecutor executor;
+    private final TaskDecorator taskDecorator;
+    private final long partTimeoutMs;
+
+    public HomePageService(CategoryService categoryService, TagService tagService, ArticleService articleService,
+            TaskDecorator taskDecorator,
+            @Value("${home.fan-out.threads:8}") int threads,
+            @Value("${home.fan-out.queue-capacity:200}") int queueCapacity,
+            @Value("${home.part-timeout-ms:1000}") long partTimeoutMs) {
+        this.categoryService = categoryService;
+        this.tagService = tagService;
+        this.articleService = articleService;
+        this.partTimeoutMs = partTimeoutMs;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("home-fan-out-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        // Parts read with the user context of the request (replica stickiness)
+        this.taskDecorator = taskDecorator;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Read the home page parts in parallel
+     */
+    public HomePage getHomePage(int topTagLimit, int popularThreshold, int latestSize) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(partTimeoutMs);
+        Map<String, Long> partDurations = new ConcurrentHashMap<>();
+
+        PublicArticleSearchRequestDto latestRequest = new PublicArticleSearchRequestDto();
+        latestRequest.setSize(latestSize);
+
+        Future<List<CategoryResponseDto>> categories = submit("categories", partDurations,
+                categoryService::getCategoryHierarchy);
+        Future<List<TagResponseDto>> tags = submit("tags", partDurations,
+                tagService::getAllActiveTags);
+        Future<List<TagResponseDto>> topTags = submit("topTags", partDurations,
+                () -> tagService.getTopUsedTags(topTagLimit));
+        Future<List<ArticleResponseDto>> popularArticles = submit("popularArticles", partDurations,
+                () -> articleService.getPopularPublishedArticles(popularThreshold));
+        Future<Page<ArticleResponseDto>> latestArticles = submit("latestArticles", partDurations,
+                () -> articleService.getPublishedArticlesWithFilters(latestRequest));
+
+        List<String> unavailable = new ArrayList<>();
+        HomePageResponseDto content = new HomePageResponseDto(
+                join("categories", categories, deadline, unavailable),
+                join("tags", tags, deadline, unavailable),
+                join("topTags", topTags, deadline, unavailable),
+                join("popularArticles", popularArticles, deadline, unavailable),
+                join("latestArticles", latestArticles, deadline, unavailable),
+                unavailable);
+        return new HomePage(content, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                new TreeMap<>(partDurations));
+    }
+
+    private <T> Future<T> submit(String part, Map<String, Long> partDurations, Supplier<T> read) {
+        FutureTask<T> future = new FutureTask<>(() -> {
+            long partStart = System.nanoTime();
+            try {
+                return read.get();
+            } finally {
+                partDurations.put(part, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - partStart));
+            }
+        });
+        try {
+            executor.execute(taskDecorator.decorate(future));
+            return future;
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Wait for a part until the shared deadline, cancelling it (and
+     * interrupting its read) when it is not done by then
+     */
+    private <T> T join(String part, Future<T> future, long deadline, List<String> unavailable) {
+        try {
+            return future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            unavailable.add(part);
+            log.warn("Home page part {} timed out after {} ms", part, partTimeoutMs);
+        } catch (ExecutionException e) {
+            unavailable.add(part);
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RejectedExecutionException) {
+                log.warn("Home page part {} rejected: fan-out pool saturated", part);
+            } else {
+                log.warn("Home page part {} failed: {}", part, cause.getMessage(), cause);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            unavailable.add(part);
+        }
+        return null;
+    }
+
+    /**
+     * The page with the total and per-part read times (parts that timed out
+     * are missing from the latter)
+     */
+    public record HomePage(HomePageResponseDto content, long durationMs, Map<String, Long> partDurationsMs) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.cdyt.be.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Allocates unique slugs (base, base-1, base-2, ... first free one) for
+ * articles, tags and categories.
+ *
+ * - All slugs taken for a base are fetched in one prefix query
+ * - Allocations of the same base are serialized by a transaction-scoped
+ * advisory lock, so concurrent creates of the same title get distinct slugs
+ * - Writes that still hit the unique constraint (e.g. a title "foo 1" racing
+ * the second "foo") are retried through {@link #retryOnConflict}
+ */
+@Component
+@Slf4j
+public class SlugAllocator {
+
+    /**
+     * Tables with a unique slug column, with the base used for empty slugs
+     */
+    public enum Table {
+        ARTICLE("article", "article"),
+        TAG("tags", "tag"),
+        CATEGORY("categories", "category");
+
+        private final String tableName;
+        private final String fallbackSlug;
+
+        Table(String tableName, String fallbackSlug) {
+            this.tableName = tableName;
+            this.fallbackSlug = fallbackSlug;
+        }
+    }
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private static final String LOCK_SQL = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(" +
+            "hashtext(:table), hashtext(:baseSlug))) l";
+
+    // slug = base or slug LIKE 'base-%' (unique slug index + text_pattern_ops index, V5)
+    private static final String TAKEN_SLUGS_SQL = "SELECT slug FROM %s " +
+            "WHERE (slug = :baseSlug OR slug LIKE :prefix ESCAPE '\\') " +
+            "AND (:excludeId IS NULL OR id <> :excludeId)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SlugAllocator(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Allocate the first free slug for a base slug, ignoring the row excludeId
+     * (the row being updated, or null). Must run in the transaction that saves
+     * the slug: the lock is held until it ends.
+     */
+    public String allocate(Table table, String baseSlug, Long excludeId) {
+        Assert.state(TransactionSynchronizationManager.isActualTransactionActive(),
+                "Slugs must be allocated in the transaction that saves them");
+        if (baseSlug == null || baseSlug.isEmpty()) {
+            baseSlug = table.fallbackSlug;
+        }
+
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("table", table.tableName)
+                .addValue("baseSlug", baseSlug)
+                .addValue("prefix", escapeLike(baseSlug) + "-%")
+                .addValue("excludeId", excludeId, Types.BIGINT);
+        jdbcTemplate.queryForObject(LOCK_SQL, parameters, Integer.class);
+        List<String> taken = jdbcTemplate.queryForList(TAKEN_SLUGS_SQL.formatted(table.tableName), parameters,
+                String.class);
+        return nextFree(baseSlug, taken);
+    }
+
+    /**
+     * Run a write in its own transaction, running it again in a new transaction
+     * when it fails on a slug unique constraint (at most MAX_ATTEMPTS times).
+     * The write must allocate its slug inside the attempt.
+     */
+    public <T> T retryOnConflict(Supplier<T> attempt) {
+        for (int i = 1;; i++) {
+            try {
+                return transactionTemplate.execute(status -> attempt.get());
+            } catch (DataIntegrityViolationException e) {
+                if (i >= MAX_ATTEMPTS || !isSlugConflict(e)) {
+                    throw e;
+                }
+                log.debug("Slug conflict on attempt {}, retrying: {}", i, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * First of base, base-1, base-2, ... that is not taken (suffixes are only
+     * recognized in canonical form: base-01 does not take base-1)
+     */
+    static String nextFree(String baseSlug, Collection<String> taken) {
+        if (!taken.contains(baseSlug)) {
+            return baseSlug;
+        }
+
+        String prefix = baseSlug + "-";
+        Set<Integer> suffixes = new HashSet<>();
+        for (String slug : taken) {
+            if (slug.length() > prefix.length() && slug.startsWith(prefix)) {
+                String suffix = slug.substring(prefix.length());
+                if (suffix.length() <= 9 && suffix.charAt(0) != '0' && suffix.chars().allMatch(Character::isDigit)) {
+                    suffixes.add(Integer.parseInt(suffix));
+                }
+            }
+        }
+
+        int counter = 1;
+        while (suffixes.contains(counter)) {
+            counter++;
+        }
+        return prefix + counter;
+    }
+
+    private static boolean isSlugConflict(DataIntegrityViolationException e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.contains("slug");
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
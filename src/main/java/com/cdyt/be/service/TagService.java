@@ -1,5 +1,7 @@
 package com.cdyt.be.service;
 
+import com.cdyt.be.common.cache.ContentVersions;
+import com.cdyt.be.common.cache.TagChangedEvent;
 import com.cdyt.be.common.exception.BusinessException;
 import com.cdyt.be.dto.tag.CreateTagDto;
 import com.cdyt.be.dto.tag.TagFilterDto;
@@ -12,11 +14,13 @@ import com.cdyt.be.mapper.TagMapper;
 import com.cdyt.be.repository.TagRepository;
 import com.cdyt.be.util.TextUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -30,6 +34,25 @@ public class TagService {
 
     private final TagRepository tagRepository;
     private final TagMapper tagMapper;
+    private final ContentVersions contentVersions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlugAllocator slugAllocator;
+
+    /**
+     * Version of the public tag lists (epoch millisecond of the last tag change,
+     * 0 if unknown), for HTTP validators
+     */
+    public long getTagListVersion() {
+        return contentVersions.current(ContentVersions.TAGS);
+    }
+
+    /**
+     * Version of the tag names (0 if unknown): unlike the list version, not
+     * changed by usage counts
+     */
+    public long getTagNamesVersion() {
+        return contentVersions.current(ContentVersions.TAG_NAMES);
+    }
 
     /**
      * Search tags with pagination and optional filters using request DTO
@@ -146,26 +169,34 @@ public class TagService {
     }
 
     /**
-     * Create a new tag
+     * Create a new tag (in its own transaction, retried if a concurrent write
+     * takes the allocated slug)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TagResponseDto createTag(CreateTagDto createDto) {
-        Tag tag = tagMapper.toEntity(createDto);
+        return slugAllocator.retryOnConflict(() -> {
+            Tag tag = tagMapper.toEntity(createDto);
 
-        // Generate unique slug from name
-        String baseSlug = TextUtils.generateSlug(createDto.getName());
-        String uniqueSlug = generateUniqueSlug(baseSlug);
-        tag.setSlug(uniqueSlug);
+            // Allocate unique slug from name
+            tag.setSlug(slugAllocator.allocate(SlugAllocator.Table.TAG,
+                    TextUtils.generateSlug(createDto.getName()), null));
 
-        Tag savedTag = tagRepository.save(tag);
-        return tagMapper.toResponseDto(savedTag);
+            Tag savedTag = tagRepository.save(tag);
+            eventPublisher.publishEvent(new TagChangedEvent(savedTag.getId()));
+            return tagMapper.toResponseDto(savedTag);
+        });
     }
 
     /**
-     * Update an existing tag
+     * Update an existing tag (in its own transaction, retried if a concurrent
+     * write takes the allocated slug)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TagResponseDto updateTag(Long id, UpdateTagDto updateDto) {
+        return slugAllocator.retryOnConflict(() -> applyTagUpdate(id, updateDto));
+    }
+
+    private TagResponseDto applyTagUpdate(Long id, UpdateTagDto updateDto) {
         Tag tag = tagRepository.findById(id)
                 .orElseThrow(() -> BusinessException.notFound("Tag", id));
 
@@ -174,6 +205,7 @@ public class TagService {
         }
 
         // Handle slug generation/validation
+        String generatedSlug = null;
         if (updateDto.getSlug() != null) {
             // User provided custom slug - validate uniqueness
             if (!updateDto.getSlug().equals(tag.getSlug()) &&
@@ -181,14 +213,18 @@ public class TagService {
                 throw BusinessException.alreadyExists("Tag with slug", updateDto.getSlug());
             }
         } else if (updateDto.getName() != null && !updateDto.getName().equals(tag.getName())) {
-            // Name changed but no custom slug provided - generate new slug
-            String baseSlug = TextUtils.generateSlug(updateDto.getName());
-            String uniqueSlug = generateUniqueSlug(baseSlug, id);
-            updateDto.setSlug(uniqueSlug);
+            // Name changed but no custom slug provided - allocate new slug
+            // (kept out of the DTO, which is reused if the update is retried)
+            generatedSlug = slugAllocator.allocate(SlugAllocator.Table.TAG,
+                    TextUtils.generateSlug(updateDto.getName()), id);
         }
 
         tagMapper.updateEntityFromDto(tag, updateDto);
+        if (generatedSlug != null) {
+            tag.setSlug(generatedSlug);
+        }
         Tag savedTag = tagRepository.save(tag);
+        eventPublisher.publishEvent(new TagChangedEvent(savedTag.getId()));
         return tagMapper.toResponseDto(savedTag);
     }
 
@@ -206,6 +242,7 @@ public class TagService {
 
         tag.setIsDeleted(true);
         tagRepository.save(tag);
+        eventPublisher.publishEvent(new TagChangedEvent(id));
     }
 
     /**
@@ -222,6 +259,7 @@ public class TagService {
 
         tag.setIsDeleted(false);
         Tag savedTag = tagRepository.save(tag);
+        eventPublisher.publishEvent(new TagChangedEvent(savedTag.getId()));
         return tagMapper.toResponseDto(savedTag);
     }
 
@@ -239,6 +277,7 @@ public class TagService {
 
         tag.incrementUsage();
         tagRepository.save(tag);
+        eventPublisher.publishEvent(new TagChangedEvent(id));
     }
 
     /**
@@ -251,6 +290,7 @@ public class TagService {
 
         tag.decrementUsage();
         tagRepository.save(tag);
+        eventPublisher.publishEvent(new TagChangedEvent(id));
     }
 
     /**
@@ -272,38 +312,6 @@ public class TagService {
 
     // Helper methods
 
-    /**
-     * Generate a unique slug by checking database and appending numbers if needed
-     */
-    private String generateUniqueSlug(String baseSlug) {
-        return generateUniqueSlug(baseSlug, null);
-    }
-
-    /**
-     * Generate a unique slug by checking database and appending numbers if needed
-     * 
-     * @param baseSlug  The base slug to make unique
-     * @param excludeId ID to exclude from uniqueness check (for updates)
-     */
-    private String generateUniqueSlug(String baseSlug, Long excludeId) {
-        if (baseSlug == null || baseSlug.isEmpty()) {
-            baseSlug = "tag";
-        }
-
-        String slug = baseSlug;
-        int counter = 1;
-
-        // Check if slug exists (excluding the current tag for updates)
-        while (excludeId != null
-                ? tagRepository.existsBySlugAndIdNot(slug, excludeId)
-                : tagRepository.existsBySlug(slug)) {
-            slug = baseSlug + "-" + counter;
-            counter++;
-        }
-
-        return slug;
-    }
-
     /**
      * Tag statistics inner class
      */
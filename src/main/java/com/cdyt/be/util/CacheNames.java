@@ -1,11 +1,8 @@
 package com.cdyt.be.util;
 
 public interface CacheNames {
-    String CATEGORY_HIERARCHY = "catHierarchy";
     String ACTIVE_TAGS = "activeTags";
     String TOP_TAGS = "topTags";
     String ARTICLE_DETAIL_ID = "articleDetailId";
     String ARTICLE_DETAIL_SLUG = "articleDetailSlug";
-    String ARTICLE_STATS = "articleStats";
-    String PUBLISHED_ARTICLE_STATS = "publishedArticleStats";
 }
\ No newline at end of file
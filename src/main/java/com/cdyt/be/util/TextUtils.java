@@ -3,44 +3,140 @@ package com.cdyt.be.util;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.text.Normalizer;
+import java.util.Arrays;
 
 public class TextUtils {
 
+  // Folding tables for U+0000..U+2FFF (Latin, Vietnamese, combining marks,
+  // punctuation and symbols). FOLD holds the unaccented char, SLUG the slug
+  // char (lower case ASCII letter or digit, '-' for a separator); both hold
+  // DROP for combining marks and DECOMPOSE for the few chars that do not fold
+  // to a single char, which go through the Normalizer as do all chars above
+  // the tables
+  private static final char DROP = '\uFFFF';
+  private static final char DECOMPOSE = '\uFFFE';
+  private static final int TABLE_SIZE = 0x3000;
+  private static final char[] FOLD = new char[TABLE_SIZE];
+  private static final char[] SLUG = new char[TABLE_SIZE];
+
+  static {
+    for (char c = 0; c < TABLE_SIZE; c++) {
+      String folded = decomposeWithoutMarks(c);
+      FOLD[c] = folded.isEmpty() ? DROP : folded.length() == 1 ? folded.charAt(0) : DECOMPOSE;
+    }
+    // No canonical decomposition, but folded by Vietnamese readers
+    FOLD['\u0111'] = 'd'; // đ
+    FOLD['\u0110'] = 'D'; // Đ
+    for (char c = 0; c < TABLE_SIZE; c++) {
+      SLUG[c] = FOLD[c] == DROP || FOLD[c] == DECOMPOSE ? FOLD[c] : slugChar(FOLD[c]);
+    }
+  }
+
+  private static char slugChar(char c) {
+    if (c >= 'A' && c <= 'Z') {
+      return (char) (c + ('a' - 'A'));
+    }
+    return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') ? c : '-';
+  }
+
+  private static String decomposeWithoutMarks(int codePoint) {
+    String decomposed = Normalizer.normalize(new String(Character.toChars(codePoint)), Normalizer.Form.NFD);
+    StringBuilder result = new StringBuilder(decomposed.length());
+    decomposed.codePoints()
+        .filter(cp -> !isMark(cp))
+        .forEach(result::appendCodePoint);
+    return result.toString();
+  }
+
+  private static boolean isMark(int codePoint) {
+    int type = Character.getType(codePoint);
+    return type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK
+        || type == Character.COMBINING_SPACING_MARK;
+  }
+
+  /**
+   * Removes diacritics (and turns đ/Đ into d/D), keeping case and every other
+   * char: NFD followed by removing the combining marks, in one pass over a
+   * folding table. Returns the input itself when nothing changes.
+   */
   public static String removeAccents(String input) {
     if (input == null || input.isEmpty()) {
       return null;
     }
-    String normalized = Normalizer.normalize(input, Normalizer.Form.NFD);
-    return normalized.replaceAll("\\p{M}", "");
+    char[] buffer = null;
+    int length = 0;
+    for (int i = 0; i < input.length(); i++) {
+      char c = input.charAt(i);
+      char folded = c < TABLE_SIZE ? FOLD[c] : DECOMPOSE;
+      if (folded == c && buffer == null) {
+        continue;
+      }
+      if (buffer == null) {
+        buffer = new char[input.length()];
+        input.getChars(0, i, buffer, 0);
+        length = i;
+      }
+      if (folded == DECOMPOSE) {
+        int codePoint = input.codePointAt(i);
+        i += Character.charCount(codePoint) - 1;
+        String decomposed = decomposeWithoutMarks(codePoint);
+        buffer = ensureCapacity(buffer, length + decomposed.length() + input.length() - i - 1);
+        decomposed.getChars(0, decomposed.length(), buffer, length);
+        length += decomposed.length();
+      } else if (folded != DROP) {
+        buffer[length++] = folded;
+      }
+    }
+    return buffer == null ? input : new String(buffer, 0, length);
   }
 
   /**
    * Generates a URL-friendly slug from the given input string.
-   * Converts to lowercase, removes accents, replaces spaces and special
-   * characters with hyphens,
-   * and removes consecutive hyphens.
+   * Removes accents, lowercases ASCII letters and turns every run of other
+   * characters into a single hyphen, without leading or trailing hyphens.
+   * Built in one pass over a folding table into a single buffer.
    */
   public static String generateSlug(String input) {
-    if (input == null || input.trim().isEmpty()) {
+    if (input == null || input.isEmpty()) {
       return "";
     }
+    char[] buffer = new char[input.length()];
+    int length = 0;
+    for (int i = 0; i < input.length(); i++) {
+      char c = input.charAt(i);
+      char slug = c < TABLE_SIZE ? SLUG[c] : DECOMPOSE;
+      if (slug != DECOMPOSE) {
+        length = appendSlugChar(buffer, length, slug);
+        continue;
+      }
+      int codePoint = input.codePointAt(i);
+      i += Character.charCount(codePoint) - 1;
+      String decomposed = decomposeWithoutMarks(codePoint);
+      buffer = ensureCapacity(buffer, length + decomposed.length() + input.length() - i - 1);
+      for (int j = 0; j < decomposed.length(); j++) {
+        length = appendSlugChar(buffer, length, slugChar(decomposed.charAt(j)));
+      }
+    }
+    if (length > 0 && buffer[length - 1] == '-') {
+      length--;
+    }
+    return new String(buffer, 0, length);
+  }
 
-    // Remove accents and normalize
-    String slug = removeAccents(input.trim());
-
-    // Convert to lowercase
-    slug = slug.toLowerCase();
-
-    // Replace spaces and special characters with hyphens
-    slug = slug.replaceAll("[^a-z0-9]+", "-");
-
-    // Remove leading and trailing hyphens
-    slug = slug.replaceAll("^-+|-+$", "");
-
-    // Replace multiple consecutive hyphens with single hyphen
-    slug = slug.replaceAll("-+", "-");
+  /**
+   * Appends a slug char; a separator becomes a hyphen only after a letter or
+   * digit, so runs collapse and the slug never starts with one
+   */
+  private static int appendSlugChar(char[] buffer, int length, char slug) {
+    if (slug == DROP || (slug == '-' && (length == 0 || buffer[length - 1] == '-'))) {
+      return length;
+    }
+    buffer[length] = slug;
+    return length + 1;
+  }
 
-    return slug;
+  private static char[] ensureCapacity(char[] buffer, int capacity) {
+    return capacity <= buffer.length ? buffer : Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
   }
 
   public static String stringToMD5(String input) {
@@ -0,0 +1,135 @@
+-- Baseline schema, equivalent to what ddl-auto: update produced from the entities.
+-- Databases that already have these tables are baselined at V1 and skip this script.
+
+CREATE TABLE users (
+    id                bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    full_name         varchar(255) NOT NULL,
+    email             varchar(255) NOT NULL UNIQUE,
+    password          varchar(255) NOT NULL,
+    phone             varchar(255) UNIQUE,
+    address           varchar(255),
+    full_name_no_mark varchar(255),
+    sex               integer,
+    dob               date,
+    verify_code       varchar(255),
+    avatar            varchar(255),
+    expired_at        timestamp(6),
+    created_at        timestamp(6),
+    updated_at        timestamp(6),
+    is_active         boolean,
+    is_verified       boolean,
+    is_deleted        boolean
+);
+
+CREATE TABLE role (
+    id          integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    role_name   varchar(50)  NOT NULL,
+    description varchar(255),
+    role_type   integer      NOT NULL,
+    is_deleted  boolean      NOT NULL,
+    created_at  timestamp(6) NOT NULL,
+    updated_at  timestamp(6),
+    created_by  integer      NOT NULL,
+    updated_by  integer      NOT NULL
+);
+
+CREATE TABLE user_role (
+    user_id bigint  NOT NULL REFERENCES users (id),
+    role_id integer NOT NULL REFERENCES role (id),
+    PRIMARY KEY (user_id, role_id)
+);
+
+CREATE TABLE function (
+    function_id   integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    api_url       varchar(250),
+    description   varchar(250),
+    is_delete     boolean,
+    button_show   varchar(20),
+    display_order integer
+);
+
+CREATE TABLE role_function (
+    role_id     integer NOT NULL REFERENCES role (id),
+    function_id integer NOT NULL REFERENCES function (function_id),
+    last_update timestamp(6),
+    PRIMARY KEY (role_id, function_id)
+);
+
+CREATE TABLE usertoken (
+    id                     integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    is_remember_password   boolean      NOT NULL,
+    token                  varchar(255) NOT NULL,
+    expired_date           timestamp(6),
+    created_at             timestamp(6),
+    user_id                bigint       NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE department (
+    id                integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    parent_id         integer NOT NULL,
+    department_name   varchar(255),
+    is_deleted        boolean NOT NULL,
+    department_id_ext varchar(255),
+    department_path   varchar(255),
+    department_code   varchar(255),
+    level             integer,
+    created_by        varchar(255),
+    created_at        timestamp(6),
+    updated_by        varchar(255),
+    updated_at        timestamp(6)
+);
+
+CREATE TABLE categories (
+    id            bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          varchar(255)  NOT NULL,
+    slug          varchar(255)  NOT NULL UNIQUE,
+    description   varchar(1000),
+    display_order integer,
+    status        integer       NOT NULL,
+    is_deleted    boolean       NOT NULL,
+    created_at    timestamp(6),
+    updated_at    timestamp(6),
+    parent_id     bigint REFERENCES categories (id)
+);
+
+CREATE TABLE tags (
+    id            bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          varchar(255)  NOT NULL,
+    slug          varchar(255)  NOT NULL UNIQUE,
+    description   varchar(1000),
+    color         varchar(7),
+    display_order integer       NOT NULL,
+    status        integer       NOT NULL,
+    is_deleted    boolean       NOT NULL,
+    usage_count   bigint        NOT NULL,
+    created_at    timestamp(6)  NOT NULL,
+    updated_at    timestamp(6)
+);
+
+CREATE TABLE article (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title           varchar(255) NOT NULL,
+    slug            varchar(255) NOT NULL UNIQUE,
+    summary         text,
+    content         text,
+    author_id       bigint REFERENCES users (id),
+    category_id     bigint REFERENCES categories (id),
+    cover_image_url varchar(255),
+    status          integer      NOT NULL,
+    published_at    timestamp(6),
+    view_count      integer      NOT NULL,
+    like_count      integer      NOT NULL,
+    comment_count   integer      NOT NULL,
+    seo_title       varchar(255),
+    seo_description varchar(255),
+    seo_keywords    varchar(255),
+    is_deleted      boolean      NOT NULL,
+    created_at      timestamp(6) NOT NULL,
+    updated_at      timestamp(6)
+);
+
+CREATE TABLE article_tag (
+    article_id bigint NOT NULL REFERENCES article (id),
+    tag_id     bigint NOT NULL REFERENCES tags (id),
+    PRIMARY KEY (article_id, tag_id)
+);
@@ -0,0 +1,42 @@
+-- Indexes for the article / tag / category hot queries.
+-- IF NOT EXISTS keeps this safe on databases baselined from ddl-auto.
+
+-- Public listings: status = 1 AND is_deleted = false, published_at range,
+-- ORDER BY published_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_article_status_published_at
+    ON article (status, published_at DESC, id DESC)
+    WHERE is_deleted = false;
+
+-- Admin listings: is_deleted = false ORDER BY created_at DESC, title ASC
+CREATE INDEX IF NOT EXISTS idx_article_created_at_title
+    ON article (created_at DESC, title)
+    WHERE is_deleted = false;
+
+-- Articles of a category (subtree listings, category filter)
+CREATE INDEX IF NOT EXISTS idx_article_category_id
+    ON article (category_id, created_at DESC)
+    WHERE is_deleted = false;
+
+-- Articles of an author
+CREATE INDEX IF NOT EXISTS idx_article_author_id
+    ON article (author_id, created_at DESC)
+    WHERE is_deleted = false;
+
+-- Popular articles: view_count >= threshold ORDER BY view_count DESC
+CREATE INDEX IF NOT EXISTS idx_article_view_count
+    ON article (view_count DESC, created_at DESC)
+    WHERE is_deleted = false;
+
+-- Articles of a tag; the primary key (article_id, tag_id) only serves the other direction
+CREATE INDEX IF NOT EXISTS idx_article_tag_tag_id_article_id
+    ON article_tag (tag_id, article_id);
+
+-- Children of a category
+CREATE INDEX IF NOT EXISTS idx_categories_parent_id
+    ON categories (parent_id, display_order, name)
+    WHERE is_deleted = false;
+
+-- Most used tags
+CREATE INDEX IF NOT EXISTS idx_tags_usage_count
+    ON tags (usage_count DESC, name)
+    WHERE is_deleted = false;
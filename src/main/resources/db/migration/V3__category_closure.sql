@@ -0,0 +1,29 @@
+-- Closure table of the category hierarchy (one row per ancestor/descendant pair,
+-- including the depth-0 self row). Deleted categories have no rows.
+
+CREATE TABLE category_closure (
+    ancestor_id   bigint  NOT NULL REFERENCES categories (id) ON DELETE CASCADE,
+    descendant_id bigint  NOT NULL REFERENCES categories (id) ON DELETE CASCADE,
+    depth         integer NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+-- Ancestor lookups (breadcrumbs, circular reference checks)
+CREATE INDEX idx_category_closure_descendant ON category_closure (descendant_id, ancestor_id);
+
+-- Backfill from the parent_id links; a deleted category cuts its subtree off,
+-- as the former recursive descendant query did
+INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+WITH RECURSIVE paths (ancestor_id, descendant_id, depth) AS (
+    SELECT id, id, 0
+    FROM categories
+    WHERE is_deleted = false
+
+    UNION ALL
+
+    SELECT p.ancestor_id, c.id, p.depth + 1
+    FROM paths p
+    INNER JOIN categories c ON c.parent_id = p.descendant_id
+    WHERE c.is_deleted = false
+)
+SELECT ancestor_id, descendant_id, depth FROM paths;
@@ -0,0 +1,18 @@
+-- Counters behind the article statistics endpoints: one row per status,
+-- non-deleted articles only. Kept up to date by the article writes and the
+-- view-count flush; max_view_count only ever grows between reconciliations.
+
+CREATE TABLE article_stats (
+    status         integer   NOT NULL PRIMARY KEY,
+    article_count  bigint    NOT NULL DEFAULT 0,
+    view_sum       bigint    NOT NULL DEFAULT 0,
+    max_view_count bigint    NOT NULL DEFAULT 0,
+    reconciled_at  timestamp
+);
+
+-- Backfill (same query as the reconciliation job)
+INSERT INTO article_stats (status, article_count, view_sum, max_view_count, reconciled_at)
+SELECT s.status, COUNT(a.id), COALESCE(SUM(a.view_count), 0), COALESCE(MAX(a.view_count), 0), now()
+FROM (VALUES (0), (1), (2)) AS s (status)
+LEFT JOIN article a ON a.status = s.status AND a.is_deleted = false
+GROUP BY s.status;
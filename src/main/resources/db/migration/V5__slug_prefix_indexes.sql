@@ -0,0 +1,6 @@
+-- Prefix lookups of the slug allocator (slug LIKE 'base-%'). The unique slug
+-- indexes use the database collation and cannot serve LIKE unless it is C.
+
+CREATE INDEX IF NOT EXISTS idx_article_slug_pattern ON article (slug text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_tags_slug_pattern ON tags (slug text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_categories_slug_pattern ON categories (slug text_pattern_ops);
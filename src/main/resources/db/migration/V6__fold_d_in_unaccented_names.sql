@@ -0,0 +1,6 @@
+-- removeAccents now folds đ/Đ to d/D; bring the stored unaccented names in
+-- line with what the application writes.
+
+UPDATE users
+SET full_name_no_mark = translate(full_name_no_mark, 'đĐ', 'dD')
+WHERE full_name_no_mark ~ '[đĐ]';
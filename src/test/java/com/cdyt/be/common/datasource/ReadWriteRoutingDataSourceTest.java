@@ -0,0 +1,157 @@
+package com.cdyt.be.common.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cdyt.be.common.context.UserContextHolder;
+import com.cdyt.be.entity.User;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Routing of read-only and write transactions between a primary and two
+ * replicas, with two in-memory H2 databases standing in for the replicas: each
+ * database knows its own name.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+  private static final long MAX_LAG_MS = 1000;
+
+  private ReadWriteRoutingDataSource routing;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate writeTransaction;
+  private TransactionTemplate readTransaction;
+
+  @BeforeEach
+  void setUp() {
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    replicas.put("replica-1", database("replica-1"));
+    replicas.put("replica-2", database("replica-2"));
+    routing = new ReadWriteRoutingDataSource(database("primary"), replicas, MAX_LAG_MS,
+        Duration.ofMinutes(1));
+    routing.recordLag("replica-1", 0L, null);
+    routing.recordLag("replica-2", 0L, null);
+
+    DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    writeTransaction = new TransactionTemplate(transactionManager);
+    readTransaction = new TransactionTemplate(transactionManager);
+    readTransaction.setReadOnly(true);
+  }
+
+  @AfterEach
+  void tearDown() {
+    UserContextHolder.clear();
+  }
+
+  @Test
+  void readOnlyTransactionsAreSpreadOverTheReplicas() {
+    assertThat(readNode()).isEqualTo("replica-1");
+    assertThat(readNode()).isEqualTo("replica-2");
+    assertThat(readNode()).isEqualTo("replica-1");
+    assertThat(routing.getStats().replicas())
+        .extracting(ReadWriteRoutingDataSource.ReplicaStatus::connections)
+        .containsExactly(2L, 1L);
+  }
+
+  @Test
+  void writesAndReadsOutsideTransactionsUseThePrimary() {
+    String writeNode = writeTransaction.execute(status -> node());
+    assertThat(writeNode).isEqualTo("primary");
+    assertThat(node()).isEqualTo("primary");
+    assertThat(routing.getStats().primaryConnections()).containsEntry("WRITE", 1L);
+  }
+
+  @Test
+  void laggingAndUnreachableReplicasAreSkipped() {
+    routing.recordLag("replica-1", MAX_LAG_MS + 1, null);
+    assertThat(readNode()).isEqualTo("replica-2");
+    assertThat(readNode()).isEqualTo("replica-2");
+
+    routing.recordLag("replica-2", null, "Connection refused");
+    assertThat(readNode()).isEqualTo("primary");
+
+    routing.recordLag("replica-1", 0L, null);
+    assertThat(readNode()).isEqualTo("replica-1");
+  }
+
+  @Test
+  void usersReadTheirOwnWritesFromThePrimary() {
+    UserContextHolder.setCurrentUser(user(1L));
+    assertThat(readNode()).startsWith("replica");
+    writeTransaction.execute(status -> node());
+    assertThat(readNode()).isEqualTo("primary");
+    assertThat(readNode()).isEqualTo("primary");
+
+    UserContextHolder.setCurrentUser(user(2L));
+    assertThat(readNode()).startsWith("replica");
+  }
+
+  @Test
+  void rolledBackWritesDoNotMakeUsersSticky() {
+    UserContextHolder.setCurrentUser(user(1L));
+    writeTransaction.execute(status -> {
+      node();
+      status.setRollbackOnly();
+      return null;
+    });
+    assertThat(readNode()).startsWith("replica");
+  }
+
+  @Test
+  void pinnedThreadsReadFromThePrimary() {
+    assertThat(PrimaryReadContext.pin()).isTrue();
+    try {
+      assertThat(PrimaryReadContext.pin()).isFalse();
+      assertThat(readNode()).isEqualTo("primary");
+    } finally {
+      PrimaryReadContext.unpin();
+    }
+    assertThat(readNode()).startsWith("replica");
+  }
+
+  @Test
+  void connectionsWithExplicitCredentialsUseThePrimary() throws SQLException {
+    try (Connection connection = routing.getConnection("sa", "");
+        ResultSet node = connection.createStatement().executeQuery("SELECT name FROM node")) {
+      assertThat(node.next()).isTrue();
+      assertThat(node.getString(1)).isEqualTo("primary");
+    }
+  }
+
+  private String readNode() {
+    return readTransaction.execute(status -> node());
+  }
+
+  private String node() {
+    return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+  }
+
+  private static DataSource database(String name) {
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate template = new JdbcTemplate(dataSource);
+    template.execute("CREATE TABLE node (name VARCHAR(20))");
+    template.update("INSERT INTO node VALUES (?)", name);
+    return dataSource;
+  }
+
+  private static User user(Long id) {
+    User user = new User();
+    user.setId(id);
+    return user;
+  }
+}
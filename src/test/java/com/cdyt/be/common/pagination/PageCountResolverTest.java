@@ -0,0 +1,146 @@
+package com.cdyt.be.common.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntToLongFunction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Each count strategy of the resolver, with a mocked JdbcTemplate for the
+ * EXPLAIN estimates and a manual clock for the cache TTL.
+ */
+class PageCountResolverTest {
+
+  private static final int EXACT_LIMIT = 100;
+  private static final long TTL_SECONDS = 30;
+  private static final String ESTIMATE_SQL = "SELECT * FROM article";
+
+  private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+  private static final List<Integer> FULL_PAGE = Collections.nCopies(10, 1);
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final AtomicInteger counts = new AtomicInteger();
+  private JdbcTemplate jdbcTemplate;
+  private PageCountResolver resolver;
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate = mock(JdbcTemplate.class);
+    resolver = new PageCountResolver(jdbcTemplate, EXACT_LIMIT, TTL_SECONDS, 2, nanos::get);
+  }
+
+  @Test
+  void partialPageGivesExactTotalWithoutQuery() {
+    CountedPage<Integer> page = resolver.page(List.of(1, 2, 3), PageRequest.of(2, 10), "key", ESTIMATE_SQL,
+        counter(0));
+
+    assertThat(page.getTotalElements()).isEqualTo(23);
+    assertThat(page.getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+    assertThat(counts).hasValue(0);
+    verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class));
+  }
+
+  @Test
+  void smallCountIsExactAndThenCached() {
+    CountedPage<Integer> first = resolver.page(FULL_PAGE, FIRST_PAGE, "key", null, counter(42));
+    CountedPage<Integer> second = resolver.page(FULL_PAGE, FIRST_PAGE, "key", null, counter(42));
+
+    assertThat(first.getTotalElements()).isEqualTo(42);
+    assertThat(first.getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+    assertThat(second.getTotalElements()).isEqualTo(42);
+    assertThat(second.getCountStrategy()).isEqualTo(CountStrategy.CACHED);
+    assertThat(counts).hasValue(1);
+  }
+
+  @Test
+  void cachedCountExpiresAfterTtl() {
+    resolver.page(FULL_PAGE, FIRST_PAGE, "key", null, counter(42));
+    nanos.addAndGet(Duration.ofSeconds(TTL_SECONDS + 1).toNanos());
+
+    CountedPage<Integer> page = resolver.page(FULL_PAGE, FIRST_PAGE, "key", null, counter(43));
+
+    assertThat(page.getTotalElements()).isEqualTo(43);
+    assertThat(page.getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+    assertThat(counts).hasValue(2);
+  }
+
+  @Test
+  void largeUnfilteredListingIsEstimated() {
+    when(jdbcTemplate.queryForList("EXPLAIN " + ESTIMATE_SQL, String.class))
+        .thenReturn(List.of("Seq Scan on article  (cost=0.00..1234.00 rows=50000 width=8)"));
+
+    CountedPage<Integer> page = resolver.page(FULL_PAGE, FIRST_PAGE, "key", ESTIMATE_SQL, counter(0));
+
+    assertThat(page.getTotalElements()).isEqualTo(50_000);
+    assertThat(page.getCountStrategy()).isEqualTo(CountStrategy.ESTIMATED);
+    assertThat(counts).hasValue(0);
+  }
+
+  @Test
+  void smallEstimateFallsBackToExactCount() {
+    when(jdbcTemplate.queryForList("EXPLAIN " + ESTIMATE_SQL, String.class))
+        .thenReturn(List.of("Seq Scan on article  (cost=0.00..12.00 rows=50 width=8)"));
+
+    CountedPage<Integer> page = resolver.page(FULL_PAGE, FIRST_PAGE, "key", ESTIMATE_SQL, counter(57));
+
+    assertThat(page.getTotalElements()).isEqualTo(57);
+    assertThat(page.getCountStrategy()).isEqualTo(CountStrategy.EXACT);
+  }
+
+  @Test
+  void countAboveLimitIsCapped() {
+    List<Integer> limits = new ArrayList<>();
+    CountedPage<Integer> page = resolver.page(FULL_PAGE, FIRST_PAGE, "key", null, limit -> {
+      limits.add(limit);
+      return limit;
+    });
+
+    assertThat(limits).containsExactly(EXACT_LIMIT + 1);
+    assertThat(page.getTotalElements()).isEqualTo(EXACT_LIMIT);
+    assertThat(page.getCountStrategy()).isEqualTo(CountStrategy.CAPPED);
+  }
+
+  @Test
+  void cachedHitKeepsEstimatedAndCappedStrategies() {
+    when(jdbcTemplate.queryForList("EXPLAIN " + ESTIMATE_SQL, String.class))
+        .thenReturn(List.of("Seq Scan on article  (cost=0.00..1234.00 rows=50000 width=8)"));
+    resolver.page(FULL_PAGE, FIRST_PAGE, "estimated", ESTIMATE_SQL, counter(0));
+    resolver.page(FULL_PAGE, FIRST_PAGE, "capped", null, counter(EXACT_LIMIT + 1));
+
+    assertThat(resolver.page(FULL_PAGE, FIRST_PAGE, "estimated", ESTIMATE_SQL, counter(0))
+        .getCountStrategy()).isEqualTo(CountStrategy.ESTIMATED);
+    assertThat(resolver.page(FULL_PAGE, FIRST_PAGE, "capped", null, counter(0))
+        .getCountStrategy()).isEqualTo(CountStrategy.CAPPED);
+    assertThat(counts).hasValue(1);
+  }
+
+  @Test
+  void keyNormalizesTextFilters() {
+    assertThat(PageCountResolver.key("articles", "  Foo ", null, 3L))
+        .isEqualTo(PageCountResolver.key("articles", "foo", null, 3L))
+        .isEqualTo("articles|foo||3");
+  }
+
+  private IntToLongFunction counter(long total) {
+    return limit -> {
+      counts.incrementAndGet();
+      return Math.min(total, limit);
+    };
+  }
+}
@@ -0,0 +1,171 @@
+package com.cdyt.be.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.cdyt.be.dto.article.ArticleImportRow;
+import com.cdyt.be.repository.ArticleImportRepository.StagedArticle;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Runs the set-based import steps end to end: binary COPY of rows with NULLs
+ * and timestamps, slug assignment against existing and staged slugs, tag
+ * creation and linking, tag usage counts and the article_stats counters.
+ *
+ * Runs against a scratch PostgreSQL database given by EXPLAIN_TEST_DB_URL
+ * (plus EXPLAIN_TEST_DB_USERNAME / EXPLAIN_TEST_DB_PASSWORD); the migrations
+ * are applied to it first and everything is rolled back at the end.
+ */
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_TEST_DB_URL", matches = ".+")
+class ArticleImportRepositoryTest {
+
+  private static final LocalDateTime PUBLISHED_AT = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000);
+
+  private static SingleConnectionDataSource dataSource;
+  private static JdbcTemplate jdbcTemplate;
+  private static ArticleImportRepository repository;
+
+  @BeforeAll
+  static void setUp() throws SQLException {
+    dataSource = new SingleConnectionDataSource(
+        System.getenv("EXPLAIN_TEST_DB_URL"),
+        System.getenv("EXPLAIN_TEST_DB_USERNAME"),
+        System.getenv("EXPLAIN_TEST_DB_PASSWORD"),
+        true);
+    Flyway.configure().dataSource(dataSource).load().migrate();
+    // The staging table is dropped on commit: every step runs in this transaction
+    dataSource.getConnection().setAutoCommit(false);
+
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    repository = new ArticleImportRepository(dataSource);
+  }
+
+  @AfterAll
+  static void tearDown() throws SQLException {
+    if (dataSource != null) {
+      dataSource.getConnection().rollback();
+      dataSource.destroy();
+    }
+  }
+
+  @Test
+  void importsRowsWithFreeSlugsTagsAndUsageCounts() {
+    Long defaultAuthorId = insertUser("import-default@example.com");
+    Long writerId = insertUser("import-writer@example.com");
+    Long categoryId = jdbcTemplate.queryForObject("INSERT INTO categories (name, slug, status, is_deleted) "
+        + "VALUES ('Import news', 'import-news', 1, false) RETURNING id", Long.class);
+    Long existingTagId = jdbcTemplate.queryForObject("INSERT INTO tags (name, slug, display_order, status, "
+        + "is_deleted, usage_count, created_at) VALUES ('Tin tức', 'tin-tuc', 0, 1, false, 1, now()) "
+        + "RETURNING id", Long.class);
+    // "foo-4-3" is taken: the import renumbers "foo-4" after it, not onto it
+    for (String slug : List.of("foo", "foo-3", "foo-1", "foo-4-3")) {
+      jdbcTemplate.update("INSERT INTO article (title, slug, author_id, status, view_count, like_count, "
+          + "comment_count, is_deleted, created_at) VALUES ('Existing', ?, ?, 0, 0, 0, 0, false, now())",
+          slug, defaultAuthorId);
+    }
+    jdbcTemplate.update("INSERT INTO article_tag (article_id, tag_id) "
+        + "SELECT id, ? FROM article WHERE slug = 'foo'", existingTagId);
+    Long lastExistingId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM article", Long.class);
+    Map<String, Object> publishedStats = publishedStats();
+
+    List<StagedArticle> rows = List.of(
+        staged(1, new ArticleImportRow("Foo", "Summary", "<p>Content</p>", "https://cdn.example.com/1.jpg",
+            1, PUBLISHED_AT, "import-writer@example.com", "import-news", List.of("Tin tức", "Mới"),
+            "SEO title", "SEO description", "foo,bar", 5), "foo", List.of("tin-tuc", "moi")),
+        staged(2, new ArticleImportRow("Foo", null, null, null, 0, null, null, null, List.of(),
+            null, null, null, 0), "foo", List.of()),
+        // Its base is the slug generated for line 1
+        staged(3, new ArticleImportRow("Foo 4", null, null, null, 0, null, null, null, List.of("Mới"),
+            null, null, null, 0), "foo-4", List.of("moi")),
+        staged(4, new ArticleImportRow("Foo 1", null, null, null, 0, null, null, null, List.of("Tin tức"),
+            null, null, null, 0), "foo-1", List.of("tin-tuc")));
+
+    repository.lockArticles();
+    repository.createStagingTable();
+    assertThat(repository.stage(rows.iterator())).isEqualTo(4);
+    assertThat(repository.resolveAuthors(defaultAuthorId)).isEmpty();
+    assertThat(repository.resolveCategories()).isEmpty();
+    repository.assignSlugs();
+    assertThat(repository.createMissingTags()).isEqualTo(1);
+    assertThat(repository.insertArticles()).isEqualTo(4);
+    assertThat(repository.linkTags()).isEqualTo(4);
+    repository.recomputeTagUsage();
+    repository.addStatistics();
+
+    List<Map<String, Object>> imported = jdbcTemplate.queryForList("SELECT * FROM article WHERE id > ? "
+        + "ORDER BY id", lastExistingId);
+    assertThat(imported).extracting(article -> article.get("slug"))
+        .containsExactly("foo-4", "foo-5", "foo-4-4", "foo-1-1");
+
+    Map<String, Object> full = imported.get(0);
+    assertThat(full.get("title")).isEqualTo("Foo");
+    assertThat(full.get("summary")).isEqualTo("Summary");
+    assertThat(full.get("content")).isEqualTo("<p>Content</p>");
+    assertThat(full.get("cover_image_url")).isEqualTo("https://cdn.example.com/1.jpg");
+    assertThat(((Number) full.get("status")).intValue()).isEqualTo(1);
+    assertThat(((Number) full.get("view_count")).intValue()).isEqualTo(5);
+    assertThat(((Number) full.get("author_id")).longValue()).isEqualTo(writerId);
+    assertThat(((Number) full.get("category_id")).longValue()).isEqualTo(categoryId);
+    assertThat(full.get("seo_keywords")).isEqualTo("foo,bar");
+    assertThat(full.get("created_at")).isNotNull();
+    assertThat(jdbcTemplate.queryForObject("SELECT published_at FROM article WHERE id = ?",
+        LocalDateTime.class, full.get("id"))).isEqualTo(PUBLISHED_AT);
+
+    Map<String, Object> sparse = imported.get(1);
+    assertThat(((Number) sparse.get("author_id")).longValue()).isEqualTo(defaultAuthorId);
+    assertThat(((Number) sparse.get("status")).intValue()).isZero();
+    for (String column : List.of("summary", "content", "cover_image_url", "published_at", "category_id",
+        "seo_title", "seo_description", "seo_keywords")) {
+      assertThat(sparse.get(column)).as(column).isNull();
+    }
+
+    assertThat(jdbcTemplate.queryForList("SELECT a.slug, t.slug AS tag FROM article_tag at "
+        + "JOIN article a ON a.id = at.article_id JOIN tags t ON t.id = at.tag_id "
+        + "WHERE a.id > ? ORDER BY a.id, t.slug", lastExistingId))
+        .extracting(link -> link.get("slug"), link -> link.get("tag"))
+        .containsExactly(
+            tuple("foo-4", "moi"), tuple("foo-4", "tin-tuc"),
+            tuple("foo-4-4", "moi"),
+            tuple("foo-1-1", "tin-tuc"));
+
+    assertThat(jdbcTemplate.queryForList("SELECT slug, name, usage_count FROM tags "
+        + "WHERE slug IN ('tin-tuc', 'moi') ORDER BY slug"))
+        .extracting(tag -> tag.get("slug"), tag -> tag.get("name"),
+            tag -> ((Number) tag.get("usage_count")).longValue())
+        .containsExactly(
+            tuple("moi", "Mới", 2L),
+            tuple("tin-tuc", "Tin tức", 3L));
+
+    // One published article with 5 views was added
+    Map<String, Object> publishedStatsAfter = publishedStats();
+    assertThat(((Number) publishedStatsAfter.get("article_count")).longValue())
+        .isEqualTo(((Number) publishedStats.get("article_count")).longValue() + 1);
+    assertThat(((Number) publishedStatsAfter.get("view_sum")).longValue())
+        .isEqualTo(((Number) publishedStats.get("view_sum")).longValue() + 5);
+  }
+
+  private static Map<String, Object> publishedStats() {
+    return jdbcTemplate.queryForMap("SELECT COALESCE(SUM(article_count), 0) AS article_count, "
+        + "COALESCE(SUM(view_sum), 0) AS view_sum FROM article_stats WHERE status = 1");
+  }
+
+  private static Long insertUser(String email) {
+    return jdbcTemplate.queryForObject("INSERT INTO users (full_name, email, password) VALUES (?, ?, 'x') "
+        + "RETURNING id", Long.class, email, email);
+  }
+
+  private static StagedArticle staged(long lineNo, ArticleImportRow row, String baseSlug, List<String> tagSlugs) {
+    return new StagedArticle(lineNo, row, baseSlug, row.status(), row.publishedAt(), row.viewCount(),
+        row.tags(), tagSlugs);
+  }
+}
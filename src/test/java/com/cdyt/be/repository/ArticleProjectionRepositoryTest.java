@@ -0,0 +1,127 @@
+package com.cdyt.be.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cdyt.be.dto.article.ArticleField;
+import com.cdyt.be.dto.article.ProjectedArticle;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Compares the payload size of the article list read with all its fields and
+ * with the mobile field selection, and checks that only the selected fields
+ * are returned.
+ *
+ * Runs against a scratch PostgreSQL database given by EXPLAIN_TEST_DB_URL
+ * (plus EXPLAIN_TEST_DB_USERNAME / EXPLAIN_TEST_DB_PASSWORD); the migrations
+ * are applied to it first and the seeded articles are rolled back at the end.
+ */
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_TEST_DB_URL", matches = ".+")
+class ArticleProjectionRepositoryTest {
+
+  private static final String MOBILE_FIELDS = "id,title,slug,coverImageUrl,publishedAt";
+  private static final int PAGE_SIZE = 20;
+
+  private static SingleConnectionDataSource dataSource;
+  private static ArticleProjectionRepository repository;
+  private static final ObjectMapper objectMapper = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  @BeforeAll
+  static void setUp() throws SQLException {
+    dataSource = new SingleConnectionDataSource(
+        System.getenv("EXPLAIN_TEST_DB_URL"),
+        System.getenv("EXPLAIN_TEST_DB_USERNAME"),
+        System.getenv("EXPLAIN_TEST_DB_PASSWORD"),
+        true);
+    Flyway.configure().dataSource(dataSource).load().migrate();
+    dataSource.getConnection().setAutoCommit(false);
+
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    Long authorId = jdbcTemplate.queryForObject("INSERT INTO users (full_name, email, password, avatar) "
+        + "VALUES ('Projection Author', 'projection-author@example.com', 'x', 'https://cdn.example.com/a.png') "
+        + "RETURNING id", Long.class);
+    Long categoryId = jdbcTemplate.queryForObject("INSERT INTO categories (name, slug, description, status, "
+        + "is_deleted) VALUES ('Projection', 'projection-category', 'Seeded', 1, false) RETURNING id", Long.class);
+    jdbcTemplate.update("INSERT INTO tags (name, slug, color, display_order, status, is_deleted, usage_count, "
+        + "created_at) SELECT 'Projection tag ' || g, 'projection-tag-' || g, '#336699', 0, 1, false, 0, now() "
+        + "FROM generate_series(1, 5) g");
+    jdbcTemplate.update("INSERT INTO article (title, slug, summary, content, author_id, category_id, "
+        + "cover_image_url, status, published_at, view_count, like_count, comment_count, is_deleted, created_at) "
+        + "SELECT 'Projection article ' || g, 'projection-article-' || g, repeat('summary ', 40), "
+        + "repeat('content ', 2000), ?, ?, 'https://cdn.example.com/' || g || '.jpg', 1, "
+        + "now() - g * interval '1 minute', g, 0, 0, false, now() FROM generate_series(1, 500) g",
+        authorId, categoryId);
+    jdbcTemplate.update("INSERT INTO article_tag (article_id, tag_id) SELECT a.id, t.id FROM article a, tags t "
+        + "WHERE a.slug LIKE 'projection-article-%' AND t.slug LIKE 'projection-tag-%'");
+    jdbcTemplate.execute("ANALYZE");
+
+    repository = new ArticleProjectionRepository(dataSource);
+  }
+
+  @AfterAll
+  static void tearDown() throws SQLException {
+    if (dataSource != null) {
+      dataSource.getConnection().rollback();
+      dataSource.destroy();
+    }
+  }
+
+  @Test
+  void mobileFieldsShrinkThePayload() throws Exception {
+    Set<ArticleField> allFields = EnumSet.noneOf(ArticleField.class);
+    Arrays.stream(ArticleField.values())
+        .filter(field -> field.isIn(ArticleField.View.LIST))
+        .forEach(allFields::add);
+    Set<ArticleField> mobileFields = ArticleField.parse(MOBILE_FIELDS, ArticleField.View.LIST);
+
+    int allBytes = payloadBytes(allFields);
+    int mobileBytes = payloadBytes(mobileFields);
+
+    assertThat(mobileBytes).isLessThan(allBytes);
+  }
+
+  @Test
+  void onlySelectedFieldsAreReturned() {
+    List<ProjectedArticle> articles = repository.findPublishedArticles(
+        ArticleField.parse(MOBILE_FIELDS, ArticleField.View.LIST), null, null, null, PAGE_SIZE, 0);
+
+    assertThat(articles).hasSize(PAGE_SIZE);
+    assertThat(articles.get(0).fields().keySet())
+        .containsExactly("id", "title", "slug", "coverImageUrl", "publishedAt");
+  }
+
+  @Test
+  void detailTagsCarryFullInfo() {
+    ProjectedArticle article = repository.findPublishedBySlug(
+        ArticleField.parse("title,tags", ArticleField.View.DETAIL), "projection-article-1").orElseThrow();
+
+    assertThat(article.fields().keySet()).containsExactly("title", "tags");
+    @SuppressWarnings("unchecked")
+    List<Map<String, Object>> tags = (List<Map<String, Object>>) article.fields().get("tags");
+    assertThat(tags).hasSize(5);
+    assertThat(tags.get(0).keySet())
+        .containsExactly("id", "name", "slug", "description", "color", "usageCount");
+  }
+
+  private static int payloadBytes(Set<ArticleField> fields) throws Exception {
+    List<Map<String, Object>> page = repository.findPublishedArticles(fields, null, null, null, PAGE_SIZE, 0)
+        .stream().map(ProjectedArticle::fields).toList();
+    return objectMapper.writeValueAsBytes(page).length;
+  }
+}
@@ -0,0 +1,149 @@
+package com.cdyt.be.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Checks that the planner serves each hot article query with the index the
+ * migrations added for it. The tables are seeded with enough rows, and with
+ * selective values for the filters under test, for the index to win over a
+ * sequential scan on its own merits.
+ *
+ * Runs against a scratch PostgreSQL database given by EXPLAIN_TEST_DB_URL
+ * (plus EXPLAIN_TEST_DB_USERNAME / EXPLAIN_TEST_DB_PASSWORD); the migrations
+ * are applied to it first and the seeded rows are rolled back at the end.
+ */
+@EnabledIfEnvironmentVariable(named = "EXPLAIN_TEST_DB_URL", matches = ".+")
+class ArticleQueryPlanTest {
+
+  // Literal values substituted for the named parameters of the repository
+  // queries; the category and tag ids are those of the seeded rows
+  private static final Map<String, String> PARAMETERS = new HashMap<>(Map.of(
+      ":title", "NULL",
+      ":status", "NULL",
+      ":authorId", "NULL",
+      ":categoryId", "NULL",
+      ":minViewCount", "NULL",
+      ":maxViewCount", "NULL",
+      ":publishedFrom", "'2024-06-01 00:00:00'",
+      ":publishedTo", "'2024-07-01 00:00:00'"));
+
+  private static SingleConnectionDataSource dataSource;
+  private static JdbcTemplate jdbcTemplate;
+
+  @BeforeAll
+  static void setUp() throws SQLException {
+    dataSource = new SingleConnectionDataSource(
+        System.getenv("EXPLAIN_TEST_DB_URL"),
+        System.getenv("EXPLAIN_TEST_DB_USERNAME"),
+        System.getenv("EXPLAIN_TEST_DB_PASSWORD"),
+        true);
+    Flyway.configure().dataSource(dataSource).load().migrate();
+    dataSource.getConnection().setAutoCommit(false);
+
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    seed();
+    jdbcTemplate.execute("ANALYZE");
+  }
+
+  /**
+   * 20k articles over two years, 80% published. Category 1 holds 0.5% of
+   * them, tag 1 is on 0.25% and 1% have 100 views or more; the other rows
+   * share a few categories and tags.
+   */
+  private static void seed() {
+    Long authorId = jdbcTemplate.queryForObject("INSERT INTO users (full_name, email, password) "
+        + "VALUES ('Plan Author', 'plan-author@example.com', 'x') RETURNING id", Long.class);
+    List<Long> categoryIds = jdbcTemplate.queryForList("INSERT INTO categories (name, slug, status, is_deleted) "
+        + "SELECT 'Plan category ' || g, 'plan-category-' || g, 1, false FROM generate_series(1, 5) g "
+        + "RETURNING id", Long.class);
+    List<Long> tagIds = jdbcTemplate.queryForList("INSERT INTO tags (name, slug, display_order, status, "
+        + "is_deleted, usage_count, created_at) SELECT 'Plan tag ' || g, 'plan-tag-' || g, 0, 1, false, 0, "
+        + "now() FROM generate_series(1, 5) g RETURNING id", Long.class);
+    PARAMETERS.put(":categoryId", String.valueOf(categoryIds.get(0)));
+    PARAMETERS.put(":tagId", String.valueOf(tagIds.get(0)));
+
+    jdbcTemplate.update("INSERT INTO article (title, slug, summary, author_id, category_id, status, "
+        + "published_at, view_count, like_count, comment_count, is_deleted, created_at) "
+        + "SELECT 'Plan article ' || g, 'plan-article-' || g, 'Summary', ?, "
+        + "CASE WHEN g % 200 = 0 THEN ? ELSE ? END, CASE WHEN g % 5 = 0 THEN 0 ELSE 1 END, "
+        + "CASE WHEN g % 5 = 0 THEN NULL ELSE timestamp '2025-01-01' - g * interval '1 hour' END, "
+        + "CASE WHEN g % 100 = 0 THEN 100 + g ELSE g % 100 END, 0, 0, false, "
+        + "timestamp '2025-01-01' - g * interval '1 hour' FROM generate_series(1, 20000) g",
+        authorId, categoryIds.get(0), categoryIds.get(1));
+    jdbcTemplate.update("INSERT INTO article_tag (article_id, tag_id) "
+        + "SELECT a.id, CASE WHEN a.id % 400 = 0 THEN ? ELSE ? END FROM article a "
+        + "WHERE a.slug LIKE 'plan-article-%'", tagIds.get(0), tagIds.get(1));
+  }
+
+  @AfterAll
+  static void tearDown() throws SQLException {
+    if (dataSource != null) {
+      dataSource.getConnection().rollback();
+      dataSource.destroy();
+    }
+  }
+
+  @Test
+  void publishedListingUsesIndex() {
+    assertUsesIndex("SELECT * FROM article a WHERE " + ArticleRepository.PUBLISHED_ARTICLE_FILTERS
+        .replace(":publishedFrom", "NULL").replace(":publishedTo", "NULL")
+        + "ORDER BY a.published_at DESC, a.id DESC LIMIT 20", "idx_article_status_published_at");
+  }
+
+  @Test
+  void publishedDateRangeUsesIndex() {
+    assertUsesIndex("SELECT * FROM article a WHERE " + ArticleRepository.PUBLISHED_ARTICLE_FILTERS
+        + "ORDER BY a.published_at DESC, a.id DESC LIMIT 20", "idx_article_status_published_at");
+  }
+
+  @Test
+  void publishedByTagUsesReverseTagIndex() {
+    assertUsesIndex("SELECT * FROM article a WHERE " + ArticleRepository.PUBLISHED_ARTICLES_BY_TAG_FILTERS
+        .replace(":publishedFrom", "NULL").replace(":publishedTo", "NULL")
+        + "ORDER BY a.published_at DESC, a.id DESC LIMIT 20", "idx_article_tag_tag_id_article_id");
+  }
+
+  @Test
+  void adminListingUsesIndex() {
+    assertUsesIndex("SELECT * FROM article a WHERE " + ArticleRepository.ARTICLE_SEARCH_FILTERS
+        .replace(":categoryId", "NULL")
+        + "ORDER BY a.created_at DESC, a.title ASC LIMIT 20", "idx_article_created_at_title");
+  }
+
+  @Test
+  void adminCategoryFilterUsesIndex() {
+    assertUsesIndex("SELECT * FROM article a WHERE " + ArticleRepository.ARTICLE_SEARCH_FILTERS
+        + "ORDER BY a.created_at DESC, a.title ASC LIMIT 20", "idx_article_category_id");
+  }
+
+  @Test
+  void popularArticlesUseIndex() {
+    assertUsesIndex("SELECT * FROM article a WHERE a.view_count >= 100 AND a.is_deleted = false "
+        + "ORDER BY a.view_count DESC, a.created_at DESC", "idx_article_view_count");
+  }
+
+  private void assertUsesIndex(String sql, String index) {
+    String bound = sql;
+    for (Map.Entry<String, String> parameter : PARAMETERS.entrySet()) {
+      bound = bound.replace(parameter.getKey(), parameter.getValue());
+    }
+
+    List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + bound, String.class);
+    String planText = String.join("\n", plan);
+    assertThat(planText)
+        .as("Plan of %s%n%s", bound, planText)
+        .contains(index);
+  }
+}
@@ -0,0 +1,113 @@
+package com.cdyt.be.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.cdyt.be.dto.article.ArticleResponseDto;
+import com.cdyt.be.entity.Article;
+import com.cdyt.be.entity.Category;
+import com.cdyt.be.entity.Tag;
+import com.cdyt.be.entity.User;
+import com.cdyt.be.mapper.ArticleMapper;
+import com.cdyt.be.repository.ArticleRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({ArticleAssociationLoader.class, ArticleMapper.class})
+class ArticleAssociationLoaderTest {
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private ArticleRepository articleRepository;
+
+  @Autowired
+  private ArticleAssociationLoader associationLoader;
+
+  @Autowired
+  private ArticleMapper articleMapper;
+
+  @Test
+  void statementCountPerPageDoesNotDependOnPageSize() {
+    long smallPage = countStatementsForPage(seedArticles(5));
+    long largePage = countStatementsForPage(seedArticles(40));
+
+    // 1 page query + at most 3 association queries
+    assertThat(smallPage).isLessThanOrEqualTo(4);
+    assertThat(largePage).isEqualTo(smallPage);
+  }
+
+  private long countStatementsForPage(List<Long> articleIds) {
+    entityManager.flush();
+    entityManager.clear();
+    Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+        .unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    List<Article> page = articleRepository.findAllById(articleIds);
+    List<ArticleResponseDto> dtos = articleMapper.toResponseDtoList(page, associationLoader.load(page));
+
+    assertThat(dtos).hasSize(articleIds.size());
+    assertThat(dtos).allSatisfy(dto -> {
+      assertThat(dto.getAuthorName()).isNotNull();
+      assertThat(dto.getCategoryName()).isNotNull();
+      assertThat(dto.getTags()).hasSize(2);
+    });
+    return statistics.getPrepareStatementCount();
+  }
+
+  private List<Long> seedArticles(int count) {
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      String suffix = System.nanoTime() + "-" + i;
+
+      User author = new User();
+      author.setFullName("Author " + suffix);
+      author.setEmail("author-" + suffix + "@example.com");
+      author.setPassword("secret");
+      entityManager.persist(author);
+
+      Category category = new Category();
+      category.setName("Category " + suffix);
+      category.setSlug("category-" + suffix);
+      entityManager.persist(category);
+
+      Tag first = newTag("first-" + suffix);
+      Tag second = newTag("second-" + suffix);
+
+      Article article = new Article();
+      article.setTitle("Article " + suffix);
+      article.setSlug("article-" + suffix);
+      article.setAuthor(author);
+      article.setCategory(category);
+      article.setTags(Set.of(first, second));
+      article.setCreatedAt(LocalDateTime.now());
+      ids.add(entityManager.persistAndGetId(article, Long.class));
+    }
+    return ids;
+  }
+
+  private Tag newTag(String slug) {
+    Tag tag = new Tag();
+    tag.setName(slug);
+    tag.setSlug(slug);
+    tag.setCreatedAt(LocalDateTime.now());
+    entityManager.persist(tag);
+    return tag;
+  }
+}
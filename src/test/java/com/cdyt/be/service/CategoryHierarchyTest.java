@@ -0,0 +1,116 @@
+package com.cdyt.be.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.cdyt.be.common.cache.CategoryTreeCache;
+import com.cdyt.be.common.cache.ContentVersions;
+import com.cdyt.be.dto.category.CategoryResponseDto;
+import com.cdyt.be.entity.Category;
+import com.cdyt.be.mapper.CategoryMapper;
+import com.cdyt.be.repository.CategoryClosureRepository;
+import com.cdyt.be.repository.CategoryRepository;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Checks the query count of the category hierarchy on a 5,000-category tree.
+ * Assembly time is measured by MapperBenchmark#categoryTree, not here.
+ */
+@DataJpaTest(properties = {
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CategoryHierarchyTest {
+
+  private static final int CATEGORY_COUNT = 5_000;
+  private static final int ROOT_COUNT = 20;
+  private static final int FAN_OUT = 4;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  private CategoryService categoryService;
+
+  @BeforeEach
+  void setUp() {
+    ContentVersions contentVersions = mock(ContentVersions.class);
+    when(contentVersions.current(ContentVersions.CATEGORIES)).thenReturn(1L);
+    CategoryTreeCache categoryTreeCache = new CategoryTreeCache(categoryRepository, contentVersions);
+    categoryService = new CategoryService(categoryRepository, mock(CategoryClosureRepository.class),
+        new CategoryMapper(categoryTreeCache), categoryTreeCache, mock(ApplicationEventPublisher.class),
+        mock(SlugAllocator.class));
+  }
+
+  @Test
+  void hierarchyIsAssembledFromOneFlatQuery() {
+    seedTree(CATEGORY_COUNT);
+    entityManager.flush();
+    entityManager.clear();
+    Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+        .unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    List<CategoryResponseDto> hierarchy = categoryService.getCategoryHierarchy();
+    List<CategoryResponseDto> again = categoryService.getCategoryHierarchy();
+
+    // One flat query for the cold snapshot, none once it is built, and no
+    // lazy loads of parents or children while assembling either response
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+    assertThat(hierarchy).hasSize(ROOT_COUNT);
+    assertThat(countNodes(hierarchy)).isEqualTo(CATEGORY_COUNT);
+    assertThat(countNodes(again)).isEqualTo(CATEGORY_COUNT);
+
+    CategoryResponseDto root = hierarchy.get(0);
+    CategoryResponseDto child = root.getChildren().get(0);
+    CategoryResponseDto grandChild = child.getChildren().get(0);
+    assertThat(grandChild.getDepthLevel()).isEqualTo(2);
+    assertThat(grandChild.getFullPath())
+        .isEqualTo(root.getName() + " > " + child.getName() + " > " + grandChild.getName());
+    assertThat(grandChild.getParentName()).isEqualTo(child.getName());
+  }
+
+  /**
+   * ROOT_COUNT roots, then every category gets FAN_OUT children in insertion order
+   */
+  private void seedTree(int count) {
+    List<Category> categories = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      Category category = new Category();
+      category.setName("Category " + (i + 1));
+      category.setSlug("category-" + (i + 1));
+      category.setDisplayOrder(i);
+      if (i >= ROOT_COUNT) {
+        category.setParent(categories.get((i - ROOT_COUNT) / FAN_OUT));
+      }
+      entityManager.persist(category);
+      categories.add(category);
+    }
+  }
+
+  private int countNodes(List<CategoryResponseDto> nodes) {
+    int count = 0;
+    for (CategoryResponseDto node : nodes) {
+      count++;
+      if (node.getChildren() != null) {
+        count += countNodes(node.getChildren());
+      }
+    }
+    return count;
+  }
+}
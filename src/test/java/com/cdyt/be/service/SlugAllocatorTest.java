@@ -0,0 +1,99 @@
+package com.cdyt.be.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+/**
+ * Slug suffix selection, and allocation under parallel creates of the same
+ * title.
+ *
+ * The concurrency test runs against the scratch PostgreSQL database of
+ * {@code ArticleQueryPlanTest} (EXPLAIN_TEST_DB_URL, EXPLAIN_TEST_DB_USERNAME,
+ * EXPLAIN_TEST_DB_PASSWORD); the migrations are applied to it first.
+ */
+class SlugAllocatorTest {
+
+  private static final int PARALLEL_CREATES = 100;
+
+  private static final String INSERT_TAG_SQL = "INSERT INTO tags "
+      + "(name, slug, display_order, status, is_deleted, usage_count, created_at) "
+      + "VALUES (?, ?, 0, 1, false, 0, now())";
+
+  @Test
+  void baseSlugIsUsedWhenFree() {
+    assertThat(SlugAllocator.nextFree("tin-tuc", List.of("tin-tuc-1", "tin-tuc-2")))
+        .isEqualTo("tin-tuc");
+  }
+
+  @Test
+  void firstFreeSuffixIsUsed() {
+    assertThat(SlugAllocator.nextFree("tin-tuc", List.of("tin-tuc", "tin-tuc-1", "tin-tuc-3")))
+        .isEqualTo("tin-tuc-2");
+  }
+
+  @Test
+  void nonNumericAndNonCanonicalSuffixesAreIgnored() {
+    assertThat(SlugAllocator.nextFree("tin-tuc",
+        List.of("tin-tuc", "tin-tuc-01", "tin-tuc-moi", "tin-tuc-1-2", "tin-tuc-")))
+        .isEqualTo("tin-tuc-1");
+  }
+
+  @Test
+  @EnabledIfEnvironmentVariable(named = "EXPLAIN_TEST_DB_URL", matches = ".+")
+  void parallelCreatesOfTheSameTitleGetDistinctSlugs() throws Exception {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setJdbcUrl(System.getenv("EXPLAIN_TEST_DB_URL"));
+    dataSource.setUsername(System.getenv("EXPLAIN_TEST_DB_USERNAME"));
+    dataSource.setPassword(System.getenv("EXPLAIN_TEST_DB_PASSWORD"));
+    dataSource.setMaximumPoolSize(20);
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    String baseSlug = "slug-stress-" + System.nanoTime();
+
+    ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_CREATES);
+    try {
+      Flyway.configure().dataSource(dataSource).load().migrate();
+      SlugAllocator slugAllocator =
+          new SlugAllocator(dataSource, new DataSourceTransactionManager(dataSource));
+
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<String>> creates = new ArrayList<>();
+      for (int i = 0; i < PARALLEL_CREATES; i++) {
+        creates.add(executor.submit(() -> {
+          start.await();
+          return slugAllocator.retryOnConflict(() -> {
+            String slug = slugAllocator.allocate(SlugAllocator.Table.TAG, baseSlug, null);
+            jdbcTemplate.update(INSERT_TAG_SQL, slug, slug);
+            return slug;
+          });
+        }));
+      }
+      start.countDown();
+
+      Set<String> slugs = new HashSet<>();
+      for (Future<String> create : creates) {
+        slugs.add(create.get(60, TimeUnit.SECONDS));
+      }
+      assertThat(slugs).hasSize(PARALLEL_CREATES)
+          .contains(baseSlug, baseSlug + "-1", baseSlug + "-" + (PARALLEL_CREATES - 1));
+    } finally {
+      executor.shutdownNow();
+      jdbcTemplate.update("DELETE FROM tags WHERE slug = ? OR slug LIKE ?", baseSlug, baseSlug + "-%");
+      dataSource.close();
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.cdyt.be.util;
+
+import java.text.Normalizer;
+
+/**
+ * The regex based slug and accent removal that {@link TextUtils} replaced,
+ * kept as the reference for its tests and benchmark.
+ */
+public final class LegacyTextUtils {
+
+  private LegacyTextUtils() {
+  }
+
+  public static String removeAccents(String input) {
+    if (input == null || input.isEmpty()) {
+      return null;
+    }
+    String normalized = Normalizer.normalize(input, Normalizer.Form.NFD);
+    return normalized.replaceAll("\\p{M}", "");
+  }
+
+  public static String generateSlug(String input) {
+    if (input == null || input.trim().isEmpty()) {
+      return "";
+    }
+    String slug = removeAccents(input.trim());
+    slug = slug.toLowerCase();
+    slug = slug.replaceAll("[^a-z0-9]+", "-");
+    slug = slug.replaceAll("^-+|-+$", "");
+    slug = slug.replaceAll("-+", "-");
+    return slug;
+  }
+}
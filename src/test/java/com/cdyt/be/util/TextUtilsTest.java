@@ -0,0 +1,76 @@
+package com.cdyt.be.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Locale;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Slug and accent removal, checked against the regex implementation they
+ * replaced over random strings mixing ASCII, Vietnamese letters (composed
+ * and decomposed), punctuation, whitespace and other scripts. The only
+ * intended difference is đ/Đ, which the old implementation did not fold.
+ */
+class TextUtilsTest {
+
+  private static final int SAMPLES = 20_000;
+
+  private static final String[] ALPHABET = {
+      "a", "Z", "k", "0", "9", " ", "  ", "\t", "\n", "-", "--", "_", ".", ",", "!", "?", "&", "/", "(", ")",
+      "á", "à", "ả", "ã", "ạ", "ă", "ắ", "ặ", "â", "ấ", "ậ", "é", "ề", "ể", "ễ", "ệ", "í", "ị", "ó", "ồ",
+      "ổ", "ỡ", "ợ", "ú", "ừ", "ử", "ữ", "ự", "ý", "ỳ", "ỷ", "ỹ", "ỵ", "đ", "Đ", "Ắ", "Ỗ", "Ư", "Ơ",
+      "a\u0301", "o\u0302\u0303", "\u0301", "\u0323", "ü", "ñ", "ç", "ø", "ß", "æ", "\u0130", "\u212A",
+      "–", "“", "”", "…", "\u00A0", "€", "日本", "한국", "Ωμέγα", "Привет", "😀", "ﬁ"
+  };
+
+  @Test
+  void asciiTitlesAreUnchanged() {
+    assertThat(TextUtils.generateSlug("  Hello, World! -- Spring Boot 3.5  "))
+        .isEqualTo("hello-world-spring-boot-3-5");
+    assertThat(TextUtils.generateSlug("---")).isEmpty();
+    assertThat(TextUtils.generateSlug("   ")).isEmpty();
+    assertThat(TextUtils.generateSlug(null)).isEmpty();
+    assertThat(TextUtils.removeAccents("")).isNull();
+    assertThat(TextUtils.removeAccents(null)).isNull();
+  }
+
+  @Test
+  void vietnameseIsFoldedIncludingD() {
+    assertThat(TextUtils.generateSlug("Đường đến Đà Lạt: những điều cần biết"))
+        .isEqualTo("duong-den-da-lat-nhung-dieu-can-biet");
+    assertThat(TextUtils.removeAccents("Nguyễn Văn Đức")).isEqualTo("Nguyen Van Duc");
+  }
+
+  @Test
+  void matchesTheLegacyImplementationApartFromD() {
+    // The legacy slug lower-cases with the default locale
+    Locale defaultLocale = Locale.getDefault();
+    Locale.setDefault(Locale.ROOT);
+    try {
+      Random random = new Random(20250115L);
+      for (int i = 0; i < SAMPLES; i++) {
+        String input = randomString(random);
+        String withoutD = input.replace('đ', 'd').replace('Đ', 'D');
+
+        assertThat(TextUtils.removeAccents(input))
+            .as("removeAccents(%s)", input)
+            .isEqualTo(LegacyTextUtils.removeAccents(withoutD));
+        assertThat(TextUtils.generateSlug(input))
+            .as("generateSlug(%s)", input)
+            .isEqualTo(LegacyTextUtils.generateSlug(withoutD));
+      }
+    } finally {
+      Locale.setDefault(defaultLocale);
+    }
+  }
+
+  private static String randomString(Random random) {
+    StringBuilder input = new StringBuilder();
+    int parts = random.nextInt(12);
+    for (int i = 0; i < parts; i++) {
+      input.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+    }
+    return input.toString();
+  }
+}